@@ -0,0 +1,10 @@
+#!/bin/bash
+# Prepara el primario para replicación en streaming (solo se ejecuta al crear el volumen).
+set -e
+
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" <<-SQL
+    CREATE ROLE ${REPLICATION_USER} WITH REPLICATION LOGIN PASSWORD '${REPLICATION_PASSWORD}';
+    SELECT pg_create_physical_replication_slot('replica_1');
+SQL
+
+echo "host replication ${REPLICATION_USER} all scram-sha-256" >> "$PGDATA/pg_hba.conf"
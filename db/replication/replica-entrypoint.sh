@@ -0,0 +1,17 @@
+#!/bin/bash
+# Réplica en streaming: la primera vez copia el primario con pg_basebackup
+# (-R escribe primary_conninfo y standby.signal) y después arranca en modo standby.
+set -e
+
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+    until PGPASSWORD="$REPLICATION_PASSWORD" pg_basebackup \
+            --host="$PRIMARY_HOST" --username="$REPLICATION_USER" \
+            --pgdata="$PGDATA" --slot=replica_1 --wal-method=stream --write-recovery-conf; do
+        echo "Waiting for primary $PRIMARY_HOST..."
+        rm -rf "${PGDATA:?}"/*
+        sleep 2
+    done
+    chmod 0700 "$PGDATA"
+fi
+
+exec postgres -c hot_standby=on -c hot_standby_feedback=on
@@ -0,0 +1,67 @@
+package com.service.benchmarks;
+
+import com.service.inventory.InventoryApplication;
+import com.service.products.ProductsApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Arranque de los microservicios dentro del proceso del benchmark,
+ * contra bases de datos H2 en memoria en modo PostgreSQL.
+ *
+ * <p>
+ * Cada aplicación lee su propio archivo de configuración
+ * ({@code benchmark-inventory.properties} / {@code benchmark-products.properties})
+ * en lugar del {@code application.properties} de su módulo, ya que ambos
+ * módulos comparten el mismo classpath.
+ * </p>
+ */
+public final class EmbeddedApps {
+
+    private EmbeddedApps() {
+    }
+
+    /**
+     * Arranca inventory-service.
+     *
+     * @param webType      tipo de aplicación web (NONE para benchmarks de servicio)
+     * @param extraSources configuraciones adicionales (ej. un {@code ProductClient} simulado)
+     * @param args         propiedades adicionales en formato {@code --clave=valor}
+     * @return contexto de la aplicación
+     */
+    public static ConfigurableApplicationContext inventory(
+            WebApplicationType webType, Class<?>[] extraSources, String... args) {
+        Class<?>[] sources = new Class<?>[extraSources.length + 1];
+        sources[0] = InventoryApplication.class;
+        System.arraycopy(extraSources, 0, sources, 1, extraSources.length);
+
+        return new SpringApplicationBuilder(sources)
+                .web(webType)
+                .run(withConfig("benchmark-inventory", args));
+    }
+
+    /**
+     * Arranca products-service.
+     *
+     * @param webType tipo de aplicación web
+     * @param args    propiedades adicionales en formato {@code --clave=valor}
+     * @return contexto de la aplicación
+     */
+    public static ConfigurableApplicationContext products(WebApplicationType webType, String... args) {
+        return new SpringApplicationBuilder(ProductsApplication.class)
+                .web(webType)
+                .run(withConfig("benchmark-products", args));
+    }
+
+    private static String[] withConfig(String configName, String... args) {
+        List<String> all = new ArrayList<>();
+        all.add("--spring.config.name=" + configName);
+        all.addAll(Arrays.asList(args));
+        return all.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,108 @@
+package com.service.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.service.inventory.dto.ProductDTO;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.codec.Decoder;
+import feign.codec.Encoder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks del camino de codificación/decodificación de Feign para
+ * {@link ProductDTO}, con los mismos codificadores que Spring Cloud
+ * OpenFeign configura por defecto en {@code ProductClient}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeignCodecBenchmark {
+
+    private static final Map<String, Collection<String>> JSON_HEADERS =
+            Map.of("Content-Type", List.of("application/json"));
+
+    /**
+     * Tamaño de la respuesta de la consulta por lote.
+     */
+    @Param("100")
+    public int batchSize;
+
+    private Encoder encoder;
+    private Decoder decoder;
+    private Request request;
+    private ProductDTO product;
+    private byte[] productBody;
+    private byte[] batchBody;
+    private Type batchType;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        // Spring Cloud obtiene los convertidores de un bean singleton
+        HttpMessageConverters messageConverters =
+                new HttpMessageConverters(new MappingJackson2HttpMessageConverter(mapper));
+        ObjectFactory<HttpMessageConverters> converters = () -> messageConverters;
+
+        encoder = new SpringEncoder(converters);
+        decoder = new ResponseEntityDecoder(new SpringDecoder(converters));
+        request = Request.create(Request.HttpMethod.GET, "http://products-service/products/1",
+                Map.of(), null, StandardCharsets.UTF_8, null);
+
+        product = StubProductClientConfiguration.product(1L);
+        productBody = mapper.writeValueAsBytes(product);
+
+        List<ProductDTO> batch = new ArrayList<>(batchSize);
+        for (long id = 1; id <= batchSize; id++) {
+            batch.add(StubProductClientConfiguration.product(id));
+        }
+        batchBody = mapper.writeValueAsBytes(batch);
+        batchType = new ParameterizedTypeReference<List<ProductDTO>>() {
+        }.getType();
+    }
+
+    @Benchmark
+    public RequestTemplate encodeProduct() {
+        RequestTemplate template = new RequestTemplate();
+        encoder.encode(product, ProductDTO.class, template);
+        return template;
+    }
+
+    @Benchmark
+    public Object decodeProduct() throws Exception {
+        return decoder.decode(response(productBody), ProductDTO.class);
+    }
+
+    @Benchmark
+    public Object decodeProductBatch() throws Exception {
+        return decoder.decode(response(batchBody), batchType);
+    }
+
+    private Response response(byte[] body) {
+        return Response.builder()
+                .status(200)
+                .request(request)
+                .headers(JSON_HEADERS)
+                .body(body)
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.service.benchmarks;
+
+import com.service.inventory.exception.InsufficientInventoryException;
+import com.service.inventory.model.Inventory;
+import com.service.inventory.service.InventoryService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmarks de {@link InventoryService#decreaseQuantity} y
+ * {@link InventoryService#updateQuantity} contra H2 embebido.
+ *
+ * <p>
+ * {@code decreaseQuantityContended} concentra todas las compras en un
+ * mismo producto desde varios hilos. Al final de cada iteración se
+ * comprueba que el stock restante coincide exactamente con las compras
+ * aceptadas (sin sobreventa ni actualizaciones perdidas); si no, el
+ * benchmark falla.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InventoryServiceBenchmark {
+
+    private static final long HOT_PRODUCT_ID = 1L;
+    private static final int PRODUCT_COUNT = 1_000;
+    private static final int SPREAD_STOCK = 100_000_000;
+
+    /**
+     * Stock inicial del producto disputado en cada iteración. Es menor
+     * que el número de compras esperadas, de modo que también se mide el
+     * rechazo por stock insuficiente.
+     */
+    @Param("50000")
+    public int contendedStock;
+
+    private ConfigurableApplicationContext context;
+    private InventoryService service;
+
+    private final LongAdder sold = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = EmbeddedApps.inventory(
+                WebApplicationType.NONE,
+                new Class<?>[]{StubProductClientConfiguration.class});
+        service = context.getBean(InventoryService.class);
+
+        for (long productId = 1; productId <= PRODUCT_COUNT; productId++) {
+            service.updateQuantity(productId, SPREAD_STOCK);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetContendedStock() {
+        service.updateQuantity(HOT_PRODUCT_ID, contendedStock);
+        sold.reset();
+        rejected.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void verifyNoOversell() {
+        int remaining = service.getInventoryByProductId(HOT_PRODUCT_ID).getQuantity();
+        long expected = contendedStock - sold.sum();
+        if (remaining < 0 || remaining != expected) {
+            throw new IllegalStateException("Oversell or lost update: remaining=" + remaining
+                    + ", expected=" + expected + ", sold=" + sold.sum() + ", rejected=" + rejected.sum());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * Compras concurrentes sobre un único producto (contención de fila).
+     */
+    @Benchmark
+    @Threads(8)
+    public boolean decreaseQuantityContended() {
+        try {
+            service.decreaseQuantity(HOT_PRODUCT_ID, 1);
+            sold.increment();
+            return true;
+        } catch (InsufficientInventoryException ex) {
+            rejected.increment();
+            return false;
+        }
+    }
+
+    /**
+     * Compras concurrentes repartidas entre muchos productos.
+     */
+    @Benchmark
+    @Threads(8)
+    public Inventory decreaseQuantitySpread() {
+        return service.decreaseQuantity(randomProductId(), 1);
+    }
+
+    /**
+     * Actualización absoluta de la cantidad de un producto.
+     */
+    @Benchmark
+    public Inventory updateQuantity() {
+        return service.updateQuantity(randomProductId(), SPREAD_STOCK);
+    }
+
+    private static long randomProductId() {
+        // El producto disputado queda fuera para no alterar su verificación
+        return ThreadLocalRandom.current().nextLong(HOT_PRODUCT_ID + 1, PRODUCT_COUNT + 1);
+    }
+}
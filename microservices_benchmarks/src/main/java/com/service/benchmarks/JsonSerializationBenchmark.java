@@ -0,0 +1,70 @@
+package com.service.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.service.inventory.dto.InventoryResponseDTO;
+import com.service.inventory.dto.PurchaseResponseDTO;
+import com.service.products.model.Product;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de serialización Jackson de las respuestas de ambos servicios,
+ * con la misma configuración de {@link ObjectMapper} que usa Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    /**
+     * Tamaño de la lista de productos (una página típica y una grande).
+     */
+    @Param({"100", "1000"})
+    public int productCount;
+
+    private ObjectMapper mapper;
+    private PurchaseResponseDTO purchase;
+    private InventoryResponseDTO inventory;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        purchase = new PurchaseResponseDTO(10L, 2, 8, "Teclado mecánico");
+        inventory = new InventoryResponseDTO(1L, 10L, 5);
+
+        products = new ArrayList<>(productCount);
+        for (long id = 1; id <= productCount; id++) {
+            Product product = new Product();
+            product.setId(id);
+            product.setName("Producto " + id);
+            product.setPrice(new BigDecimal("19.99"));
+            product.setDescription("Descripción del producto " + id);
+            products.add(product);
+        }
+    }
+
+    @Benchmark
+    public byte[] purchaseResponse() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(purchase);
+    }
+
+    @Benchmark
+    public byte[] inventoryResponse() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(inventory);
+    }
+
+    @Benchmark
+    public byte[] productList() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(products);
+    }
+}
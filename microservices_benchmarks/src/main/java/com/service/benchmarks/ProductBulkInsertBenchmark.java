@@ -0,0 +1,97 @@
+package com.service.benchmarks;
+
+import com.service.products.model.Product;
+import com.service.products.repository.ProductEventRepository;
+import com.service.products.repository.ProductRepository;
+import com.service.products.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filas insertadas por segundo al dar de alta productos contra H2 embebido.
+ *
+ * <ul>
+ *   <li>{@code ONE_BY_ONE}: {@link ProductService#createProduct} por producto,
+ *       una transacción por fila (lo único posible antes de {@code POST /products/bulk}).</li>
+ *   <li>{@code BULK}: {@link ProductService#createProducts}, una transacción
+ *       con inserciones en lotes JDBC.</li>
+ * </ul>
+ *
+ * <p>
+ * {@code jdbcBatchSize=1} desactiva los lotes JDBC de Hibernate. Cada
+ * invocación inserta {@value #ROWS} productos (y sus eventos); el
+ * resultado se expresa en filas por segundo.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@OperationsPerInvocation(ProductBulkInsertBenchmark.ROWS)
+public class ProductBulkInsertBenchmark {
+
+    static final int ROWS = 1_000;
+
+    public enum Strategy {
+        ONE_BY_ONE, BULK
+    }
+
+    @Param({"ONE_BY_ONE", "BULK"})
+    public Strategy strategy;
+
+    @Param({"1", "50"})
+    public int jdbcBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductService service;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = EmbeddedApps.products(WebApplicationType.NONE,
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize);
+        service = context.getBean(ProductService.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteProducts() {
+        context.getBean(ProductEventRepository.class).deleteAllInBatch();
+        context.getBean(ProductRepository.class).deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int insertProducts() {
+        List<Product> products = newProducts();
+        if (strategy == Strategy.BULK) {
+            return service.createProducts(products).size();
+        }
+        for (Product product : products) {
+            service.createProduct(product);
+        }
+        return products.size();
+    }
+
+    private static List<Product> newProducts() {
+        List<Product> products = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Product product = new Product();
+            product.setName("Producto " + i);
+            product.setPrice(BigDecimal.valueOf(10 + i % 100));
+            product.setDescription("Producto de prueba " + i);
+            products.add(product);
+        }
+        return products;
+    }
+}
@@ -0,0 +1,153 @@
+package com.service.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.service.inventory.client.ProductClient;
+import com.service.inventory.dto.ProductDTO;
+import com.service.products.model.Product;
+import com.service.products.service.ProductService;
+import feign.Client;
+import feign.Feign;
+import feign.Request;
+import feign.Retryer;
+import feign.hc5.ApacheHttp5Client;
+import feign.http2client.Http2Client;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.math.BigDecimal;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de {@link ProductClient#getProductById} contra products-service
+ * real (Tomcat + H2) con cada transporte HTTP de Feign:
+ * <ul>
+ *   <li>{@code DEFAULT}: {@code HttpURLConnection}, el cliente por defecto de Feign.
+ *       El JDK solo conserva 5 conexiones inactivas por destino ({@code http.maxConnections}).</li>
+ *   <li>{@code HC5}: Apache HttpClient 5 con pool de conexiones, como en inventory-service.</li>
+ *   <li>{@code HTTP2}: {@code java.net.http.HttpClient} con HTTP/2 sin TLS (h2c),
+ *       todas las peticiones multiplexadas en una conexión.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProductClientTransportBenchmark {
+
+    private static final int PRODUCT_COUNT = 100;
+
+    public enum Transport {
+        DEFAULT, HC5, HTTP2
+    }
+
+    @Param({"DEFAULT", "HC5", "HTTP2"})
+    public Transport transport;
+
+    private ConfigurableApplicationContext products;
+    private CloseableHttpClient pooledClient;
+    private ProductClient productClient;
+    private long firstProductId;
+
+    @Setup(Level.Trial)
+    public void startProducts() {
+        products = EmbeddedApps.products(WebApplicationType.SERVLET, "--server.port=0");
+        int port = ((WebServerApplicationContext) products).getWebServer().getPort();
+
+        ProductService productService = products.getBean(ProductService.class);
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            Product product = new Product();
+            product.setName("Producto " + i);
+            product.setPrice(BigDecimal.valueOf(10 + i));
+            Product created = productService.createProduct(product);
+            if (i == 0) {
+                firstProductId = created.getId();
+            }
+        }
+
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        HttpMessageConverters messageConverters =
+                new HttpMessageConverters(new MappingJackson2HttpMessageConverter(mapper));
+        ObjectFactory<HttpMessageConverters> converters = () -> messageConverters;
+
+        productClient = Feign.builder()
+                .client(client())
+                .contract(new SpringMvcContract())
+                .encoder(new SpringEncoder(converters))
+                .decoder(new ResponseEntityDecoder(new SpringDecoder(converters)))
+                .options(new Request.Options(500, TimeUnit.MILLISECONDS, 2000, TimeUnit.MILLISECONDS, true))
+                .retryer(Retryer.NEVER_RETRY)
+                .target(ProductClient.class, "http://localhost:" + port);
+    }
+
+    private Client client() {
+        return switch (transport) {
+            case DEFAULT -> new Client.Default(null, null);
+            case HC5 -> {
+                pooledClient = HttpClients.custom()
+                        .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                                .setMaxConnTotal(200)
+                                .setMaxConnPerRoute(50)
+                                .build())
+                        .evictExpiredConnections()
+                        .evictIdleConnections(TimeValue.ofSeconds(30))
+                        .disableCookieManagement()
+                        .build();
+                yield new ApacheHttp5Client(pooledClient);
+            }
+            case HTTP2 -> new Http2Client(HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(Duration.ofMillis(500))
+                    .build());
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void stopProducts() {
+        if (pooledClient != null) {
+            pooledClient.close(CloseMode.GRACEFUL);
+        }
+        products.close();
+    }
+
+    /**
+     * Una sola petición en curso: mide la latencia del transporte sin esperas de pool.
+     */
+    @Benchmark
+    @Threads(1)
+    public ProductDTO getProductById() {
+        return productClient.getProductById(randomProductId());
+    }
+
+    /**
+     * Peticiones concurrentes: mide la reutilización de conexiones bajo carga.
+     */
+    @Benchmark
+    @Threads(16)
+    public ProductDTO getProductByIdConcurrent() {
+        return productClient.getProductById(randomProductId());
+    }
+
+    private long randomProductId() {
+        return firstProductId + ThreadLocalRandom.current().nextInt(PRODUCT_COUNT);
+    }
+}
@@ -0,0 +1,99 @@
+package com.service.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.service.products.model.Product;
+import com.service.products.repository.ProductRepository;
+import com.service.products.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de las lecturas de productos contra H2 embebido, incluyendo la
+ * serialización JSON de la respuesta.
+ *
+ * <ul>
+ *   <li>{@code ENTITY}: entidades {@link Product} gestionadas por Hibernate
+ *       (lo que devolvían {@code GET /products/{id}} y {@code GET /products}).</li>
+ *   <li>{@code PROJECTION}: {@link ProductService#getForId} y
+ *       {@link ProductService#showPage}, que construyen la vista en la consulta.</li>
+ * </ul>
+ *
+ * <p>
+ * Para ver la memoria asignada por operación ({@code gc.alloc.rate.norm}),
+ * ejecutar con {@code -prof gc}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ProductReadBenchmark {
+
+    static final int PRODUCTS = 5_000;
+    static final int PAGE_SIZE = 100;
+
+    public enum Read {
+        ENTITY, PROJECTION
+    }
+
+    @Param({"ENTITY", "PROJECTION"})
+    public Read read;
+
+    private ConfigurableApplicationContext context;
+    private ProductService service;
+    private ProductRepository repository;
+    private ObjectMapper objectMapper;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = EmbeddedApps.products(WebApplicationType.NONE);
+        service = context.getBean(ProductService.class);
+        repository = context.getBean(ProductRepository.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        List<Product> products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setName("Producto " + i);
+            product.setPrice(BigDecimal.valueOf(10 + i % 100));
+            product.setDescription("Producto de prueba " + i);
+            products.add(product);
+        }
+        ids = service.createProducts(products);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] getForId() throws JsonProcessingException {
+        Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        Object product = read == Read.ENTITY
+                ? repository.findById(id).orElse(null)
+                : service.getForId(id);
+        return objectMapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public byte[] showPage() throws JsonProcessingException {
+        long after = ids.get(ThreadLocalRandom.current().nextInt(ids.size() - PAGE_SIZE)) - 1;
+        Object page = read == Read.ENTITY
+                ? repository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(PAGE_SIZE))
+                : service.showPage(after, PAGE_SIZE);
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
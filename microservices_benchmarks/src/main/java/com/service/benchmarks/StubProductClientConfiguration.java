@@ -0,0 +1,83 @@
+package com.service.benchmarks;
+
+import com.service.inventory.client.ProductClient;
+import com.service.inventory.dto.ProductDTO;
+import com.service.inventory.dto.ProductEventDTO;
+import feign.Response;
+import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Sustituye el cliente Feign de productos por uno en memoria, para medir
+ * inventory-service sin depender de products-service.
+ */
+@Configuration
+public class StubProductClientConfiguration {
+
+    /**
+     * Los clientes Feign se registran como primarios: se les retira esa
+     * marca para que el cliente simulado sea el inyectado.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor demoteFeignProductClient() {
+        return beanFactory -> beanFactory
+                .getBeanDefinition(ProductClient.class.getName())
+                .setPrimary(false);
+    }
+
+    @Bean
+    @Primary
+    public ProductClient stubProductClient() {
+        return new ProductClient() {
+            @Override
+            public ProductDTO getProductById(Long id) {
+                return product(id);
+            }
+
+            @Override
+            public ResponseEntity<ProductDTO> getProduct(Long id, String ifNoneMatch) {
+                return ResponseEntity.ok(product(id));
+            }
+
+            @Override
+            public List<ProductDTO> getProductsByIds(Collection<Long> ids) {
+                return ids.stream().map(StubProductClientConfiguration::product).toList();
+            }
+
+            @Override
+            public List<ProductEventDTO> getProductEvents(long after, int limit) {
+                return List.of();
+            }
+
+            @Override
+            public long getLastProductEventId() {
+                return 0;
+            }
+
+            @Override
+            public long getFirstProductEventId() {
+                return 0;
+            }
+
+            @Override
+            public Response exportProducts() {
+                throw new UnsupportedOperationException("Sin exportación en el cliente simulado");
+            }
+        };
+    }
+
+    static ProductDTO product(Long id) {
+        ProductDTO product = new ProductDTO();
+        product.setId(id);
+        product.setName("Producto " + id);
+        product.setPrice(19.99);
+        product.setDescription("Producto de prueba " + id);
+        return product;
+    }
+}
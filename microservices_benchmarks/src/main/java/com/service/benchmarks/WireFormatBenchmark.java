@@ -0,0 +1,154 @@
+package com.service.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.service.inventory.dto.ProductDTO;
+import com.service.products.model.ProductView;
+import feign.Request;
+import feign.Response;
+import feign.codec.Decoder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compara JSON y Smile (con y sin gzip) en la consulta de productos por lote
+ * ({@code GET /products?ids=...}) entre inventory-service y products-service.
+ *
+ * <ul>
+ *   <li>{@code encodeBatch}: lado de products-service, serialización de las
+ *       {@link ProductView} y compresión.</li>
+ *   <li>{@code decodeBatch}: lado de inventory-service, descompresión (la hace
+ *       Apache HttpClient) y decodificación Feign a {@link ProductDTO}.</li>
+ * </ul>
+ *
+ * <p>
+ * Los bytes en la red de cada combinación se imprimen al preparar la prueba
+ * ({@code wire bytes}).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final String SMILE = "application/x-jackson-smile";
+
+    /**
+     * Formato de la respuesta: {@code json} o {@code smile}.
+     */
+    @Param({"json", "smile"})
+    public String format;
+
+    /**
+     * Codificación de la respuesta: {@code identity} o {@code gzip}.
+     */
+    @Param({"identity", "gzip"})
+    public String encoding;
+
+    /**
+     * Productos por respuesta (página por defecto y tamaño máximo del lote).
+     */
+    @Param({"100", "500"})
+    public int batchSize;
+
+    private ObjectMapper serverMapper;
+    private Decoder decoder;
+    private Request request;
+    private Map<String, Collection<String>> headers;
+    private List<ProductView> batch;
+    private byte[] wireBody;
+    private Type batchType;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.smile().build();
+        serverMapper = smile() ? smile : json;
+
+        // Mismos convertidores que inventory-service (ver WireFormatConfig)
+        HttpMessageConverters messageConverters = new HttpMessageConverters(false, List.of(
+                new MappingJackson2HttpMessageConverter(json),
+                new MappingJackson2SmileHttpMessageConverter(smile)));
+        ObjectFactory<HttpMessageConverters> converters = () -> messageConverters;
+        decoder = new ResponseEntityDecoder(new SpringDecoder(converters));
+        request = Request.create(Request.HttpMethod.GET, "http://products-service/products",
+                Map.of(), null, StandardCharsets.UTF_8, null);
+        headers = Map.of("Content-Type", List.of(smile() ? SMILE : "application/json"));
+        batchType = new ParameterizedTypeReference<List<ProductDTO>>() {
+        }.getType();
+
+        batch = new ArrayList<>(batchSize);
+        for (long id = 1; id <= batchSize; id++) {
+            batch.add(new ProductView(id, "Producto " + id, new BigDecimal("19.99"),
+                    "Descripción del producto " + id, 1L));
+        }
+        wireBody = encodeBatch();
+
+        System.out.printf(Locale.ROOT, "%nwire bytes: format=%s encoding=%s batchSize=%d -> %d bytes%n",
+                format, encoding, batchSize, wireBody.length);
+    }
+
+    @Benchmark
+    public byte[] encodeBatch() throws IOException {
+        byte[] body = serverMapper.writeValueAsBytes(batch);
+        return gzip() ? compress(body) : body;
+    }
+
+    @Benchmark
+    public Object decodeBatch() throws Exception {
+        byte[] body = gzip() ? decompress(wireBody) : wireBody;
+        return decoder.decode(Response.builder()
+                .status(200)
+                .request(request)
+                .headers(headers)
+                .body(body)
+                .build(), batchType);
+    }
+
+    private boolean smile() {
+        return "smile".equals(format);
+    }
+
+    private boolean gzip() {
+        return "gzip".equals(encoding);
+    }
+
+    private static byte[] compress(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] decompress(byte[] body) throws IOException {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return gzip.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.service.benchmarks.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+/**
+ * Endpoints ejercitados por la prueba de carga.
+ */
+enum Endpoint {
+
+    GET_PRODUCT("GET /products/{id}"),
+    GET_INVENTORY("GET /inventory/{productId}"),
+    PUT_INVENTORY("PUT /inventory/{productId}"),
+    PURCHASE("POST /inventory/{productId}/purchase");
+
+    /**
+     * Stock que fija {@link #PUT_INVENTORY}; lo bastante alto para que
+     * las compras no se queden sin stock durante la prueba.
+     */
+    static final int RESTOCK_QUANTITY = 1_000_000;
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final String label;
+
+    Endpoint(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+
+    HttpRequest request(String productsUrl, String inventoryUrl, long productId) {
+        return switch (this) {
+            case GET_PRODUCT -> HttpRequest.newBuilder(URI.create(productsUrl + "/products/" + productId))
+                    .timeout(TIMEOUT)
+                    .GET()
+                    .build();
+            case GET_INVENTORY -> HttpRequest.newBuilder(URI.create(inventoryUrl + "/inventory/" + productId))
+                    .timeout(TIMEOUT)
+                    .GET()
+                    .build();
+            case PUT_INVENTORY -> HttpRequest.newBuilder(URI.create(inventoryUrl + "/inventory/" + productId))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString("{\"quantity\":" + RESTOCK_QUANTITY + "}"))
+                    .build();
+            case PURCHASE -> HttpRequest.newBuilder(URI.create(inventoryUrl + "/inventory/" + productId + "/purchase"))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"amount\":1}"))
+                    .build();
+        };
+    }
+}
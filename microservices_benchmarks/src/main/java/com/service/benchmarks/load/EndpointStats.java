@@ -0,0 +1,39 @@
+package com.service.benchmarks.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias (en microsegundos) y contadores de un endpoint.
+ */
+final class EndpointStats {
+
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder errors = new LongAdder();
+
+    void record(long latencyMicros, boolean error) {
+        latencies.recordValue(Math.max(latencyMicros, 1));
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    Histogram latencies() {
+        return latencies;
+    }
+
+    long count() {
+        return latencies.getTotalCount();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    void reset() {
+        latencies.reset();
+        errors.reset();
+    }
+}
@@ -0,0 +1,92 @@
+package com.service.benchmarks.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parámetros de la prueba de carga, recibidos como argumentos
+ * {@code clave=valor}.
+ *
+ * <ul>
+ *   <li>{@code rate}: peticiones por segundo en total (por defecto 200).</li>
+ *   <li>{@code duration}: duración de la medición, ej. {@code 60s} o {@code 2m}.</li>
+ *   <li>{@code warmup}: calentamiento previo que no se mide.</li>
+ *   <li>{@code mix}: reparto por endpoint, ej.
+ *       {@code GET_PRODUCT:40,GET_INVENTORY:30,PUT_INVENTORY:10,PURCHASE:20}.</li>
+ *   <li>{@code products}: número de productos sembrados.</li>
+ *   <li>{@code max-in-flight}: peticiones simultáneas como máximo.</li>
+ *   <li>{@code output}: directorio de resultados.</li>
+ *   <li>{@code inventory-mode}: {@code mvc} (por defecto) o {@code reactive}
+ *       (WebFlux + R2DBC, perfil {@code reactive}).</li>
+ *   <li>{@code inventory-threads}: hilos máximos de Tomcat en inventory-service
+ *       en modo {@code mvc} (por defecto los de Spring Boot, 200).</li>
+ * </ul>
+ */
+record LoadTestOptions(
+        int rate,
+        Duration duration,
+        Duration warmup,
+        Map<Endpoint, Integer> mix,
+        int products,
+        int maxInFlight,
+        Path output,
+        boolean reactiveInventory,
+        int inventoryThreads
+) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value argument, got: " + arg);
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+
+        return new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("rate", "200")),
+                duration(values.getOrDefault("duration", "60s")),
+                duration(values.getOrDefault("warmup", "10s")),
+                mix(values.getOrDefault("mix", "GET_PRODUCT:40,GET_INVENTORY:30,PUT_INVENTORY:10,PURCHASE:20")),
+                Integer.parseInt(values.getOrDefault("products", "1000")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "256")),
+                Path.of(values.getOrDefault("output", "target/loadtest")),
+                reactiveInventory(values.getOrDefault("inventory-mode", "mvc")),
+                Integer.parseInt(values.getOrDefault("inventory-threads", "200"))
+        );
+    }
+
+    private static boolean reactiveInventory(String mode) {
+        return switch (mode) {
+            case "mvc" -> false;
+            case "reactive" -> true;
+            default -> throw new IllegalArgumentException("inventory-mode must be mvc or reactive, got: " + mode);
+        };
+    }
+
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.parse(value);
+    }
+
+    private static Map<Endpoint, Integer> mix(String value) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(Endpoint.valueOf(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
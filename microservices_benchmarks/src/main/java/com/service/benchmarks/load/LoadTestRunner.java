@@ -0,0 +1,279 @@
+package com.service.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.service.benchmarks.EmbeddedApps;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Prueba de carga de extremo a extremo.
+ *
+ * <p>
+ * Arranca products-service e inventory-service en el mismo proceso contra
+ * H2 en modo PostgreSQL, siembra productos e inventario y genera peticiones
+ * a una tasa constante (modelo abierto) con la mezcla de endpoints indicada.
+ * </p>
+ *
+ * <p>
+ * La latencia se mide desde el instante en que la petición debía enviarse
+ * según la tasa objetivo, no desde que realmente se envió, para no ocultar
+ * los retrasos cuando el sistema se satura (omisión coordinada).
+ * </p>
+ *
+ * <p>
+ * Resultados en el directorio {@code output}:
+ * <ul>
+ *   <li>{@code <ENDPOINT>.hgrm}: distribución de percentiles de HdrHistogram (ms).</li>
+ *   <li>{@code summary.csv}: p50/p95/p99/p99.9, throughput y errores por endpoint.</li>
+ *   <li>{@code inventory.prom} y {@code products.prom}: métricas de cada servicio
+ *       ({@code /actuator/prometheus}) al terminar la prueba.</li>
+ * </ul>
+ * </p>
+ */
+public final class LoadTestRunner {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final LoadTestOptions options;
+    private final HttpClient client;
+    private final String productsUrl;
+    private final String inventoryUrl;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final Endpoint[] schedule;
+    private long[] productIds;
+
+    private LoadTestRunner(LoadTestOptions options, HttpClient client, String productsUrl, String inventoryUrl) {
+        this.options = options;
+        this.client = client;
+        this.productsUrl = productsUrl;
+        this.inventoryUrl = inventoryUrl;
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        this.schedule = weightedSchedule(options.mix());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        try (ConfigurableApplicationContext products = EmbeddedApps.products(
+                WebApplicationType.SERVLET, "--server.port=0")) {
+            String productsUrl = "http://localhost:" + port(products);
+
+            try (ConfigurableApplicationContext inventory = startInventory(options, productsUrl)) {
+                String inventoryUrl = "http://localhost:" + port(inventory);
+                System.out.printf("Inventory service mode: %s%n", options.reactiveInventory() ? "reactive" : "mvc");
+
+                ExecutorService executor = Executors.newFixedThreadPool(
+                        Math.max(4, Runtime.getRuntime().availableProcessors()));
+                try {
+                    HttpClient client = HttpClient.newBuilder()
+                            .version(HttpClient.Version.HTTP_1_1)
+                            .connectTimeout(Duration.ofSeconds(5))
+                            .executor(executor)
+                            .build();
+
+                    LoadTestRunner runner = new LoadTestRunner(options, client, productsUrl, inventoryUrl);
+                    runner.seed();
+                    runner.run(options.warmup());
+                    runner.resetStats();
+                    runner.run(options.duration());
+                    runner.report();
+                    runner.scrapeMetrics();
+                } finally {
+                    executor.shutdownNow();
+                }
+            }
+        }
+    }
+
+    /**
+     * Arranca inventory-service en modo MVC (Tomcat) o reactivo (Netty, perfil {@code reactive}).
+     */
+    private static ConfigurableApplicationContext startInventory(LoadTestOptions options, String productsUrl) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--products.service.url=" + productsUrl,
+                "--products.replication.enabled=true"));
+        WebApplicationType webType = WebApplicationType.SERVLET;
+        if (options.reactiveInventory()) {
+            webType = WebApplicationType.REACTIVE;
+            args.add("--spring.profiles.active=reactive");
+        } else {
+            args.add("--server.tomcat.threads.max=" + options.inventoryThreads());
+        }
+        return EmbeddedApps.inventory(webType, new Class<?>[0], args.toArray(String[]::new));
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    /**
+     * Crea los productos y les asigna stock suficiente para toda la prueba.
+     */
+    private void seed() throws IOException, InterruptedException {
+        productIds = new long[options.products()];
+        for (int i = 0; i < productIds.length; i++) {
+            String body = MAPPER.writeValueAsString(Map.of(
+                    "name", "Producto " + i,
+                    "price", 10 + i % 90,
+                    "description", "Producto de prueba de carga " + i));
+            HttpResponse<String> created = client.send(HttpRequest.newBuilder(URI.create(productsUrl + "/products"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            productIds[i] = MAPPER.readTree(created.body()).get("id").asLong();
+
+            HttpResponse<Void> stocked = client.send(
+                    Endpoint.PUT_INVENTORY.request(productsUrl, inventoryUrl, productIds[i]),
+                    HttpResponse.BodyHandlers.discarding());
+            if (stocked.statusCode() != 200) {
+                throw new IllegalStateException("Cannot seed inventory, status " + stocked.statusCode());
+            }
+        }
+        System.out.printf("Seeded %d products%n", productIds.length);
+    }
+
+    /**
+     * Envía peticiones a la tasa objetivo durante el tiempo indicado
+     * y espera a que terminen todas las que están en curso.
+     */
+    private void run(Duration duration) throws InterruptedException {
+        if (duration.isZero()) {
+            return;
+        }
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        for (long sequence = 0; ; sequence++) {
+            long intended = start + sequence * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Endpoint endpoint = schedule[random.nextInt(schedule.length)];
+            long productId = productIds[random.nextInt(productIds.length)];
+            EndpointStats endpointStats = stats.get(endpoint);
+
+            client.sendAsync(endpoint.request(productsUrl, inventoryUrl, productId),
+                            HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+                        endpointStats.record(latencyMicros, error != null || response.statusCode() >= 400);
+                        inFlight.release();
+                    });
+        }
+        inFlight.acquire(options.maxInFlight());
+    }
+
+    private void resetStats() {
+        stats.values().forEach(EndpointStats::reset);
+    }
+
+    private void report() throws IOException {
+        Path output = options.output();
+        Files.createDirectories(output);
+        double seconds = options.duration().toMillis() / 1000.0;
+
+        try (PrintWriter summary = new PrintWriter(Files.newBufferedWriter(output.resolve("summary.csv")))) {
+            summary.println("endpoint,count,errors,throughput_rps,p50_ms,p95_ms,p99_ms,p999_ms,max_ms");
+            System.out.printf("%n%-38s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                    "endpoint", "count", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+
+            for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+                EndpointStats endpointStats = entry.getValue();
+                if (endpointStats.count() == 0) {
+                    continue;
+                }
+                Histogram histogram = endpointStats.latencies();
+                String line = String.format(Locale.ROOT, "%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f",
+                        endpointStats.count(),
+                        endpointStats.errors(),
+                        endpointStats.count() / seconds,
+                        millis(histogram, 50),
+                        millis(histogram, 95),
+                        millis(histogram, 99),
+                        millis(histogram, 99.9),
+                        histogram.getMaxValue() / 1000.0);
+                summary.println(entry.getKey().name() + "," + line);
+
+                System.out.printf(Locale.ROOT, "%-38s %8d %7d %9.1f %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                        entry.getKey().label(),
+                        endpointStats.count(),
+                        endpointStats.errors(),
+                        endpointStats.count() / seconds,
+                        millis(histogram, 50),
+                        millis(histogram, 95),
+                        millis(histogram, 99),
+                        millis(histogram, 99.9),
+                        histogram.getMaxValue() / 1000.0);
+
+                try (PrintStream hgrm = new PrintStream(
+                        Files.newOutputStream(output.resolve(entry.getKey().name() + ".hgrm")))) {
+                    histogram.outputPercentileDistribution(hgrm, 1000.0);
+                }
+            }
+        }
+        System.out.printf("%nResults written to %s%n", output.toAbsolutePath());
+    }
+
+    /**
+     * Guarda las métricas de ambos servicios tal y como las vería Prometheus.
+     */
+    private void scrapeMetrics() throws IOException, InterruptedException {
+        scrapeMetrics(productsUrl, options.output().resolve("products.prom"));
+        scrapeMetrics(inventoryUrl, options.output().resolve("inventory.prom"));
+    }
+
+    private void scrapeMetrics(String baseUrl, Path target) throws IOException, InterruptedException {
+        client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/prometheus")).GET().build(),
+                HttpResponse.BodyHandlers.ofFile(target));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * Construye una tabla en la que cada endpoint aparece tantas veces
+     * como su peso, para elegir el siguiente con un único aleatorio.
+     */
+    private static Endpoint[] weightedSchedule(Map<Endpoint, Integer> mix) {
+        return mix.entrySet().stream()
+                .flatMap(entry -> java.util.Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Endpoint[]::new);
+    }
+}
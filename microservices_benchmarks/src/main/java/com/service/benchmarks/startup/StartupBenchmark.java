@@ -0,0 +1,260 @@
+package com.service.benchmarks.startup;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el arranque de products-service e inventory-service en cada
+ * {@link StartupMode}.
+ *
+ * <p>
+ * Cada servicio se lanza en un proceso propio. El tiempo hasta la primera
+ * petición va desde que se crea el proceso hasta la primera respuesta HTTP
+ * sin error de servidor a una petición real ({@code GET /products/1} y
+ * {@code GET /inventory/1}, que consulta products-service): incluye la
+ * creación diferida de los beans en el perfil {@code prod}. La memoria
+ * residente (RSS) se lee justo después de esa respuesta.
+ * </p>
+ *
+ * <p>
+ * Resultados en el directorio {@code output}:
+ * <ul>
+ *   <li>{@code summary.csv}: tiempo hasta la primera petición y RSS de cada arranque.</li>
+ *   <li>{@code <servicio>-<modo>-<n>.log}: salida de cada proceso.</li>
+ * </ul>
+ * </p>
+ */
+public final class StartupBenchmark {
+
+    private static final String H2_DRIVER = "org.h2.Driver";
+
+    private final StartupOptions options;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+    private final Path h2Jar;
+    private final List<Sample> samples = new ArrayList<>();
+
+    private StartupBenchmark(StartupOptions options, Path h2Jar) {
+        this.options = options;
+        this.h2Jar = h2Jar;
+    }
+
+    public static void main(String[] args) throws Exception {
+        StartupOptions options = StartupOptions.parse(args);
+        Files.createDirectories(options.output());
+
+        StartupBenchmark benchmark = new StartupBenchmark(options, options.embeddedDatabase() ? h2Jar() : null);
+        for (StartupMode mode : options.modes()) {
+            if (mode == StartupMode.NATIVE && options.embeddedDatabase()) {
+                System.out.println("Skipping native mode: it needs products-db-url and inventory-db-url");
+                continue;
+            }
+            for (int run = 1; run <= options.runs(); run++) {
+                benchmark.measure(mode, run);
+            }
+        }
+        benchmark.report();
+    }
+
+    /**
+     * Arranca products-service y, con él en marcha, inventory-service.
+     */
+    private void measure(StartupMode mode, int run) throws IOException, InterruptedException {
+        try (ServiceProcess products = start("products", options.productsTarget(), mode, run,
+                databaseArguments(options.productsDbUrl(), "productsdb"))) {
+            samples.add(products.awaitFirstResponse("/products/1"));
+
+            List<String> inventoryArguments = databaseArguments(options.inventoryDbUrl(), "inventorydb");
+            inventoryArguments.add("--products.service.url=http://localhost:" + products.port);
+            try (ServiceProcess inventory = start("inventory", options.inventoryTarget(), mode, run,
+                    inventoryArguments)) {
+                samples.add(inventory.awaitFirstResponse("/inventory/1"));
+            }
+        }
+    }
+
+    private ServiceProcess start(String service, Path target, StartupMode mode, int run, List<String> arguments)
+            throws IOException {
+        int port = freePort();
+        List<String> command = mode.command(target, service, h2Jar);
+        command.add("--server.port=" + port);
+        if (mode.prodProfile()) {
+            command.add("--spring.profiles.active=prod");
+        }
+        command.addAll(arguments);
+
+        Path log = options.output().resolve(service + "-" + mode.label() + "-" + run + ".log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        return new ServiceProcess(service, mode, run, process, System.nanoTime(), port, log);
+    }
+
+    private List<String> databaseArguments(String url, String embeddedName) {
+        List<String> arguments = new ArrayList<>();
+        if (url != null && h2Jar == null) {
+            arguments.add("--spring.datasource.url=" + url);
+            arguments.add("--spring.datasource.username=" + options.dbUsername());
+            arguments.add("--spring.datasource.password=" + options.dbPassword());
+            return arguments;
+        }
+        arguments.add("--spring.datasource.url=jdbc:h2:mem:" + embeddedName
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        arguments.add("--spring.datasource.username=sa");
+        arguments.add("--spring.datasource.password=");
+        arguments.add("--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect");
+        // Las migraciones Flyway son específicas de PostgreSQL: en H2 Hibernate crea el esquema
+        arguments.add("--spring.flyway.enabled=false");
+        arguments.add("--spring.jpa.hibernate.ddl-auto=update");
+        return arguments;
+    }
+
+    private void report() throws IOException {
+        try (PrintWriter summary = new PrintWriter(Files.newBufferedWriter(options.output().resolve("summary.csv")))) {
+            summary.println("service,mode,run,first_request_ms,rss_mb");
+            for (Sample sample : samples) {
+                summary.printf(Locale.ROOT, "%s,%s,%d,%d,%.1f%n",
+                        sample.service(), sample.mode().label(), sample.run(), sample.firstRequestMillis(), sample.rssMb());
+            }
+        }
+
+        System.out.printf("%n%-10s %-8s %6s %22s %14s%n", "service", "mode", "runs", "first request ms (p50)", "RSS MB (p50)");
+        for (String service : List.of("products", "inventory")) {
+            for (StartupMode mode : options.modes()) {
+                List<Sample> measured = samples.stream()
+                        .filter(sample -> sample.service().equals(service) && sample.mode() == mode)
+                        .toList();
+                if (measured.isEmpty()) {
+                    continue;
+                }
+                System.out.printf(Locale.ROOT, "%-10s %-8s %6d %22d %14.1f%n",
+                        service,
+                        mode.label(),
+                        measured.size(),
+                        median(measured.stream().map(Sample::firstRequestMillis).toList()),
+                        median(measured.stream().map(Sample::rssMb).toList()));
+            }
+        }
+        System.out.printf("%nResults written to %s%n", options.output().toAbsolutePath());
+    }
+
+    private static <T extends Comparable<T>> T median(List<T> values) {
+        List<T> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    /**
+     * El driver de H2 se toma del classpath del benchmark y se añade al de los servicios.
+     */
+    private static Path h2Jar() throws Exception {
+        return Path.of(Class.forName(H2_DRIVER).getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Memoria residente del proceso en MB: {@code /proc} en Linux y {@code ps} en el resto.
+     */
+    private static double rssMb(long pid) throws IOException, InterruptedException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (Files.exists(status)) {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) / 1024.0;
+                }
+            }
+        }
+        Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", String.valueOf(pid)).start();
+        String kilobytes = new String(ps.getInputStream().readAllBytes()).trim();
+        ps.waitFor();
+        return Long.parseLong(kilobytes) / 1024.0;
+    }
+
+    private record Sample(String service, StartupMode mode, int run, long firstRequestMillis, double rssMb) {
+    }
+
+    /**
+     * Proceso de un servicio arrancado por el benchmark.
+     */
+    private final class ServiceProcess implements AutoCloseable {
+
+        private final String service;
+        private final StartupMode mode;
+        private final int run;
+        private final Process process;
+        private final long startNanos;
+        private final int port;
+        private final Path log;
+
+        private ServiceProcess(String service, StartupMode mode, int run, Process process, long startNanos,
+                               int port, Path log) {
+            this.service = service;
+            this.mode = mode;
+            this.run = run;
+            this.process = process;
+            this.startNanos = startNanos;
+            this.port = port;
+            this.log = log;
+        }
+
+        /**
+         * Repite la petición hasta obtener una respuesta sin error de servidor.
+         */
+        Sample awaitFirstResponse(String path) throws IOException, InterruptedException {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .timeout(options.timeout())
+                    .GET()
+                    .build();
+            long deadline = startNanos + options.timeout().toNanos();
+
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(service + " exited with status " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() < 500) {
+                        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                        Sample sample = new Sample(service, mode, run, millis, rssMb(process.pid()));
+                        System.out.printf(Locale.ROOT, "%-10s %-8s run %d: first request after %d ms, RSS %.1f MB%n",
+                                service, mode.label(), run, millis, sample.rssMb());
+                        return sample;
+                    }
+                } catch (IOException ex) {
+                    // Todavía no escucha en el puerto
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(service + " did not answer within " + options.timeout() + ", see " + log);
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.service.benchmarks.startup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Modos de arranque comparados por {@link StartupBenchmark}. Todos los
+ * modos JVM usan el JAR extraído por el perfil Maven {@code fast-startup}
+ * ({@code target/fast-startup}), para que solo cambien las opciones de
+ * arranque.
+ */
+enum StartupMode {
+
+    /** Configuración por defecto: Swagger y creación de todos los beans al arrancar. */
+    DEFAULT("default"),
+    /** Perfil {@code prod}: sin Swagger y con inicialización perezosa. */
+    PROD("prod"),
+    /** Perfil {@code prod} con el contexto precalculado por Spring AOT. */
+    AOT("aot"),
+    /** AOT más el archivo AppCDS generado en la ejecución de entrenamiento. */
+    AOT_CDS("aot-cds"),
+    /** Imagen nativa de GraalVM ({@code mvn -Pnative native:compile}). */
+    NATIVE("native");
+
+    private final String label;
+
+    StartupMode(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+
+    static StartupMode fromLabel(String label) {
+        for (StartupMode mode : values()) {
+            if (mode.label.equals(label)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown startup mode: " + label);
+    }
+
+    /**
+     * Comando que arranca el servicio en este modo.
+     *
+     * @param target         directorio {@code target} del servicio
+     * @param artifactId     artifactId del servicio (nombre de la imagen nativa)
+     * @param extraClasspath JAR añadido al final del classpath (driver de H2), o {@code null}
+     * @return comando sin los argumentos de Spring
+     */
+    List<String> command(Path target, String artifactId, Path extraClasspath) {
+        List<String> command = new ArrayList<>();
+        if (this == NATIVE) {
+            command.add(requireFile(target.resolve(artifactId)).toString());
+            return command;
+        }
+
+        Path extracted = target.resolve("fast-startup");
+        Path jar = extractedJar(requireFile(extracted));
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (this == AOT_CDS) {
+            command.add("-XX:SharedArchiveFile=" + requireFile(extracted.resolve("application.jsa")));
+            command.add("-Xlog:cds=off");
+            command.add("-Xlog:cds+dynamic=off");
+        }
+        if (this == AOT || this == AOT_CDS) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        command.add("-cp");
+        // El classpath del entrenamiento AppCDS debe ser prefijo del de ejecución: el JAR va primero
+        command.add(extraClasspath == null ? jar.toString() : jar + File.pathSeparator + extraClasspath);
+        command.add(mainClass(jar));
+        return command;
+    }
+
+    /**
+     * Indica si el modo usa el perfil {@code prod}.
+     */
+    boolean prodProfile() {
+        return this != DEFAULT;
+    }
+
+    private static Path extractedJar(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith("-exec.jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No executable JAR in " + directory));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * El JAR extraído se arranca con su clase principal, no con el lanzador de Spring Boot.
+     */
+    private static String mainClass(Path jar) {
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            return jarFile.getManifest().getMainAttributes().getValue("Main-Class");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static Path requireFile(Path path) {
+        if (!Files.exists(path)) {
+            throw new IllegalStateException(path + " not found; build it first (see README, Arranque rápido)");
+        }
+        return path;
+    }
+}
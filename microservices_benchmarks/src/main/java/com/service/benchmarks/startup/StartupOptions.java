@@ -0,0 +1,86 @@
+package com.service.benchmarks.startup;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parámetros de la medición de arranque, recibidos como argumentos
+ * {@code clave=valor}.
+ *
+ * <ul>
+ *   <li>{@code modes}: modos a medir, ej. {@code default,prod,aot,aot-cds,native}
+ *       (por defecto todos salvo {@code native}).</li>
+ *   <li>{@code runs}: arranques por modo (por defecto 3).</li>
+ *   <li>{@code timeout}: espera máxima a la primera respuesta, ej. {@code 120s}.</li>
+ *   <li>{@code products-target} e {@code inventory-target}: directorios
+ *       {@code target} de cada servicio.</li>
+ *   <li>{@code products-db-url} e {@code inventory-db-url}: URL JDBC de cada
+ *       servicio; sin ellas se usa H2 en memoria en modo PostgreSQL (no
+ *       disponible en {@code native}).</li>
+ *   <li>{@code db-username} y {@code db-password}: credenciales de la base de datos.</li>
+ *   <li>{@code output}: directorio de resultados.</li>
+ * </ul>
+ */
+record StartupOptions(
+        List<StartupMode> modes,
+        int runs,
+        Duration timeout,
+        Path productsTarget,
+        Path inventoryTarget,
+        String productsDbUrl,
+        String inventoryDbUrl,
+        String dbUsername,
+        String dbPassword,
+        Path output
+) {
+
+    static StartupOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value argument, got: " + arg);
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+
+        List<StartupMode> modes = new ArrayList<>();
+        for (String mode : values.getOrDefault("modes", "default,prod,aot,aot-cds").split(",")) {
+            modes.add(StartupMode.fromLabel(mode.trim()));
+        }
+
+        return new StartupOptions(
+                modes,
+                Integer.parseInt(values.getOrDefault("runs", "3")),
+                duration(values.getOrDefault("timeout", "120s")),
+                Path.of(values.getOrDefault("products-target", "../microservices_products/target")),
+                Path.of(values.getOrDefault("inventory-target", "../microservices_inventory/target")),
+                values.get("products-db-url"),
+                values.get("inventory-db-url"),
+                values.getOrDefault("db-username", "postgres"),
+                values.getOrDefault("db-password", "postgres"),
+                Path.of(values.getOrDefault("output", "target/startup"))
+        );
+    }
+
+    private static Duration duration(String value) {
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.parse(value);
+    }
+
+    /**
+     * Sin URLs JDBC los servicios arrancan contra H2 en memoria.
+     */
+    boolean embeddedDatabase() {
+        return productsDbUrl == null || inventoryDbUrl == null;
+    }
+}
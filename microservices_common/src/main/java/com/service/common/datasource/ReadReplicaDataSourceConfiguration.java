@@ -0,0 +1,140 @@
+package com.service.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+
+/**
+ * Réplica de lectura para las transacciones {@code @Transactional(readOnly = true)}.
+ *
+ * <p>
+ * Sustituye al {@code DataSource} autoconfigurado por dos pools Hikari:
+ * <ul>
+ *   <li>{@code primary}: {@code spring.datasource.*} y {@code spring.datasource.hikari.*}, como hasta ahora.</li>
+ *   <li>{@code replica}: {@code <prefijo>.url/username/password} y {@code <prefijo>.hikari.*}.</li>
+ * </ul>
+ * y expone como {@code DataSource} principal un {@link ReadReplicaRoutingDataSource}
+ * envuelto en un {@link LazyConnectionDataSourceProxy}.
+ * </p>
+ *
+ * <p>
+ * Cada {@code <prefijo>.health-check-interval-ms} se comprueba la réplica;
+ * métricas: {@code <prefijo>.healthy} y {@code <prefijo>.fallbacks}.
+ * </p>
+ *
+ * <p>
+ * Cada servicio la activa con una subclase {@code @Configuration} que indica
+ * su prefijo (p. ej. {@code products.datasource.replica}) y la condición
+ * {@code <prefijo>.enabled}.
+ * </p>
+ */
+public abstract class ReadReplicaDataSourceConfiguration {
+
+    private final String prefix;
+
+    /**
+     * @param prefix prefijo de las propiedades de la réplica
+     */
+    protected ReadReplicaDataSourceConfiguration(String prefix) {
+        this.prefix = prefix;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primary,
+            Environment environment
+    ) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(environment.getRequiredProperty(prefix + ".url"))
+                .username(environment.getProperty(prefix + ".username",
+                        environment.getProperty("spring.datasource.username", "")))
+                .password(environment.getProperty(prefix + ".password",
+                        environment.getProperty("spring.datasource.password", "")))
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        // Mismo modo de autocommit que el primario, que es el que anuncia el proxy
+        // (Hibernate no lo ajusta por conexión con provider_disables_autocommit)
+        dataSource.setAutoCommit(primary.isAutoCommit());
+        // El pool arranca con la primera conexión y no falla si la réplica no está:
+        // la petición espera como mucho connection-timeout y pasa al primario
+        dataSource.setInitializationFailTimeout(-1);
+        dataSource.setConnectionTimeout(Duration.ofSeconds(1).toMillis());
+        // Como @ConfigurationProperties: <prefijo>.hikari.* prevalece sobre lo anterior
+        Binder.get(environment).bind(prefix + ".hikari", Bindable.ofInstance(dataSource));
+        return dataSource;
+    }
+
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primary,
+            @Qualifier("replicaDataSource") HikariDataSource replica,
+            Environment environment,
+            MeterRegistry meterRegistry
+    ) {
+        Duration maxLag = Binder.get(environment).bind(prefix + ".max-lag", Duration.class)
+                .orElse(Duration.ofSeconds(30));
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, replica, maxLag);
+        Gauge.builder(prefix + ".healthy", routing, r -> r.isReplicaHealthy() ? 1 : 0)
+                .description("1 si las transacciones de solo lectura se envían a la réplica")
+                .register(meterRegistry);
+        FunctionCounter.builder(prefix + ".fallbacks", routing,
+                        ReadReplicaRoutingDataSource::getFallbacks)
+                .description("Lecturas enviadas al primario porque la réplica no entregó conexión")
+                .register(meterRegistry);
+        return routing;
+    }
+
+    /**
+     * Comprobación periódica de la réplica ({@link ReadReplicaRoutingDataSource#checkReplica()}).
+     * Requiere {@code @EnableScheduling} en la aplicación.
+     */
+    @Bean
+    public SchedulingConfigurer readReplicaHealthCheck(ReadReplicaRoutingDataSource routing, Environment environment) {
+        Duration interval = Duration.ofMillis(
+                environment.getProperty(prefix + ".health-check-interval-ms", Long.class, 5000L));
+        return registrar -> registrar.addFixedDelayTask(routing::checkReplica, interval);
+    }
+
+    /**
+     * {@code DataSource} de JPA y del resto de la aplicación. La conexión real
+     * se obtiene en la primera sentencia, cuando ya se sabe si la transacción
+     * es de solo lectura.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            ReadReplicaRoutingDataSource routing,
+            @Qualifier("primaryDataSource") HikariDataSource primary
+    ) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(routing);
+        proxy.setDefaultAutoCommit(primary.isAutoCommit());
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+}
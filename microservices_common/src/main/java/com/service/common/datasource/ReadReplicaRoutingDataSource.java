@@ -0,0 +1,164 @@
+package com.service.common.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link DataSource} que envía las transacciones de solo lectura
+ * ({@code @Transactional(readOnly = true)}) a la réplica y el resto al primario.
+ *
+ * <p>
+ * La decisión se toma al obtener la conexión, por lo que debe usarse detrás
+ * de un {@code LazyConnectionDataSourceProxy}: así la conexión se pide en la
+ * primera sentencia, cuando la transacción ya está marcada como de solo lectura.
+ * </p>
+ *
+ * <p>
+ * Si la réplica no entrega una conexión, o la comprobación periódica
+ * ({@link #checkReplica()}) la encuentra caída o con más retraso que
+ * {@code maxLag}, las lecturas pasan al primario hasta que vuelva a estar sana.
+ * </p>
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    /**
+     * Retraso de la réplica en segundos; 0 si ha reproducido todo lo recibido
+     * o si el servidor no es una réplica.
+     */
+    private static final String REPLICATION_LAG_QUERY = "select case "
+            + "when not pg_is_in_recovery() or pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 "
+            + "else extract(epoch from now() - pg_last_xact_replay_timestamp()) end";
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    /**
+     * Destino de una conexión.
+     */
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final DataSource replica;
+    private final Duration maxLag;
+    private final LongAdder fallbacks = new LongAdder();
+
+    private volatile boolean replicaHealthy = true;
+
+    /**
+     * @param primary base de datos primaria (lecturas y escrituras)
+     * @param replica réplica de lectura
+     * @param maxLag  retraso máximo admitido; {@link Duration#ZERO} para no comprobarlo
+     */
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration maxLag) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return replicaHealthy && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? Route.REPLICA
+                : Route.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() != Route.REPLICA) {
+            return getResolvedDefaultDataSource().getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException ex) {
+            markReplicaUnhealthy(ex.toString());
+            fallbacks.increment();
+            return getResolvedDefaultDataSource().getConnection();
+        }
+    }
+
+    /**
+     * No admitido: las credenciales se configuran en cada pool (Hikari tampoco
+     * entrega conexiones con otras credenciales).
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Credentials are configured per pool");
+    }
+
+    /**
+     * Comprueba que la réplica responde y, si {@code maxLag} no es cero, que su
+     * retraso de replicación no lo supera (consulta específica de PostgreSQL).
+     * Las lecturas vuelven a la réplica en cuanto la comprobación es correcta.
+     * La programa {@link ReadReplicaDataSourceConfiguration}.
+     */
+    public void checkReplica() {
+        try (Connection connection = replica.getConnection()) {
+            if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                markReplicaUnhealthy("connection is not valid");
+                return;
+            }
+            if (!maxLag.isZero()) {
+                double lagSeconds = replicationLagSeconds(connection);
+                if (lagSeconds * 1000 > maxLag.toMillis()) {
+                    markReplicaUnhealthy("replication lag is " + lagSeconds + "s");
+                    return;
+                }
+            }
+            if (!replicaHealthy) {
+                log.info("Read replica is healthy again; routing read-only transactions to it");
+                replicaHealthy = true;
+            }
+        } catch (SQLException ex) {
+            markReplicaUnhealthy(ex.toString());
+        }
+    }
+
+    private static double replicationLagSeconds(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(REPLICATION_LAG_QUERY)) {
+            result.next();
+            return result.getDouble(1);
+        } finally {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+            }
+        }
+    }
+
+    private void markReplicaUnhealthy(String reason) {
+        if (replicaHealthy) {
+            log.warn("Read replica unavailable ({}); routing read-only transactions to the primary", reason);
+            replicaHealthy = false;
+        }
+    }
+
+    /**
+     * @return {@code true} si las transacciones de solo lectura van a la réplica
+     */
+    public boolean isReplicaHealthy() {
+        return replicaHealthy;
+    }
+
+    /**
+     * @return lecturas enviadas al primario porque la réplica no entregó conexión
+     */
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+}
@@ -0,0 +1,76 @@
+package com.service.inventory.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.service.inventory.dto.ProductDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Última versión conocida de cada producto consultado, usada por
+ * {@link ProductClientFallbackFactory} para responder mientras
+ * products-service no está disponible.
+ *
+ * <p>
+ * A diferencia de {@link ProductCache}, las entradas no se renuevan
+ * al servirse desde el fallback: su antigüedad máxima
+ * ({@code products.fallback.max-age}) se cuenta desde la última
+ * respuesta real de products-service. Solo se almacena algo si
+ * {@code products.fallback.enabled=true}.
+ * </p>
+ */
+@Component
+public class LastKnownProducts {
+
+    private final boolean enabled;
+    private final Cache<Long, ProductDTO> products;
+
+    public LastKnownProducts(
+            @Value("${products.fallback.enabled:false}") boolean enabled,
+            @Value("${products.fallback.max-size:100000}") long maxSize,
+            @Value("${products.fallback.max-age:1h}") Duration maxAge
+    ) {
+        this.enabled = enabled;
+        this.products = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(maxAge)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registra la respuesta de products-service para un producto.
+     * Si es la misma instancia ya almacenada (servida por el fallback),
+     * no se renueva su antigüedad.
+     *
+     * @param product producto recibido
+     */
+    public void remember(ProductDTO product) {
+        if (enabled && products.getIfPresent(product.getId()) != product) {
+            products.put(product.getId(), product);
+        }
+    }
+
+    /**
+     * Olvida un producto que products-service ha confirmado como inexistente.
+     *
+     * @param productId identificador del producto
+     */
+    public void forget(Long productId) {
+        products.invalidate(productId);
+    }
+
+    /**
+     * @param productId identificador del producto
+     * @return la última versión conocida del producto, si la hay
+     */
+    public Optional<ProductDTO> find(Long productId) {
+        return Optional.ofNullable(products.getIfPresent(productId));
+    }
+}
@@ -0,0 +1,21 @@
+package com.service.inventory.client;
+
+import feign.FeignException;
+import feign.Request;
+
+/**
+ * Respuesta {@code 304 Not Modified} de products-service a una petición
+ * condicional ({@code If-None-Match}): la copia en caché sigue vigente.
+ *
+ * <p>
+ * No es un fallo: el circuit breaker la ignora
+ * ({@code resilience4j.circuitbreaker.configs.default.ignore-exceptions})
+ * y no se reintenta.
+ * </p>
+ */
+public class NotModifiedException extends FeignException {
+
+    public NotModifiedException(String methodKey, Request request) {
+        super(304, "Not modified: " + methodKey, request);
+    }
+}
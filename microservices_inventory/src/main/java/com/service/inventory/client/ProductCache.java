@@ -0,0 +1,291 @@
+package com.service.inventory.client;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.service.inventory.dto.ProductDTO;
+import com.service.inventory.model.KnownProduct;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Caché local (near-cache) delante de {@link ProductClient}.
+ *
+ * <p>
+ * Evita que cada consulta, actualización o compra de inventario
+ * realice una llamada HTTP al microservicio de productos:
+ * <ul>
+ *   <li>Tamaño máximo acotado con desalojo por tamaño.</li>
+ *   <li>Expiración (TTL) configurable para productos existentes.</li>
+ *   <li>Caché negativa con TTL propio para productos inexistentes (404).</li>
+ *   <li>Revalidación: pasado {@code products.cache.refresh-after}, la siguiente
+ *       lectura devuelve la copia en caché y la renueva en segundo plano con una
+ *       petición condicional ({@code If-None-Match} con el ETag guardado); si el
+ *       producto no ha cambiado, products-service responde {@code 304} sin cuerpo.</li>
+ *   <li>Carga por lote: los fallos de caché de varias claves se resuelven
+ *       con una sola llamada a {@link ProductClient#getProductsByIds}.</li>
+ *   <li>Réplica local: si está disponible ({@link ProductReplica}), los fallos
+ *       de caché se resuelven con una consulta por clave primaria y solo los
+ *       productos que aún no se han replicado se piden a products-service.</li>
+ *   <li>Métricas de aciertos, fallos y desalojos publicadas en Micrometer
+ *       bajo el nombre {@code cache.*} con la etiqueta {@code cache=products}.</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * Los errores distintos de 404 (timeouts, 5xx, circuito abierto) no se
+ * almacenan en caché y se propagan al llamador, salvo que el fallback de
+ * {@link ProductClient} responda con la última versión conocida del producto.
+ * </p>
+ */
+@Component
+public class ProductCache {
+
+    private final ProductClient productClient;
+    private final LastKnownProducts lastKnownProducts;
+    private final ProductReplica replica;
+    private final int batchSize;
+    private final LoadingCache<Long, CachedProduct> cache;
+
+    public ProductCache(
+            ProductClient productClient,
+            LastKnownProducts lastKnownProducts,
+            ProductReplica replica,
+            MeterRegistry meterRegistry,
+            @Value("${products.cache.max-size:10000}") long maxSize,
+            @Value("${products.cache.ttl:5m}") Duration ttl,
+            @Value("${products.cache.negative-ttl:30s}") Duration negativeTtl,
+            @Value("${products.cache.refresh-after:1m}") Duration refreshAfter,
+            @Value("${products.batch.max-size:500}") int batchSize
+    ) {
+        this.productClient = productClient;
+        this.lastKnownProducts = lastKnownProducts;
+        this.replica = replica;
+        this.batchSize = batchSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new PositiveNegativeExpiry(ttl, negativeTtl))
+                .refreshAfterWrite(refreshAfter)
+                .recordStats()
+                .build(new ProductLoader());
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "products");
+    }
+
+    /**
+     * Busca un producto, consultando el microservicio de productos
+     * solo si no está en caché.
+     *
+     * @param productId identificador del producto
+     * @return el producto si existe, o {@link Optional#empty()} si no existe
+     */
+    public Optional<ProductDTO> find(Long productId) {
+        return cache.get(productId).product();
+    }
+
+    /**
+     * Busca varios productos. Las claves ausentes de la caché se cargan
+     * con una única consulta por lote al microservicio de productos
+     * (o varias si superan {@code products.batch.max-size}).
+     *
+     * @param productIds identificadores de los productos
+     * @return mapa con una entrada por identificador; vacía si el producto no existe
+     */
+    public Map<Long, Optional<ProductDTO>> findAll(Collection<Long> productIds) {
+        Map<Long, Optional<ProductDTO>> products = new HashMap<>();
+        cache.getAll(productIds).forEach((productId, cached) -> products.put(productId, cached.product()));
+        return products;
+    }
+
+    /**
+     * Consulta la caché sin cargar el producto, como {@code Cache#getIfPresent}
+     * de Caffeine. La usa {@link ReactiveProductClient}, que carga los fallos
+     * sin bloquear.
+     *
+     * @param productId identificador del producto
+     * @return el producto en caché ({@link Optional#empty()} si se sabe que no existe),
+     *         o {@code null} si no está en caché
+     */
+    public Optional<ProductDTO> getIfPresent(Long productId) {
+        CachedProduct cached = cache.getIfPresent(productId);
+        return cached == null ? null : cached.product();
+    }
+
+    /**
+     * Guarda un producto obtenido fuera del cargador de la caché.
+     *
+     * @param productId identificador del producto
+     * @param product   el producto, o {@link Optional#empty()} si no existe
+     * @param etag      ETag de la respuesta, o {@code null}
+     */
+    public void put(Long productId, Optional<ProductDTO> product, String etag) {
+        cache.put(productId, product.isEmpty() ? CachedProduct.NOT_FOUND : new CachedProduct(product, etag));
+    }
+
+    /**
+     * Elimina de la caché la entrada de un producto.
+     *
+     * @param productId identificador del producto
+     */
+    public void invalidate(Long productId) {
+        cache.invalidate(productId);
+    }
+
+    /**
+     * Elimina de la caché las entradas de varios productos.
+     *
+     * @param productIds identificadores de los productos
+     */
+    public void invalidateAll(Collection<Long> productIds) {
+        cache.invalidateAll(productIds);
+    }
+
+    /**
+     * Vacía la caché.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Entrada de la caché: el producto (vacío si no existe) y su ETag,
+     * o {@code null} si no se obtuvo de una consulta individual.
+     */
+    private record CachedProduct(Optional<ProductDTO> product, String etag) {
+
+        private static final CachedProduct NOT_FOUND = new CachedProduct(Optional.empty(), null);
+    }
+
+    /**
+     * Cargador de la caché: primero la réplica local y, para los productos
+     * que no contiene, individual con {@code GET /products/{id}} y por lote
+     * con {@code GET /products?ids=...}.
+     */
+    private final class ProductLoader implements CacheLoader<Long, CachedProduct> {
+
+        @Override
+        public CachedProduct load(Long productId) {
+            if (replica.isReady()) {
+                Optional<KnownProduct> known = replica.find(productId);
+                if (known.isPresent()) {
+                    return new CachedProduct(known.get().toProduct(), null);
+                }
+            }
+            return fetch(productId, null);
+        }
+
+        /**
+         * Renovación en segundo plano: si hay ETag, consulta condicional;
+         * con {@code 304} se conserva la entrada actual.
+         */
+        @Override
+        public CachedProduct reload(Long productId, CachedProduct oldValue) {
+            if (oldValue.etag() == null || replica.isReady()) {
+                return load(productId);
+            }
+            try {
+                return fetch(productId, oldValue.etag());
+            } catch (NotModifiedException ex) {
+                return oldValue;
+            }
+        }
+
+        private CachedProduct fetch(Long productId, String ifNoneMatch) {
+            try {
+                ResponseEntity<ProductDTO> response = productClient.getProduct(productId, ifNoneMatch);
+                ProductDTO product = response.getBody();
+                if (product == null) {
+                    return CachedProduct.NOT_FOUND;
+                }
+                lastKnownProducts.remember(product);
+                return new CachedProduct(Optional.of(product), response.getHeaders().getETag());
+            } catch (FeignException.NotFound ex) {
+                lastKnownProducts.forget(productId);
+                return CachedProduct.NOT_FOUND;
+            }
+        }
+
+        @Override
+        public Map<Long, CachedProduct> loadAll(Set<? extends Long> productIds) {
+            Map<Long, CachedProduct> result = new HashMap<>();
+            if (replica.isReady()) {
+                for (KnownProduct known : replica.findAll(List.copyOf(productIds))) {
+                    result.put(known.getProductId(), new CachedProduct(known.toProduct(), null));
+                }
+            }
+            List<Long> chunk = new ArrayList<>(Math.min(productIds.size(), batchSize));
+
+            for (Long productId : productIds) {
+                if (result.containsKey(productId)) {
+                    continue;
+                }
+                chunk.add(productId);
+                if (chunk.size() == batchSize) {
+                    loadChunk(chunk, result);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                loadChunk(chunk, result);
+            }
+            return result;
+        }
+
+        private void loadChunk(List<Long> productIds, Map<Long, CachedProduct> result) {
+            for (ProductDTO product : productClient.getProductsByIds(productIds)) {
+                lastKnownProducts.remember(product);
+                result.put(product.getId(), new CachedProduct(Optional.of(product), null));
+            }
+            // Los identificadores ausentes en la respuesta no existen: caché negativa
+            for (Long productId : productIds) {
+                if (result.putIfAbsent(productId, CachedProduct.NOT_FOUND) == null) {
+                    lastKnownProducts.forget(productId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Política de expiración que aplica un TTL distinto a las
+     * entradas negativas (producto inexistente).
+     */
+    private static final class PositiveNegativeExpiry implements Expiry<Long, CachedProduct> {
+
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        private PositiveNegativeExpiry(Duration ttl, Duration negativeTtl) {
+            this.ttlNanos = ttl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Long key, CachedProduct value, long currentTime) {
+            return value.product().isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, CachedProduct value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, CachedProduct value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
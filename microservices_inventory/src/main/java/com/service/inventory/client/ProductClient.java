@@ -1,16 +1,94 @@
 package com.service.inventory.client;
 
 import com.service.inventory.dto.ProductDTO;
+import com.service.inventory.dto.ProductEventDTO;
+import feign.Response;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Cliente HTTP de products-service.
+ *
+ * <p>
+ * Las respuestas se piden en el formato de {@code products.wire-format}
+ * (Smile por defecto, ver {@link com.service.inventory.config.FeignConfig})
+ * y comprimidas con gzip cuando superan el tamaño mínimo de products-service.
+ * </p>
+ *
+ * <p>
+ * Las llamadas pasan por un circuit breaker y un bulkhead comunes
+ * ({@code products-service}), con timeouts y reintentos acotados
+ * (ver {@link com.service.inventory.config.FeignRetryConfig}).
+ * Si fallan, responde {@link ProductClientFallbackFactory}.
+ * </p>
+ *
+ * <p>
+ * La URL se configura con {@code spring.cloud.openfeign.client.config.products-service.url}
+ * y no en la anotación: con Spring AOT los atributos de {@code @FeignClient}
+ * se resuelven al compilar y la URL no podría cambiarse al arrancar.
+ * </p>
+ */
 @FeignClient(
         name = "products-service",
-        url = "${products.service.url}"
+        fallbackFactory = ProductClientFallbackFactory.class
 )
 public interface ProductClient {
 
     @GetMapping("/products/{id}")
     ProductDTO getProductById(@PathVariable("id") Long id);
+
+    /**
+     * Consulta condicional de un producto: devuelve también su ETag y,
+     * si {@code ifNoneMatch} coincide con la versión actual, lanza
+     * {@link NotModifiedException} en lugar de descargar el producto.
+     *
+     * @param id          identificador del producto
+     * @param ifNoneMatch ETag de la copia local, o {@code null} para una consulta normal
+     */
+    @GetMapping("/products/{id}")
+    ResponseEntity<ProductDTO> getProduct(
+            @PathVariable("id") Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    /**
+     * Consulta por lote: una sola petición HTTP para varios productos.
+     * Los identificadores inexistentes no aparecen en la respuesta.
+     */
+    @GetMapping("/products")
+    List<ProductDTO> getProductsByIds(@RequestParam("ids") Collection<Long> ids);
+
+    /**
+     * Feed de cambios del catálogo: eventos posteriores a {@code after}, en orden de ID.
+     * Responde {@code 410 Gone} ({@link feign.FeignException.Gone}) si ya se
+     * han podado eventos posteriores a {@code after}.
+     */
+    @GetMapping("/products/events")
+    List<ProductEventDTO> getProductEvents(@RequestParam("after") long after, @RequestParam("limit") int limit);
+
+    /**
+     * ID del último evento del feed de cambios (0 si no hay ninguno).
+     */
+    @GetMapping("/products/events/head")
+    long getLastProductEventId();
+
+    /**
+     * ID del evento más antiguo conservado en el feed de cambios (0 si no hay ninguno).
+     */
+    @GetMapping("/products/events/tail")
+    long getFirstProductEventId();
+
+    /**
+     * Exportación completa del catálogo en NDJSON. La respuesta se lee
+     * en streaming y debe cerrarse; los errores HTTP no se decodifican.
+     */
+    @GetMapping(value = "/products/export", produces = "application/x-ndjson")
+    Response exportProducts();
 }
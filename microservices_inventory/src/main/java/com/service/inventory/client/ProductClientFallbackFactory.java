@@ -0,0 +1,107 @@
+package com.service.inventory.client;
+
+import com.service.inventory.dto.ProductDTO;
+import com.service.inventory.dto.ProductEventDTO;
+import com.service.inventory.exception.ProductServiceUnavailableException;
+import feign.FeignException;
+import feign.Response;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Fallback de {@link ProductClient} cuando la llamada falla, el circuito
+ * está abierto o el bulkhead está lleno.
+ *
+ * <p>
+ * Los errores 4xx (producto inexistente, petición inválida) y las
+ * respuestas 304 son respuestas válidas de products-service y se
+ * propagan sin cambios.
+ * Para el resto, si {@code products.fallback.enabled=true} se responde
+ * con la última versión conocida del producto ({@link LastKnownProducts});
+ * si no se conoce, se lanza {@link ProductServiceUnavailableException}.
+ * </p>
+ */
+@Component
+public class ProductClientFallbackFactory implements FallbackFactory<ProductClient> {
+
+    private final LastKnownProducts lastKnownProducts;
+
+    public ProductClientFallbackFactory(LastKnownProducts lastKnownProducts) {
+        this.lastKnownProducts = lastKnownProducts;
+    }
+
+    @Override
+    public ProductClient create(Throwable cause) {
+        return new ProductClient() {
+
+            @Override
+            public ProductDTO getProductById(Long id) {
+                failUnlessRecoverable(cause);
+                return lastKnownProducts.find(id)
+                        .orElseThrow(() -> new ProductServiceUnavailableException(cause));
+            }
+
+            @Override
+            public ResponseEntity<ProductDTO> getProduct(Long id, String ifNoneMatch) {
+                return ResponseEntity.ok(getProductById(id));
+            }
+
+            @Override
+            public List<ProductDTO> getProductsByIds(Collection<Long> ids) {
+                failUnlessRecoverable(cause);
+                // Un identificador ausente se interpretaría como producto
+                // inexistente: solo se responde si se conocen todos
+                List<ProductDTO> products = new ArrayList<>(ids.size());
+                for (Long id : ids) {
+                    products.add(lastKnownProducts.find(id)
+                            .orElseThrow(() -> new ProductServiceUnavailableException(cause)));
+                }
+                return products;
+            }
+
+            // La replicación del catálogo no tiene respuesta alternativa:
+            // se reintenta en el siguiente ciclo
+
+            @Override
+            public List<ProductEventDTO> getProductEvents(long after, int limit) {
+                failUnlessRecoverable(cause);
+                throw new ProductServiceUnavailableException(cause);
+            }
+
+            @Override
+            public long getLastProductEventId() {
+                failUnlessRecoverable(cause);
+                throw new ProductServiceUnavailableException(cause);
+            }
+
+            @Override
+            public long getFirstProductEventId() {
+                failUnlessRecoverable(cause);
+                throw new ProductServiceUnavailableException(cause);
+            }
+
+            @Override
+            public Response exportProducts() {
+                failUnlessRecoverable(cause);
+                throw new ProductServiceUnavailableException(cause);
+            }
+        };
+    }
+
+    private void failUnlessRecoverable(Throwable cause) {
+        if (cause instanceof FeignException.FeignClientException clientError) {
+            throw clientError;
+        }
+        if (cause instanceof NotModifiedException notModified) {
+            throw notModified;
+        }
+        if (!lastKnownProducts.isEnabled()) {
+            throw new ProductServiceUnavailableException(cause);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.service.inventory.client;
+
+import com.service.inventory.model.KnownProduct;
+import com.service.inventory.repository.KnownProductRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Consulta de la réplica local del catálogo ({@link KnownProduct}).
+ *
+ * <p>
+ * La réplica solo se consulta cuando está disponible, es decir, cuando
+ * {@code products.replication.enabled=true} y {@code ProductReplicator}
+ * ha alcanzado el final del feed tras arrancar o tras recargarla. Mientras
+ * tanto, {@link ProductCache} consulta directamente a products-service.
+ * </p>
+ */
+@Component
+public class ProductReplica {
+
+    private final KnownProductRepository repository;
+    private volatile boolean ready;
+
+    public ProductReplica(KnownProductRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * @return {@code true} si la réplica está cargada y se mantiene actualizada
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Marca la réplica como disponible para las consultas.
+     */
+    public void markReady() {
+        this.ready = true;
+    }
+
+    /**
+     * Retira la réplica de las consultas mientras se recarga.
+     */
+    public void markStale() {
+        this.ready = false;
+    }
+
+    /**
+     * Busca un producto por clave primaria.
+     *
+     * @param productId identificador del producto
+     * @return el producto replicado (puede ser una marca de borrado), o vacío si no se conoce
+     */
+    public Optional<KnownProduct> find(Long productId) {
+        return repository.findById(productId);
+    }
+
+    /**
+     * Busca varios productos con una sola consulta.
+     *
+     * @param productIds identificadores de los productos
+     * @return productos replicados conocidos (incluidas las marcas de borrado)
+     */
+    public List<KnownProduct> findAll(Collection<Long> productIds) {
+        return repository.findAllById(productIds);
+    }
+}
@@ -0,0 +1,235 @@
+package com.service.inventory.client;
+
+import com.service.inventory.dto.ProductDTO;
+import com.service.inventory.exception.ProductServiceUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Versión no bloqueante de {@link ProductClient} para el modo reactivo
+ * (perfil {@code reactive}), sobre {@link WebClient}.
+ *
+ * <p>
+ * Consulta primero {@link ProductCache} sin cargar y, en un fallo de caché,
+ * llama a products-service y guarda la respuesta en la misma caché, por lo
+ * que las invalidaciones de la réplica del catálogo también se aplican aquí.
+ * </p>
+ *
+ * <p>
+ * Comparte con Feign el circuit breaker y el bulkhead {@code products-service}
+ * y la política de reintentos ({@code products.retry.*}: solo conexión
+ * rechazada y 502/503/504). Ante un fallo se responde con la última versión
+ * conocida del producto ({@link LastKnownProducts}) o se lanza
+ * {@link ProductServiceUnavailableException}, como el fallback de Feign.
+ * </p>
+ */
+@Component
+@Profile("reactive")
+public class ReactiveProductClient {
+
+    private static final String RESILIENCE_INSTANCE = "products-service";
+    private static final ParameterizedTypeReference<List<ProductDTO>> PRODUCT_LIST = new ParameterizedTypeReference<>() {
+    };
+
+    private final WebClient webClient;
+    private final ProductCache productCache;
+    private final LastKnownProducts lastKnownProducts;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Retry retry;
+    private final int batchSize;
+
+    public ReactiveProductClient(
+            WebClient productsWebClient,
+            ProductCache productCache,
+            LastKnownProducts lastKnownProducts,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            @Value("${products.retry.max-attempts:3}") int maxAttempts,
+            @Value("${products.retry.backoff:50ms}") Duration backoff,
+            @Value("${products.retry.max-backoff:500ms}") Duration maxBackoff,
+            @Value("${products.batch.max-size:500}") int batchSize
+    ) {
+        this.webClient = productsWebClient;
+        this.productCache = productCache;
+        this.lastKnownProducts = lastKnownProducts;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(RESILIENCE_INSTANCE);
+        this.bulkhead = bulkheadRegistry.bulkhead(RESILIENCE_INSTANCE);
+        this.retry = Retry.backoff(Math.max(0, maxAttempts - 1), backoff)
+                .maxBackoff(maxBackoff)
+                .jitter(0.5)
+                .filter(ReactiveProductClient::isRetryable)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Busca un producto.
+     *
+     * @param productId identificador del producto
+     * @return el producto si existe, o {@link Optional#empty()} si no existe
+     */
+    public Mono<Optional<ProductDTO>> find(Long productId) {
+        Optional<ProductDTO> cached = productCache.getIfPresent(productId);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return webClient.get()
+                .uri("/products/{id}", productId)
+                .exchangeToMono(response -> {
+                    if (response.statusCode() == HttpStatus.NOT_FOUND) {
+                        return response.releaseBody().thenReturn(Optional.<ProductDTO>empty());
+                    }
+                    if (response.statusCode().isError()) {
+                        return response.createError();
+                    }
+                    String etag = response.headers().asHttpHeaders().getETag();
+                    return response.bodyToMono(ProductDTO.class)
+                            .map(product -> {
+                                productCache.put(productId, Optional.of(product), etag);
+                                lastKnownProducts.remember(product);
+                                return Optional.of(product);
+                            })
+                            .defaultIfEmpty(Optional.empty());
+                })
+                .transform(this::withResilience)
+                .doOnNext(product -> {
+                    if (product.isEmpty()) {
+                        productCache.put(productId, product, null);
+                        lastKnownProducts.forget(productId);
+                    }
+                })
+                .onErrorResume(ex -> isUnavailable(ex), ex -> lastKnown(productId, ex));
+    }
+
+    /**
+     * Busca varios productos. Los que no están en caché se piden con
+     * {@code GET /products?ids=...} en bloques de {@code products.batch.max-size}.
+     *
+     * @param productIds identificadores de los productos
+     * @return mapa con una entrada por identificador; vacía si el producto no existe
+     */
+    public Mono<Map<Long, Optional<ProductDTO>>> findAll(Collection<Long> productIds) {
+        Map<Long, Optional<ProductDTO>> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long productId : productIds) {
+            Optional<ProductDTO> cached = productCache.getIfPresent(productId);
+            if (cached != null) {
+                result.put(productId, cached);
+            } else {
+                missing.add(productId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return Mono.just(result);
+        }
+        return Flux.fromIterable(chunks(missing))
+                .concatMap(this::fetchChunk)
+                .doOnNext(result::putAll)
+                .then(Mono.just(result));
+    }
+
+    private Mono<Map<Long, Optional<ProductDTO>>> fetchChunk(List<Long> productIds) {
+        return webClient.get()
+                .uri(uri -> uri.path("/products").queryParam("ids", productIds).build())
+                .retrieve()
+                .bodyToMono(PRODUCT_LIST)
+                .transform(this::withResilience)
+                .map(products -> {
+                    Map<Long, Optional<ProductDTO>> found = new HashMap<>();
+                    for (ProductDTO product : products) {
+                        found.put(product.getId(), Optional.of(product));
+                        lastKnownProducts.remember(product);
+                    }
+                    // Los identificadores ausentes en la respuesta no existen: caché negativa
+                    for (Long productId : productIds) {
+                        if (found.putIfAbsent(productId, Optional.empty()) == null) {
+                            lastKnownProducts.forget(productId);
+                        }
+                    }
+                    found.forEach((productId, product) -> productCache.put(productId, product, null));
+                    return found;
+                })
+                .onErrorResume(ex -> isUnavailable(ex), ex -> lastKnown(productIds, ex));
+    }
+
+    private <T> Mono<T> withResilience(Mono<T> call) {
+        return call
+                .retryWhen(retry)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(BulkheadOperator.of(bulkhead));
+    }
+
+    private Mono<Optional<ProductDTO>> lastKnown(Long productId, Throwable cause) {
+        return lastKnownProducts.find(productId)
+                .map(product -> Mono.just(Optional.of(product)))
+                .orElseGet(() -> Mono.error(new ProductServiceUnavailableException(cause)));
+    }
+
+    /**
+     * Un identificador ausente se interpretaría como producto inexistente:
+     * solo se responde si se conocen todos.
+     */
+    private Mono<Map<Long, Optional<ProductDTO>>> lastKnown(List<Long> productIds, Throwable cause) {
+        Map<Long, Optional<ProductDTO>> products = new HashMap<>();
+        for (Long productId : productIds) {
+            Optional<ProductDTO> product = lastKnownProducts.find(productId);
+            if (product.isEmpty()) {
+                return Mono.error(new ProductServiceUnavailableException(cause));
+            }
+            products.put(productId, product);
+        }
+        return Mono.just(products);
+    }
+
+    private List<List<Long>> chunks(List<Long> productIds) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < productIds.size(); from += batchSize) {
+            chunks.add(productIds.subList(from, Math.min(from + batchSize, productIds.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Fallos de products-service: conexión, timeout, 5xx, circuito abierto o bulkhead lleno.
+     * Los 4xx son respuestas válidas y se propagan.
+     */
+    private static boolean isUnavailable(Throwable ex) {
+        return !(ex instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError());
+    }
+
+    private static boolean isRetryable(Throwable ex) {
+        if (ex instanceof WebClientRequestException request) {
+            return request.getCause() instanceof ConnectException;
+        }
+        if (ex instanceof WebClientResponseException response) {
+            int status = response.getStatusCode().value();
+            return status == 502 || status == 503 || status == 504;
+        }
+        return false;
+    }
+}
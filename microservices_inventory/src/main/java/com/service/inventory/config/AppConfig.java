@@ -1,14 +1,44 @@
 package com.service.inventory.config;
 
+import com.service.inventory.service.HotStockService;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class AppConfig {
 
+    /**
+     * {@link RestTemplate} sobre el mismo pool de conexiones que {@code ProductClient}.
+     * Si Feign usa el cliente HTTP/2, Spring Boot crea uno con su propio pool.
+     * En el perfil {@code reactive} se usa {@code WebClient} y Spring Boot no
+     * configura {@link RestTemplateBuilder}.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    @Profile("!reactive")
+    public RestTemplate restTemplate(RestTemplateBuilder builder, ObjectProvider<CloseableHttpClient> httpClient) {
+        CloseableHttpClient shared = httpClient.getIfAvailable();
+        if (shared == null) {
+            return builder.build();
+        }
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(shared))
+                .build();
+    }
+
+    /**
+     * Con {@code spring.main.lazy-initialization=true} (perfil {@code prod}),
+     * {@link HotStockService} se sigue creando al arrancar: reproduce el diario
+     * de descuentos pendientes antes de atender peticiones.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerHotStock() {
+        return LazyInitializationExcludeFilter.forBeanTypes(HotStockService.class);
     }
 }
@@ -1,9 +1,11 @@
 package com.service.inventory.config;
 
 import feign.RequestInterceptor;
+import org.springframework.cloud.openfeign.CircuitBreakerNameResolver;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 
 @Configuration
 public class FeignConfig {
@@ -11,9 +13,35 @@ public class FeignConfig {
     @Value("${products.api-key}")
     private String apiKey;
 
+    @Value("${products.wire-format:smile}")
+    private WireFormat wireFormat;
+
     @Bean
     public RequestInterceptor apiKeyInterceptor() {
         return requestTemplate ->
                 requestTemplate.header("X-API-KEY", apiKey);
     }
+
+    /**
+     * Formato preferido de las respuestas ({@code products.wire-format}). Las
+     * llamadas que fijan su propio {@code Accept}, como la exportación NDJSON,
+     * lo conservan.
+     */
+    @Bean
+    public RequestInterceptor wireFormatInterceptor() {
+        return requestTemplate -> {
+            if (!requestTemplate.headers().containsKey(HttpHeaders.ACCEPT)) {
+                requestTemplate.header(HttpHeaders.ACCEPT, wireFormat.accept());
+            }
+        };
+    }
+
+    /**
+     * Un único circuit breaker (y bulkhead) por cliente Feign en lugar de
+     * uno por método: todos los métodos dependen del mismo servicio.
+     */
+    @Bean
+    public CircuitBreakerNameResolver circuitBreakerNameResolver() {
+        return (feignClientName, target, method) -> feignClientName;
+    }
 }
@@ -1,4 +1,119 @@
 package com.service.inventory.config;
 
+import com.service.inventory.client.NotModifiedException;
+import feign.FeignException;
+import feign.RetryableException;
+import feign.Retryer;
+import feign.codec.ErrorDecoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Reintentos acotados de las llamadas Feign a products-service.
+ *
+ * <p>
+ * Solo se reintentan los fallos que indican que la petición no llegó a
+ * procesarse: conexión rechazada y respuestas {@code 502}, {@code 503}
+ * y {@code 504}. Los timeouts de lectura no se reintentan, porque
+ * multiplicarían la carga sobre un servicio que ya está lento.
+ * </p>
+ *
+ * <p>
+ * La espera entre intentos usa backoff exponencial con jitter completo
+ * (un valor aleatorio entre 0 y el backoff), para que las instancias que
+ * fallan a la vez no reintenten también a la vez.
+ * </p>
+ */
+@Configuration
 public class FeignRetryConfig {
+
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(502, 503, 504);
+
+    @Value("${products.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${products.retry.backoff:50ms}")
+    private Duration backoff;
+
+    @Value("${products.retry.max-backoff:500ms}")
+    private Duration maxBackoff;
+
+    @Bean
+    public Retryer productsRetryer() {
+        return new JitteredRetryer(maxAttempts, backoff.toMillis(), maxBackoff.toMillis());
+    }
+
+    /**
+     * Convierte las respuestas {@code 502/503/504} en {@link RetryableException}
+     * para que las gestione el {@link Retryer}, y las {@code 304} de las
+     * peticiones condicionales en {@link NotModifiedException}.
+     */
+    @Bean
+    public ErrorDecoder productsErrorDecoder() {
+        ErrorDecoder delegate = new ErrorDecoder.Default();
+        return (methodKey, response) -> {
+            if (response.status() == 304) {
+                return new NotModifiedException(methodKey, response.request());
+            }
+            Exception exception = delegate.decode(methodKey, response);
+            if (exception instanceof RetryableException || !RETRYABLE_STATUSES.contains(response.status())) {
+                return exception;
+            }
+            return new RetryableException(
+                    response.status(),
+                    exception.getMessage(),
+                    response.request().httpMethod(),
+                    exception,
+                    (Long) null,
+                    response.request());
+        };
+    }
+
+    /**
+     * {@link Retryer} con backoff exponencial y jitter completo.
+     * Feign obtiene una copia ({@link #clone()}) por petición.
+     */
+    static final class JitteredRetryer implements Retryer {
+
+        private final int maxAttempts;
+        private final long backoffMillis;
+        private final long maxBackoffMillis;
+        private int attempt = 1;
+
+        JitteredRetryer(int maxAttempts, long backoffMillis, long maxBackoffMillis) {
+            this.maxAttempts = maxAttempts;
+            this.backoffMillis = backoffMillis;
+            this.maxBackoffMillis = maxBackoffMillis;
+        }
+
+        @Override
+        public void continueOrPropagate(RetryableException e) {
+            if (attempt >= maxAttempts || !isRetryable(e)) {
+                throw e;
+            }
+            long ceiling = Math.min(maxBackoffMillis, backoffMillis << Math.min(attempt - 1, 20));
+            attempt++;
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw e;
+            }
+        }
+
+        private static boolean isRetryable(FeignException e) {
+            return RETRYABLE_STATUSES.contains(e.status()) || e.getCause() instanceof ConnectException;
+        }
+
+        @Override
+        public Retryer clone() {
+            return new JitteredRetryer(maxAttempts, backoffMillis, maxBackoffMillis);
+        }
+    }
 }
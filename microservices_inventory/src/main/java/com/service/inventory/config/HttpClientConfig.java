@@ -0,0 +1,63 @@
+package com.service.inventory.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration.HttpClientBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Ajustes del pool de conexiones HTTP (Apache HttpClient 5) que usa
+ * {@code ProductClient} y el {@code RestTemplate} de {@link AppConfig}.
+ *
+ * <p>
+ * Spring Cloud OpenFeign crea el pool ({@code spring.cloud.openfeign.httpclient.*}:
+ * tamaño total, por ruta y tiempo de vida). Aquí se añade:
+ * <ul>
+ *   <li>Cierre de conexiones ociosas ({@code products.http.idle-eviction}), antes de que
+ *       products-service las cierre por su lado y la siguiente petición falle.</li>
+ *   <li>Keep-alive máximo ({@code products.http.keep-alive}); se respeta el del servidor si es menor.</li>
+ *   <li>Métricas del pool ({@code httpcomponents.httpclient.pool.*}, {@code httpclient=products-service}).</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * No aplica con el cliente HTTP/2 ({@code spring.cloud.openfeign.httpclient.hc5.enabled=false}).
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(value = "spring.cloud.openfeign.httpclient.hc5.enabled", matchIfMissing = true)
+public class HttpClientConfig {
+
+    @Value("${products.http.idle-eviction:30s}")
+    private Duration idleEviction;
+
+    @Value("${products.http.keep-alive:60s}")
+    private Duration keepAlive;
+
+    @Bean
+    public HttpClientBuilderCustomizer productsHttpClientCustomizer() {
+        TimeValue maxKeepAlive = TimeValue.ofMilliseconds(keepAlive.toMillis());
+        return builder -> builder
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEviction.toMillis()))
+                .setKeepAliveStrategy((response, context) -> maxKeepAlive.min(
+                        DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context)));
+    }
+
+    @Bean
+    public MeterBinder productsConnectionPoolMetrics(HttpClientConnectionManager connectionManager) {
+        return registry -> {
+            if (connectionManager instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "products-service").bindTo(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package com.service.inventory.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Infraestructura del modo reactivo (perfil {@code reactive}).
+ *
+ * <ul>
+ *   <li>Servidor Netty: con Tomcat en el classpath (modo MVC) Spring Boot lo
+ *       elegiría también para la aplicación reactiva.</li>
+ *   <li>Pool R2DBC ({@code inventory.r2dbc.*}) hacia la misma base de datos
+ *       que el {@code DataSource} JDBC, que sigue usándose para la réplica del
+ *       catálogo y los productos de alta demanda.</li>
+ *   <li>{@code DataSource} JDBC: Spring Boot no lo autoconfigura cuando existe una
+ *       {@code ConnectionFactory} R2DBC, así que se define aquí con las mismas
+ *       propiedades ({@code spring.datasource.*}). Con la réplica de lectura activa
+ *       lo define {@link ReadReplicaDataSourceConfig}.</li>
+ *   <li>{@link TransactionalOperator} para los pedidos de varias líneas. El
+ *       gestor de transacciones R2DBC no se registra como bean: las anotaciones
+ *       {@code @Transactional} siguen resolviendo al de JPA.</li>
+ *   <li>{@link WebClient} hacia products-service con pool de conexiones propio
+ *       y los mismos timeouts, formato ({@code products.wire-format}) y
+ *       compresión que Feign.</li>
+ *   <li>{@link HttpMessageConverters} para los clientes Feign (replicador del
+ *       catálogo, productos de alta demanda): Spring Boot solo los configura en
+ *       aplicaciones servlet.</li>
+ * </ul>
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "inventory.datasource.replica.enabled", havingValue = "false", matchIfMissing = true)
+    public HikariDataSource dataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(
+            @Value("${inventory.r2dbc.url}") String url,
+            @Value("${inventory.r2dbc.username:${spring.datasource.username:}}") String username,
+            @Value("${inventory.r2dbc.password:${spring.datasource.password:}}") String password,
+            @Value("${inventory.r2dbc.pool.initial-size:5}") int initialSize,
+            @Value("${inventory.r2dbc.pool.max-size:20}") int maxSize,
+            @Value("${inventory.r2dbc.pool.max-acquire-time:2s}") Duration maxAcquireTime
+    ) {
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder.withUrl(url)
+                .username(username)
+                .password(password)
+                .build();
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("inventory-r2dbc")
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxAcquireTime(maxAcquireTime)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionPool connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ConnectionPool connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    @Bean
+    public HttpMessageConverters feignMessageConverters(
+            ObjectMapper objectMapper,
+            MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter
+    ) {
+        return new HttpMessageConverters(
+                new MappingJackson2HttpMessageConverter(objectMapper), smileHttpMessageConverter);
+    }
+
+    @Bean
+    public WebClient productsWebClient(
+            WebClient.Builder builder,
+            @Value("${products.service.url}") String baseUrl,
+            @Value("${products.api-key}") String apiKey,
+            @Value("${spring.cloud.openfeign.client.config.products-service.connect-timeout:500}") int connectTimeoutMillis,
+            @Value("${spring.cloud.openfeign.client.config.products-service.read-timeout:2000}") long readTimeoutMillis,
+            @Value("${spring.cloud.openfeign.httpclient.max-connections-per-route:50}") int maxConnections,
+            @Value("${products.http.idle-eviction:30s}") Duration maxIdleTime,
+            @Value("${products.wire-format:smile}") WireFormat wireFormat
+    ) {
+        ConnectionProvider connections = ConnectionProvider.builder("products-service")
+                .maxConnections(maxConnections)
+                .maxIdleTime(maxIdleTime)
+                .metrics(true)
+                .build();
+        // compress(true): pide gzip y descomprime las respuestas, como Apache HttpClient en Feign
+        HttpClient httpClient = HttpClient.create(connections)
+                .compress(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .responseTimeout(Duration.ofMillis(readTimeoutMillis));
+        return builder
+                .baseUrl(baseUrl)
+                .defaultHeader("X-API-KEY", apiKey)
+                .defaultHeader(HttpHeaders.ACCEPT, wireFormat.accept())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
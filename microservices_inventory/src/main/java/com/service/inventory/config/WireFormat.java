@@ -0,0 +1,26 @@
+package com.service.inventory.config;
+
+/**
+ * Formato en que se piden las respuestas de products-service
+ * ({@code products.wire-format}).
+ */
+public enum WireFormat {
+
+    /** Smile (JSON binario de Jackson), con JSON como alternativa si products-service no lo admite. */
+    SMILE("application/x-jackson-smile, application/json;q=0.9"),
+    /** JSON. */
+    JSON("application/json");
+
+    private final String accept;
+
+    WireFormat(String accept) {
+        this.accept = accept;
+    }
+
+    /**
+     * Valor de la cabecera {@code Accept} de las llamadas a products-service.
+     */
+    public String accept() {
+        return accept;
+    }
+}
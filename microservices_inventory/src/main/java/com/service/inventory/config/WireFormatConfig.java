@@ -0,0 +1,59 @@
+package com.service.inventory.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeType;
+
+/**
+ * Formato binario Smile (JSON binario de Jackson) para las llamadas entre servicios.
+ *
+ * <p>
+ * Spring MVC y WebFlux ya negocian Smile ({@code application/x-jackson-smile}),
+ * pero con un {@code ObjectMapper} propio. Aquí se registran con la
+ * configuración Jackson de Spring Boot, para que fechas y módulos se
+ * codifiquen igual que en JSON:
+ * <ul>
+ *   <li>Convertidor de Spring MVC, que usan también los decodificadores de Feign
+ *       ({@code ProductClient}).</li>
+ *   <li>Codificador y decodificador de WebFlux: servidor del perfil {@code reactive}
+ *       y {@code WebClient} hacia products-service.</li>
+ * </ul>
+ * El formato que se pide a products-service se elige con {@code products.wire-format}
+ * ({@link WireFormat}).
+ * </p>
+ */
+@Configuration
+public class WireFormatConfig {
+
+    private static final MimeType SMILE = new MimeType("application", "x-jackson-smile");
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(smileMapper(builder));
+    }
+
+    @Bean
+    public CodecCustomizer smileCodecCustomizer(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper mapper = smileMapper(builder);
+        // Sin tipo MIME explícito, los codecs de Jackson se registran para application/json
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(mapper, SMILE));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(mapper, SMILE));
+        };
+    }
+
+    /**
+     * El {@link Jackson2ObjectMapperBuilder} de Spring Boot es un bean prototype:
+     * cambiar su factoría no afecta al {@code ObjectMapper} de JSON.
+     */
+    private static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new SmileFactory()).build();
+    }
+}
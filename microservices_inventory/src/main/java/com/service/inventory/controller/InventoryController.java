@@ -1,26 +1,71 @@
 package com.service.inventory.controller;
 
+import com.service.inventory.dto.AsyncPurchaseDTO;
 import com.service.inventory.dto.InventoryResponseDTO;
 import com.service.inventory.dto.PurchaseResponseDTO;
 import com.service.inventory.model.Inventory;
+import com.service.inventory.service.AsyncPurchaseService;
+import com.service.inventory.service.IdempotentPurchaseService;
 import com.service.inventory.service.InventoryService;
+import com.service.inventory.service.PurchaseMetrics;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Endpoints de inventario sobre Spring MVC. En el perfil {@code reactive}
+ * los sustituye {@link ReactiveInventoryController}.
+ */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/inventory")
 @Tag(name = "Inventario", description = "Operaciones relacionadas con la gestión de inventario")
 public class InventoryController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final String PREFER_HEADER = "Prefer";
+    private static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+    private static final String RESPOND_ASYNC = "respond-async";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    private static final int MAX_LOW_STOCK_LIMIT = 1000;
+
     private final InventoryService inventoryService;
+    private final IdempotentPurchaseService idempotentPurchases;
+    private final AsyncPurchaseService asyncPurchases;
+    private final PurchaseMetrics purchaseMetrics;
 
-    public InventoryController(InventoryService inventoryService) {
+    public InventoryController(
+            InventoryService inventoryService,
+            IdempotentPurchaseService idempotentPurchases,
+            AsyncPurchaseService asyncPurchases,
+            PurchaseMetrics purchaseMetrics
+    ) {
         this.inventoryService = inventoryService;
+        this.idempotentPurchases = idempotentPurchases;
+        this.asyncPurchases = asyncPurchases;
+        this.purchaseMetrics = purchaseMetrics;
     }
 
     // ===================== DTOs =====================
@@ -33,6 +78,8 @@ public class InventoryController {
                 example = "2",
                 requiredMode = Schema.RequiredMode.REQUIRED
         )
+        @NotNull
+        @Positive
         private Integer amount;
 
         public Integer getAmount() {
@@ -63,6 +110,64 @@ public class InventoryController {
         }
     }
 
+    @Schema(description = "Línea de un pedido: producto y cantidad a comprar")
+    public static class OrderLine {
+
+        @Schema(description = "ID del producto", example = "1", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull
+        private Long productId;
+
+        @Schema(description = "Cantidad a comprar", example = "2", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull
+        @Positive
+        private Integer amount;
+
+        public Long getProductId() {
+            return productId;
+        }
+
+        public void setProductId(Long productId) {
+            this.productId = productId;
+        }
+
+        public Integer getAmount() {
+            return amount;
+        }
+
+        public void setAmount(Integer amount) {
+            this.amount = amount;
+        }
+    }
+
+    @Schema(description = "Pedido de compra con varios productos")
+    public static class OrderRequest {
+
+        @Schema(description = "Líneas del pedido", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotEmpty
+        @Size(max = 500)
+        private List<@Valid @NotNull OrderLine> lines;
+
+        public List<OrderLine> getLines() {
+            return lines;
+        }
+
+        public void setLines(List<OrderLine> lines) {
+            this.lines = lines;
+        }
+
+        /**
+         * Cantidad por producto, agrupando las líneas repetidas de un mismo
+         * producto. El orden por productId fija el orden de bloqueo de filas.
+         */
+        public SortedMap<Long, Integer> amountsByProduct() {
+            SortedMap<Long, Integer> amounts = new TreeMap<>();
+            for (OrderLine line : lines) {
+                amounts.merge(line.getProductId(), line.getAmount(), Integer::sum);
+            }
+            return amounts;
+        }
+    }
+
     // ===================== ENDPOINTS =====================
 
     @Operation(
@@ -83,13 +188,29 @@ public class InventoryController {
             @Parameter(description = "ID del producto", example = "1", required = true)
             @PathVariable Long productId
     ) {
-        Inventory inventory = inventoryService.getInventoryByProductId(productId);
+        return inventoryService.getInventoryResponse(productId);
+    }
 
-        return new InventoryResponseDTO(
-                inventory.getId(),
-                inventory.getProductId(),
-                inventory.getQuantity()
-        );
+    @Operation(
+            summary = "Productos con poco stock",
+            description = "Lista los productos con menos de " + Inventory.LOW_STOCK_THRESHOLD
+                    + " unidades disponibles (sin las reservadas), de menor a mayor disponible"
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Inventarios con poco stock, de menor a mayor disponible"
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Límite fuera de rango"
+    )
+    @GetMapping("/low-stock")
+    public List<InventoryResponseDTO> getLowStock(
+            @Parameter(description = "Número máximo de resultados (1-" + MAX_LOW_STOCK_LIMIT + ")", example = "100")
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        checkLowStockLimit(limit);
+        return inventoryService.getLowStock(limit);
     }
 
     @Operation(
@@ -120,44 +241,195 @@ public class InventoryController {
         return new InventoryResponseDTO(
                 inventory.getId(),
                 inventory.getProductId(),
-                inventory.getQuantity()
+                inventory.getQuantity(),
+                inventory.getReserved()
         );
     }
 
     @Operation(
             summary = "Comprar producto",
-            description = "Descuenta del inventario la cantidad solicitada para una compra"
+            description = "Descuenta del inventario la cantidad solicitada para una compra. "
+                    + "Con la cabecera Idempotency-Key, las repeticiones de la misma compra "
+                    + "devuelven la respuesta original sin volver a descontar. Con Prefer: respond-async "
+                    + "(si el modo asíncrono está activo) la compra se encola y se responde 202 "
+                    + "con la URL de su estado"
     )
     @ApiResponse(
             responseCode = "200",
-            description = "Compra realizada exitosamente",
+            description = "Compra realizada exitosamente (o repetida, con Idempotent-Replayed: true)",
             content = @Content(schema = @Schema(implementation = PurchaseResponseDTO.class))
     )
+    @ApiResponse(
+            responseCode = "202",
+            description = "Compra encolada; su estado se consulta en la cabecera Location",
+            content = @Content(schema = @Schema(implementation = AsyncPurchaseDTO.class))
+    )
     @ApiResponse(
             responseCode = "400",
-            description = "Inventario insuficiente"
+            description = "Inventario insuficiente, cantidad inválida o clave de idempotencia inválida"
     )
     @ApiResponse(
             responseCode = "404",
             description = "Producto o inventario no encontrado"
     )
+    @ApiResponse(
+            responseCode = "422",
+            description = "Clave de idempotencia ya usada para otra compra"
+    )
+    @ApiResponse(
+            responseCode = "429",
+            description = "Cola de compras asíncronas llena"
+    )
     @PostMapping("/{productId}/purchase")
-    public PurchaseResponseDTO purchaseProduct(
+    public ResponseEntity<?> purchaseProduct(
             @Parameter(description = "ID del producto", example = "1", required = true)
             @PathVariable Long productId,
+            @Parameter(description = "Clave única de la compra para reintentos seguros", example = "7f9c2ba4-e88f-11ee-a506-0242ac120002")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Parameter(description = "respond-async para encolar la compra y responder 202", example = "respond-async")
+            @RequestHeader(value = PREFER_HEADER, required = false) String prefer,
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "Cantidad a comprar",
                     required = true
             )
-            @RequestBody PurchaseRequest request
+            @Valid @RequestBody PurchaseRequest request
     ) {
-        Inventory inventory = inventoryService.decreaseQuantity(productId, request.getAmount());
+        if (idempotencyKey != null) {
+            checkIdempotencyKey(idempotencyKey);
+            return toResponse(idempotentPurchases.purchase(idempotencyKey, productId, request.getAmount()));
+        }
+
+        if (asyncPurchases.isEnabled() && prefersAsync(prefer)) {
+            AsyncPurchaseDTO accepted = asyncPurchases.submit(productId, request.getAmount());
+            return ResponseEntity.accepted()
+                    .location(URI.create("/inventory/purchases/" + accepted.id()))
+                    .header(PREFERENCE_APPLIED_HEADER, RESPOND_ASYNC)
+                    .body(accepted);
+        }
 
-        return new PurchaseResponseDTO(
+        Inventory inventory = purchaseMetrics.record(PurchaseMetrics.Type.SINGLE,
+                () -> inventoryService.decreaseQuantity(productId, request.getAmount()));
+
+        return ResponseEntity.ok(new PurchaseResponseDTO(
                 productId,
                 request.getAmount(),
                 inventory.getQuantity(),
                 null // Inventory NO conoce detalles del producto
-        );
+        ));
+    }
+
+    @Operation(
+            summary = "Consultar compra asíncrona",
+            description = "Devuelve el estado de una compra encolada con Prefer: respond-async. "
+                    + "Con wait > 0 espera (long polling) hasta que termine o pasen esos segundos"
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Estado de la compra (PENDING, COMPLETED, REJECTED o FAILED)",
+            content = @Content(schema = @Schema(implementation = AsyncPurchaseDTO.class))
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Compra no encontrada o estado caducado"
+    )
+    @GetMapping("/purchases/{purchaseId}")
+    public CompletableFuture<AsyncPurchaseDTO> getAsyncPurchase(
+            @Parameter(description = "ID de la compra asíncrona", required = true)
+            @PathVariable String purchaseId,
+            @Parameter(description = "Segundos máximos de espera", example = "10")
+            @RequestParam(name = "wait", defaultValue = "0") int waitSeconds
+    ) {
+        return asyncPurchases.await(purchaseId, Duration.ofSeconds(waitSeconds));
+    }
+
+    @Operation(
+            summary = "Comprar varios productos",
+            description = "Descuenta del inventario todas las líneas del pedido en una única "
+                    + "transacción: si alguna línea falla, no se descuenta ninguna"
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Pedido realizado; una entrada por línea del pedido"
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Pedido inválido o inventario insuficiente en alguna línea"
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Algún producto o inventario no encontrado"
+    )
+    @PostMapping("/orders")
+    public List<PurchaseResponseDTO> purchaseOrder(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Líneas del pedido",
+                    required = true
+            )
+            @Valid @RequestBody OrderRequest request
+    ) {
+        SortedMap<Long, Integer> amountsByProduct = request.amountsByProduct();
+
+        Map<Long, Integer> remaining = purchaseMetrics.record(PurchaseMetrics.Type.ORDER,
+                () -> inventoryService.decreaseQuantities(amountsByProduct));
+
+        return request.getLines().stream()
+                .map(line -> new PurchaseResponseDTO(
+                        line.getProductId(),
+                        line.getAmount(),
+                        remaining.get(line.getProductId()),
+                        null
+                ))
+                .toList();
+    }
+
+    /**
+     * Valida el límite de {@code GET /inventory/low-stock}.
+     *
+     * @throws ResponseStatusException 400 si está fuera de rango
+     */
+    static void checkLowStockLimit(int limit) {
+        if (limit < 1 || limit > MAX_LOW_STOCK_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + MAX_LOW_STOCK_LIMIT);
+        }
+    }
+
+    /**
+     * Valida el valor de la cabecera {@code Idempotency-Key}.
+     *
+     * @throws ResponseStatusException 400 si está vacía o supera la longitud máxima
+     */
+    static void checkIdempotencyKey(String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must be between 1 and " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+    }
+
+    /**
+     * Indica si la cabecera {@code Prefer} (RFC 7240) pide {@code respond-async}.
+     */
+    private static boolean prefersAsync(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preference : prefer.split(",")) {
+            if (preference.split(";")[0].trim().equalsIgnoreCase(RESPOND_ASYNC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Respuesta de una compra idempotente; las repeticiones llevan la
+     * cabecera {@code Idempotent-Replayed: true}.
+     */
+    static ResponseEntity<PurchaseResponseDTO> toResponse(IdempotentPurchaseService.Result result) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (result.replayed()) {
+            response.header(REPLAYED_HEADER, "true");
+        }
+        return response.body(result.response());
     }
 }
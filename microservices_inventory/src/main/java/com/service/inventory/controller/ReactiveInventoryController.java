@@ -0,0 +1,106 @@
+package com.service.inventory.controller;
+
+import com.service.inventory.controller.InventoryController.InventoryUpdateRequest;
+import com.service.inventory.controller.InventoryController.OrderRequest;
+import com.service.inventory.controller.InventoryController.PurchaseRequest;
+import com.service.inventory.dto.InventoryResponseDTO;
+import com.service.inventory.dto.PurchaseResponseDTO;
+import com.service.inventory.service.IdempotentPurchaseService;
+import com.service.inventory.service.InventoryService;
+import com.service.inventory.service.PurchaseMetrics;
+import com.service.inventory.service.ReactiveInventoryService;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * Endpoints de {@link InventoryController} sobre WebFlux (perfil {@code reactive}):
+ * mismas rutas, peticiones y respuestas, sin bloquear el hilo en las
+ * llamadas a products-service ni a la base de datos.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/inventory")
+public class ReactiveInventoryController {
+
+    private final ReactiveInventoryService inventoryService;
+    private final IdempotentPurchaseService idempotentPurchases;
+    private final PurchaseMetrics purchaseMetrics;
+    private final InventoryService lowStock;
+
+    public ReactiveInventoryController(
+            ReactiveInventoryService inventoryService,
+            IdempotentPurchaseService idempotentPurchases,
+            PurchaseMetrics purchaseMetrics,
+            InventoryService lowStock
+    ) {
+        this.inventoryService = inventoryService;
+        this.idempotentPurchases = idempotentPurchases;
+        this.purchaseMetrics = purchaseMetrics;
+        this.lowStock = lowStock;
+    }
+
+    /**
+     * La consulta de poco stock es bloqueante (JPA, {@link InventoryService}).
+     */
+    @GetMapping("/low-stock")
+    public Mono<List<InventoryResponseDTO>> getLowStock(@RequestParam(defaultValue = "100") int limit) {
+        InventoryController.checkLowStockLimit(limit);
+        return Mono.fromCallable(() -> lowStock.getLowStock(limit))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @GetMapping("/{productId}")
+    public Mono<InventoryResponseDTO> getInventory(@PathVariable Long productId) {
+        return inventoryService.getInventory(productId);
+    }
+
+    @PutMapping("/{productId}")
+    public Mono<InventoryResponseDTO> updateInventory(
+            @PathVariable Long productId,
+            @RequestBody InventoryUpdateRequest request
+    ) {
+        return inventoryService.updateQuantity(productId, request.getQuantity());
+    }
+
+    /**
+     * Con {@code Idempotency-Key} la compra se delega en
+     * {@link IdempotentPurchaseService}, que es bloqueante (JPA).
+     */
+    @PostMapping("/{productId}/purchase")
+    public Mono<ResponseEntity<PurchaseResponseDTO>> purchaseProduct(
+            @PathVariable Long productId,
+            @RequestHeader(value = InventoryController.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody PurchaseRequest request
+    ) {
+        if (idempotencyKey != null) {
+            InventoryController.checkIdempotencyKey(idempotencyKey);
+            return Mono.fromCallable(() -> idempotentPurchases.purchase(idempotencyKey, productId, request.getAmount()))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .map(InventoryController::toResponse);
+        }
+
+        return purchaseMetrics.record(PurchaseMetrics.Type.SINGLE,
+                        inventoryService.decreaseQuantity(productId, request.getAmount()))
+                .map(remaining -> ResponseEntity.ok(new PurchaseResponseDTO(productId, request.getAmount(), remaining, null)));
+    }
+
+    @PostMapping("/orders")
+    public Mono<List<PurchaseResponseDTO>> purchaseOrder(@Valid @RequestBody OrderRequest request) {
+        return purchaseMetrics.record(PurchaseMetrics.Type.ORDER,
+                        inventoryService.decreaseQuantities(request.amountsByProduct()))
+                .map(remaining -> request.getLines().stream()
+                        .map(line -> new PurchaseResponseDTO(
+                                line.getProductId(),
+                                line.getAmount(),
+                                remaining.get(line.getProductId()),
+                                null
+                        ))
+                        .toList());
+    }
+}
@@ -0,0 +1,183 @@
+package com.service.inventory.controller;
+
+import com.service.inventory.dto.ReservationDTO;
+import com.service.inventory.service.ReservationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Endpoints de reservas temporales de stock. Solo en Spring MVC: el perfil
+ * {@code reactive} no los expone.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/inventory")
+@Tag(name = "Reservas", description = "Reservas temporales de stock durante el checkout")
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    public ReservationController(ReservationService reservationService) {
+        this.reservationService = reservationService;
+    }
+
+    // ===================== DTOs =====================
+
+    @Schema(description = "Solicitud de reserva de stock")
+    public static class ReservationRequest {
+
+        @Schema(description = "Unidades a reservar", example = "2", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull
+        @Positive
+        private Integer amount;
+
+        @Schema(description = "Plazo de la reserva en segundos (por defecto inventory.reservations.ttl)", example = "900")
+        @Positive
+        private Integer ttlSeconds;
+
+        public Integer getAmount() {
+            return amount;
+        }
+
+        public void setAmount(Integer amount) {
+            this.amount = amount;
+        }
+
+        public Integer getTtlSeconds() {
+            return ttlSeconds;
+        }
+
+        public void setTtlSeconds(Integer ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+    }
+
+    // ===================== ENDPOINTS =====================
+
+    @Operation(
+            summary = "Reservar stock",
+            description = "Retiene unidades de un producto durante un plazo. Mientras la reserva está "
+                    + "activa no pueden venderse; al confirmarla se descuentan y al liberarla o caducar "
+                    + "vuelven a estar disponibles"
+    )
+    @ApiResponse(
+            responseCode = "201",
+            description = "Reserva creada; su URL va en la cabecera Location",
+            content = @Content(schema = @Schema(implementation = ReservationDTO.class))
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Inventario disponible insuficiente o solicitud inválida"
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Producto o inventario no encontrado"
+    )
+    @ApiResponse(
+            responseCode = "409",
+            description = "El producto es de alta demanda y no admite reservas"
+    )
+    @PostMapping("/{productId}/reservations")
+    public ResponseEntity<ReservationDTO> reserve(
+            @Parameter(description = "ID del producto", example = "1", required = true)
+            @PathVariable Long productId,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Unidades y plazo de la reserva",
+                    required = true
+            )
+            @Valid @RequestBody ReservationRequest request
+    ) {
+        Duration ttl = request.getTtlSeconds() == null ? null : Duration.ofSeconds(request.getTtlSeconds());
+        ReservationDTO reservation = ReservationDTO.of(
+                reservationService.reserve(productId, request.getAmount(), ttl));
+
+        return ResponseEntity.created(URI.create("/inventory/reservations/" + reservation.id()))
+                .body(reservation);
+    }
+
+    @Operation(
+            summary = "Consultar reserva",
+            description = "Devuelve el estado de una reserva"
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Reserva encontrada",
+            content = @Content(schema = @Schema(implementation = ReservationDTO.class))
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Reserva no encontrada"
+    )
+    @GetMapping("/reservations/{reservationId}")
+    public ReservationDTO getReservation(
+            @Parameter(description = "ID de la reserva", required = true)
+            @PathVariable String reservationId
+    ) {
+        return ReservationDTO.of(reservationService.getReservation(reservationId));
+    }
+
+    @Operation(
+            summary = "Confirmar reserva",
+            description = "Descuenta del inventario las unidades reservadas. Confirmar de nuevo "
+                    + "una reserva confirmada devuelve su estado sin volver a descontar"
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Reserva confirmada",
+            content = @Content(schema = @Schema(implementation = ReservationDTO.class))
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Reserva no encontrada"
+    )
+    @ApiResponse(
+            responseCode = "409",
+            description = "La reserva está liberada o caducada"
+    )
+    @PostMapping("/reservations/{reservationId}/confirm")
+    public ReservationDTO confirm(
+            @Parameter(description = "ID de la reserva", required = true)
+            @PathVariable String reservationId
+    ) {
+        return ReservationDTO.of(reservationService.confirm(reservationId));
+    }
+
+    @Operation(
+            summary = "Liberar reserva",
+            description = "Devuelve las unidades reservadas al stock disponible. Liberar de nuevo "
+                    + "una reserva liberada o caducada devuelve su estado sin cambios"
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Reserva liberada (o ya caducada)",
+            content = @Content(schema = @Schema(implementation = ReservationDTO.class))
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Reserva no encontrada"
+    )
+    @ApiResponse(
+            responseCode = "409",
+            description = "La reserva ya está confirmada"
+    )
+    @PostMapping("/reservations/{reservationId}/release")
+    public ReservationDTO release(
+            @Parameter(description = "ID de la reserva", required = true)
+            @PathVariable String reservationId
+    ) {
+        return ReservationDTO.of(reservationService.release(reservationId));
+    }
+}
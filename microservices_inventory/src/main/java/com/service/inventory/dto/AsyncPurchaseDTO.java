@@ -0,0 +1,97 @@
+package com.service.inventory.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+import java.io.Serializable;
+
+/**
+ * DTO de estado de una compra asíncrona ({@code Prefer: respond-async}).
+ *
+ * <pre>
+ * {
+ *   "type": "async_purchase",
+ *   "id": "3f2b8c1e-...",
+ *   "attributes": {
+ *     "status": "COMPLETED",
+ *     "product_id": 10,
+ *     "purchased_amount": 2,
+ *     "remaining_quantity": 8
+ *   }
+ * }
+ * </pre>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Estado de una compra asíncrona")
+public record AsyncPurchaseDTO(
+
+        @Schema(description = "Tipo de recurso según el estándar JSON:API", example = "async_purchase")
+        String type,
+
+        @Schema(description = "Identificador de la compra asíncrona", example = "3f2b8c1e-6f4a-4c1e-9a57-0c3f1b6d2e11")
+        @NotNull
+        String id,
+
+        @Schema(description = "Atributos de la compra")
+        @NotNull
+        Attributes attributes
+
+) implements Serializable {
+
+    /**
+     * Estado de la compra.
+     */
+    public enum Status {
+        /** En cola, aún no aplicada. */
+        PENDING,
+        /** Stock descontado. */
+        COMPLETED,
+        /** Rechazada: producto o inventario inexistente, o stock insuficiente. */
+        REJECTED,
+        /** No se pudo aplicar (error de base de datos o catálogo no disponible); puede reintentarse. */
+        FAILED
+    }
+
+    public AsyncPurchaseDTO(
+            String id,
+            Status status,
+            Long productId,
+            Integer purchasedAmount,
+            Integer remainingQuantity,
+            String error
+    ) {
+        this("async_purchase", id, new Attributes(status, productId, purchasedAmount, remainingQuantity, error));
+    }
+
+    /**
+     * Atributos del recurso AsyncPurchase.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Detalle de la compra asíncrona")
+    public record Attributes(
+
+            @Schema(description = "Estado de la compra", example = "COMPLETED")
+            @NotNull
+            Status status,
+
+            @JsonProperty("product_id")
+            @Schema(description = "Identificador del producto", example = "10")
+            @NotNull
+            Long productId,
+
+            @JsonProperty("purchased_amount")
+            @Schema(description = "Cantidad solicitada", example = "2")
+            @NotNull
+            Integer purchasedAmount,
+
+            @JsonProperty("remaining_quantity")
+            @Schema(description = "Stock restante tras la compra (solo COMPLETED)", example = "8")
+            Integer remainingQuantity,
+
+            @Schema(description = "Motivo del rechazo o del fallo", example = "Insufficient inventory for product with id: 10")
+            String error
+
+    ) implements Serializable {}
+}
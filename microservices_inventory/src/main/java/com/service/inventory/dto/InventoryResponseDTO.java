@@ -15,7 +15,9 @@ import java.io.Serializable;
  *     "id": "1",
  *     "attributes": {
  *       "productId": 10,
- *       "quantity": 5
+ *       "quantity": 5,
+ *       "reserved": 2,
+ *       "available": 3
  *     }
  *   }
  * }
@@ -37,14 +39,26 @@ public record InventoryResponseDTO(
      * sin necesidad de especificar manualmente el tipo JSON API.
      */
     public InventoryResponseDTO(Long id, Long productId, Integer quantity) {
-        this("inventory", id, new Attributes(productId, quantity));
+        this(id, productId, quantity, 0);
     }
 
     /**
-     * Atributos del recurso Inventory según JSON API.
+     * Constructor de conveniencia con las unidades reservadas; la cantidad
+     * disponible para la venta se calcula a partir de ellas.
+     */
+    public InventoryResponseDTO(Long id, Long productId, Integer quantity, Integer reserved) {
+        this("inventory", id, new Attributes(productId, quantity, reserved, quantity - reserved));
+    }
+
+    /**
+     * Atributos del recurso Inventory según JSON API: stock físico
+     * ({@code quantity}), unidades en reservas activas ({@code reserved})
+     * y disponibles para la venta ({@code available}).
      */
     public record Attributes(
             @NotNull Long productId,
-            @NotNull @PositiveOrZero Integer quantity
+            @NotNull @PositiveOrZero Integer quantity,
+            @NotNull @PositiveOrZero Integer reserved,
+            @NotNull Integer available
     ) implements Serializable {}
 }
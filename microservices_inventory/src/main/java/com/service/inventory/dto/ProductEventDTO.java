@@ -0,0 +1,86 @@
+package com.service.inventory.dto;
+
+/**
+ * DTO de un evento del feed de cambios de products-service
+ * ({@code GET /products/events}).
+ *
+ * <p>
+ * Contiene el estado completo del producto tras el cambio.
+ * </p>
+ */
+public class ProductEventDTO {
+
+    /** Posición del evento en el feed */
+    private Long id;
+
+    /** Identificador del producto */
+    private Long productId;
+
+    /** Tipo de cambio: CREATED, UPDATED o DELETED */
+    private String type;
+
+    private String name;
+
+    private Double price;
+
+    private String description;
+
+    public ProductEventDTO() {
+        // Constructor vacío requerido para serialización/deserialización
+    }
+
+    /**
+     * @return {@code true} si el evento es el borrado del producto
+     */
+    public boolean isDeleted() {
+        return "DELETED".equals(type);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
@@ -0,0 +1,79 @@
+package com.service.inventory.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.service.inventory.model.Reservation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * DTO de respuesta para el recurso Reservation.
+ *
+ * <pre>
+ * {
+ *   "type": "reservation",
+ *   "id": "5b0e7c7a-...",
+ *   "attributes": {
+ *     "product_id": 10,
+ *     "amount": 2,
+ *     "status": "ACTIVE",
+ *     "expires_at": "2024-05-01T10:15:00Z"
+ *   }
+ * }
+ * </pre>
+ */
+@Schema(description = "Reserva temporal de stock")
+public record ReservationDTO(
+
+        @Schema(description = "Tipo de recurso según el estándar JSON:API", example = "reservation")
+        String type,
+
+        @Schema(description = "Identificador de la reserva", example = "5b0e7c7a-0d6f-4b9e-9a0f-1f2a3b4c5d6e")
+        @NotNull
+        String id,
+
+        @Schema(description = "Atributos de la reserva")
+        @NotNull
+        Attributes attributes
+
+) implements Serializable {
+
+    /**
+     * Crea la respuesta a partir de la entidad.
+     */
+    public static ReservationDTO of(Reservation reservation) {
+        return new ReservationDTO("reservation", reservation.getId(), new Attributes(
+                reservation.getProductId(),
+                reservation.getAmount(),
+                reservation.getStatus(),
+                reservation.getExpiresAt()));
+    }
+
+    /**
+     * Atributos del recurso Reservation.
+     */
+    @Schema(description = "Detalle de la reserva")
+    public record Attributes(
+
+            @JsonProperty("product_id")
+            @Schema(description = "Identificador del producto", example = "10")
+            @NotNull
+            Long productId,
+
+            @Schema(description = "Unidades reservadas", example = "2")
+            @NotNull
+            Integer amount,
+
+            @Schema(description = "Estado: ACTIVE, CONFIRMED, RELEASED o EXPIRED", example = "ACTIVE")
+            @NotNull
+            Reservation.Status status,
+
+            @JsonProperty("expires_at")
+            @Schema(description = "Fin del plazo de la reserva", example = "2024-05-01T10:15:00Z")
+            @NotNull
+            Instant expiresAt
+
+    ) implements Serializable {}
+}
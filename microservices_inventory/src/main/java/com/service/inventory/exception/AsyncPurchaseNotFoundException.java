@@ -0,0 +1,26 @@
+package com.service.inventory.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción lanzada cuando no se encuentra una compra asíncrona:
+ * el identificador no existe o su estado ya caducó.
+ *
+ * <p>
+ * Esta excepción se traduce automáticamente en una
+ * respuesta HTTP 404 (Not Found).
+ * </p>
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class AsyncPurchaseNotFoundException extends RuntimeException {
+
+    /**
+     * Crea una nueva excepción de compra asíncrona no encontrada.
+     *
+     * @param purchaseId identificador de la compra
+     */
+    public AsyncPurchaseNotFoundException(String purchaseId) {
+        super("Async purchase not found: " + purchaseId);
+    }
+}
@@ -0,0 +1,26 @@
+package com.service.inventory.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción lanzada cuando una clave {@code Idempotency-Key} ya usada llega
+ * con una compra distinta (otro producto u otra cantidad).
+ *
+ * <p>
+ * Esta excepción se traduce automáticamente en una
+ * respuesta HTTP 422 (Unprocessable Entity).
+ * </p>
+ */
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    /**
+     * Crea una nueva excepción de clave de idempotencia reutilizada.
+     *
+     * @param key clave de idempotencia
+     */
+    public IdempotencyKeyReusedException(String key) {
+        super("Idempotency key already used for a different purchase: " + key);
+    }
+}
@@ -0,0 +1,28 @@
+package com.service.inventory.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción lanzada cuando el microservicio de productos no responde
+ * (timeout, error 5xx, circuito abierto o bulkhead lleno) y no hay
+ * datos conocidos del producto con los que responder.
+ *
+ * <p>
+ * Se traduce automáticamente en una respuesta
+ * HTTP 503 (Service Unavailable).
+ * </p>
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ProductServiceUnavailableException extends RuntimeException {
+
+    /**
+     * Crea una excepción indicando que no se pudo consultar
+     * el microservicio de productos.
+     *
+     * @param cause error original de la llamada
+     */
+    public ProductServiceUnavailableException(Throwable cause) {
+        super("Products service unavailable: " + cause.getMessage(), cause);
+    }
+}
@@ -0,0 +1,26 @@
+package com.service.inventory.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción lanzada cuando la cola de compras asíncronas de un producto
+ * está llena.
+ *
+ * <p>
+ * Esta excepción se traduce automáticamente en una
+ * respuesta HTTP 429 (Too Many Requests).
+ * </p>
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class PurchaseQueueFullException extends RuntimeException {
+
+    /**
+     * Crea una nueva excepción de cola de compras llena.
+     *
+     * @param productId identificador del producto
+     */
+    public PurchaseQueueFullException(Long productId) {
+        super("Purchase queue full for product with id: " + productId);
+    }
+}
@@ -0,0 +1,28 @@
+package com.service.inventory.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción lanzada cuando una operación no es compatible con el estado
+ * de una reserva o con las unidades reservadas de un producto: confirmar
+ * una reserva liberada o caducada, liberar una confirmada, o fijar una
+ * cantidad menor que la reservada.
+ *
+ * <p>
+ * Esta excepción se traduce automáticamente en una
+ * respuesta HTTP 409 (Conflict).
+ * </p>
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ReservationConflictException extends RuntimeException {
+
+    /**
+     * Crea una nueva excepción de conflicto con reservas.
+     *
+     * @param message descripción del conflicto
+     */
+    public ReservationConflictException(String message) {
+        super(message);
+    }
+}
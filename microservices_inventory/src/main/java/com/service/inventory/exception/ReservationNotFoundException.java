@@ -0,0 +1,25 @@
+package com.service.inventory.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción lanzada cuando no existe la reserva solicitada.
+ *
+ * <p>
+ * Esta excepción se traduce automáticamente en una
+ * respuesta HTTP 404 (Not Found).
+ * </p>
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ReservationNotFoundException extends RuntimeException {
+
+    /**
+     * Crea una nueva excepción de reserva no encontrada.
+     *
+     * @param reservationId identificador de la reserva
+     */
+    public ReservationNotFoundException(String reservationId) {
+        super("Reservation not found: " + reservationId);
+    }
+}
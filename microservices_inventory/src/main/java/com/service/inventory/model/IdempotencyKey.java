@@ -0,0 +1,123 @@
+package com.service.inventory.model;
+
+import com.service.inventory.dto.PurchaseResponseDTO;
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Clave de idempotencia de una compra ({@code Idempotency-Key}) y la
+ * respuesta que se devolvió.
+ *
+ * <p>
+ * Se inserta en la misma transacción que el descuento de stock: si la
+ * compra se revierte, la clave tampoco queda registrada, y dos peticiones
+ * concurrentes con la misma clave no pueden confirmar ambas (clave primaria).
+ * Las filas se eliminan pasado {@code inventory.idempotency.ttl} desde
+ * {@code created_at}.
+ * </p>
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at"))
+public class IdempotencyKey implements Persistable<String> {
+
+    /**
+     * Valor de la cabecera {@code Idempotency-Key}.
+     */
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String key;
+
+    /**
+     * Producto de la compra original.
+     */
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    /**
+     * Cantidad de la compra original.
+     */
+    @Column(nullable = false)
+    private Integer amount;
+
+    /**
+     * Stock restante devuelto en la respuesta original.
+     */
+    @Column(name = "remaining_quantity", nullable = false)
+    private Integer remainingQuantity;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Las claves solo se insertan: {@code save} hace {@code persist} sin
+     * consultar antes si la fila existe.
+     */
+    @Transient
+    private boolean isNew = true;
+
+    /**
+     * Constructor por defecto requerido por JPA.
+     */
+    protected IdempotencyKey() {
+    }
+
+    public IdempotencyKey(String key, Long productId, Integer amount, Integer remainingQuantity, Instant createdAt) {
+        this.key = key;
+        this.productId = productId;
+        this.amount = amount;
+        this.remainingQuantity = remainingQuantity;
+        this.createdAt = createdAt;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    /**
+     * Indica si la clave se usó para la misma compra.
+     *
+     * @param productId producto solicitado
+     * @param amount    cantidad solicitada
+     * @return {@code true} si coinciden producto y cantidad
+     */
+    public boolean matches(Long productId, Integer amount) {
+        return this.productId.equals(productId) && this.amount.equals(amount);
+    }
+
+    /**
+     * Respuesta de la compra original.
+     */
+    public PurchaseResponseDTO toResponse() {
+        return new PurchaseResponseDTO(productId, amount, remainingQuantity, null);
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Integer getAmount() {
+        return amount;
+    }
+
+    public Integer getRemainingQuantity() {
+        return remainingQuantity;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -3,6 +3,8 @@ package com.service.inventory.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Entidad que representa el inventario de un producto.
@@ -12,16 +14,35 @@ import jakarta.validation.constraints.PositiveOrZero;
  * Este microservicio es el dueño del inventario y responsable de mantener
  * la consistencia del stock.
  * </p>
+ *
+ * <p>
+ * {@code quantity} es el stock físico; {@code reserved}, la parte retenida
+ * por reservas activas. Solo se vende {@code quantity - reserved}. Los
+ * {@code UPDATE} de la entidad escriben solo las columnas modificadas, de
+ * modo que fijar la cantidad no pisa un {@code reserved} actualizado por
+ * una sentencia concurrente.
+ * </p>
  */
 @Entity
 @Table(name = "inventory")
+@DynamicUpdate
 public class Inventory {
 
+    /**
+     * Stock disponible por debajo del cual un producto se considera con poco
+     * stock. Debe coincidir con el predicado del índice parcial
+     * {@code idx_inventory_low_stock} (migración {@code V1__initial_schema.sql}).
+     */
+    public static final int LOW_STOCK_THRESHOLD = 10;
+
     /**
      * Identificador único del registro de inventario.
+     * Se genera con la secuencia {@code inventory_seq} reservando bloques
+     * de 50 valores, lo que permite agrupar las inserciones en lotes JDBC.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_seq")
+    @SequenceGenerator(name = "inventory_seq", sequenceName = "inventory_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -39,6 +60,15 @@ public class Inventory {
     @Column(nullable = false)
     private Integer quantity;
 
+    /**
+     * Unidades retenidas por reservas activas (incluidas en {@code quantity}).
+     */
+    @NotNull
+    @PositiveOrZero
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer reserved = 0;
+
     /**
      * Constructor por defecto requerido por JPA.
      */
@@ -56,6 +86,20 @@ public class Inventory {
         this.quantity = quantity;
     }
 
+    /**
+     * Crea una copia no gestionada de un registro de inventario, usada
+     * para responder con la cantidad mantenida en memoria.
+     *
+     * @param id        identificador del registro
+     * @param productId identificador del producto
+     * @param quantity  cantidad disponible
+     */
+    public Inventory(Long id, Long productId, Integer quantity) {
+        this.id = id;
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
     // ---------- Getters y Setters ----------
 
     public Long getId() {
@@ -70,6 +114,17 @@ public class Inventory {
         return quantity;
     }
 
+    public Integer getReserved() {
+        return reserved;
+    }
+
+    /**
+     * Cantidad que se puede vender o reservar: stock menos reservas activas.
+     */
+    public int getAvailable() {
+        return quantity - reserved;
+    }
+
     public void setProductId(Long productId) {
         this.productId = productId;
     }
@@ -0,0 +1,54 @@
+package com.service.inventory.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Punto de control de un diario (journal) local de escritura diferida.
+ *
+ * <p>
+ * Registra el último segmento del diario cuyos descuentos ya se aplicaron
+ * en la base de datos. Se actualiza en la misma transacción que los
+ * descuentos, de modo que tras una caída solo se reproducen los segmentos
+ * posteriores y ningún descuento se aplica dos veces.
+ * </p>
+ */
+@Entity
+@Table(name = "journal_checkpoint")
+public class JournalCheckpoint {
+
+    /**
+     * Nombre del diario.
+     */
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    /**
+     * Último segmento aplicado en la base de datos.
+     */
+    @Column(nullable = false)
+    private Long segment;
+
+    /**
+     * Constructor por defecto requerido por JPA.
+     */
+    protected JournalCheckpoint() {
+    }
+
+    public JournalCheckpoint(String name, Long segment) {
+        this.name = name;
+        this.segment = segment;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Long getSegment() {
+        return segment;
+    }
+
+    public void setSegment(Long segment) {
+        this.segment = segment;
+    }
+}
@@ -0,0 +1,121 @@
+package com.service.inventory.model;
+
+import com.service.inventory.dto.ProductDTO;
+import com.service.inventory.dto.ProductEventDTO;
+import jakarta.persistence.*;
+
+import java.util.Optional;
+
+/**
+ * Réplica local de un producto del catálogo de products-service.
+ *
+ * <p>
+ * Se mantiene a partir del feed de eventos de producto
+ * ({@code GET /products/events}). Los productos eliminados se conservan
+ * como marca de borrado ({@code deleted}), de modo que un evento antiguo
+ * recibido tarde no pueda volver a crearlos.
+ * </p>
+ */
+@Entity
+@Table(name = "known_products")
+public class KnownProduct {
+
+    /**
+     * Identificador del producto en products-service.
+     */
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(length = 100)
+    private String name;
+
+    private Double price;
+
+    @Column(length = 255)
+    private String description;
+
+    /**
+     * Marca de borrado: el producto existió y fue eliminado.
+     */
+    @Column(nullable = false)
+    private boolean deleted;
+
+    /**
+     * ID del último evento aplicado; los eventos anteriores se ignoran.
+     */
+    @Column(name = "last_event_id", nullable = false)
+    private Long lastEventId;
+
+    /**
+     * Constructor por defecto requerido por JPA.
+     */
+    protected KnownProduct() {
+    }
+
+    public KnownProduct(Long productId) {
+        this.productId = productId;
+    }
+
+    /**
+     * Aplica un evento de producto.
+     *
+     * @param event evento con el estado completo del producto
+     * @return {@code true} si se aplicó; {@code false} si era anterior al último aplicado
+     */
+    public boolean apply(ProductEventDTO event) {
+        if (lastEventId != null && lastEventId >= event.getId()) {
+            return false;
+        }
+        this.name = event.getName();
+        this.price = event.getPrice();
+        this.description = event.getDescription();
+        this.deleted = event.isDeleted();
+        this.lastEventId = event.getId();
+        return true;
+    }
+
+    /**
+     * Aplica el estado de un producto leído de la exportación completa del catálogo.
+     *
+     * @param product     producto exportado
+     * @param asOfEventId ID de evento al que corresponde la exportación
+     */
+    public void applySnapshot(ProductDTO product, long asOfEventId) {
+        if (lastEventId != null && lastEventId > asOfEventId) {
+            return;
+        }
+        this.name = product.getName();
+        this.price = product.getPrice();
+        this.description = product.getDescription();
+        this.deleted = false;
+        this.lastEventId = asOfEventId;
+    }
+
+    /**
+     * @return el producto, o {@link Optional#empty()} si fue eliminado
+     */
+    public Optional<ProductDTO> toProduct() {
+        if (deleted) {
+            return Optional.empty();
+        }
+        ProductDTO product = new ProductDTO();
+        product.setId(productId);
+        product.setName(name);
+        product.setPrice(price);
+        product.setDescription(description);
+        return Optional.of(product);
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public Long getLastEventId() {
+        return lastEventId;
+    }
+}
@@ -0,0 +1,53 @@
+package com.service.inventory.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Punto de control de la réplica de un feed de eventos.
+ *
+ * <p>
+ * Registra el ID de evento hasta el que se han aplicado todos los
+ * eventos sin huecos. Se actualiza en la misma transacción que los
+ * cambios de la réplica; al reiniciar, el feed se lee desde este punto.
+ * </p>
+ */
+@Entity
+@Table(name = "replication_checkpoint")
+public class ReplicationCheckpoint {
+
+    /**
+     * Nombre del feed replicado.
+     */
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    /**
+     * Último ID de evento aplicado sin huecos.
+     */
+    @Column(name = "last_event_id", nullable = false)
+    private Long lastEventId;
+
+    /**
+     * Constructor por defecto requerido por JPA.
+     */
+    protected ReplicationCheckpoint() {
+    }
+
+    public ReplicationCheckpoint(String name, Long lastEventId) {
+        this.name = name;
+        this.lastEventId = lastEventId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Long getLastEventId() {
+        return lastEventId;
+    }
+
+    public void setLastEventId(Long lastEventId) {
+        this.lastEventId = lastEventId;
+    }
+}
@@ -0,0 +1,122 @@
+package com.service.inventory.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Reserva temporal de stock de un producto.
+ *
+ * <p>
+ * Mientras está activa, sus unidades se suman a {@code reserved} en la fila
+ * de {@link Inventory} y no pueden venderse. Termina al confirmarse (las
+ * unidades se descuentan del stock), al liberarse o al caducar
+ * ({@code expires_at}); en los dos últimos casos las unidades vuelven a
+ * estar disponibles. El índice sobre {@code (status, expires_at)} permite
+ * localizar las reservas caducadas sin recorrer la tabla.
+ * </p>
+ */
+@Entity
+@Table(name = "reservations", indexes = @Index(name = "idx_reservations_status_expires_at", columnList = "status, expires_at"))
+public class Reservation implements Persistable<String> {
+
+    public enum Status {
+        ACTIVE, CONFIRMED, RELEASED, EXPIRED
+    }
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Las reservas nuevas se insertan sin consultar antes si existen.
+     */
+    @Transient
+    private boolean isNew = true;
+
+    /**
+     * Constructor por defecto requerido por JPA.
+     */
+    protected Reservation() {
+    }
+
+    public Reservation(String id, Long productId, Integer amount, Instant createdAt, Instant expiresAt) {
+        this.id = id;
+        this.productId = productId;
+        this.amount = amount;
+        this.status = Status.ACTIVE;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Integer getAmount() {
+        return amount;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Indica si una reserva activa ya superó su plazo.
+     *
+     * @param now instante actual
+     */
+    public boolean isExpiredAt(Instant now) {
+        return status == Status.ACTIVE && !expiresAt.isAfter(now);
+    }
+
+    /**
+     * Cambia el estado de una reserva activa.
+     *
+     * @param status estado final
+     */
+    public void finish(Status status) {
+        this.status = status;
+    }
+}
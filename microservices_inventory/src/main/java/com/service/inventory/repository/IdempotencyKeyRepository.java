@@ -0,0 +1,26 @@
+package com.service.inventory.repository;
+
+import com.service.inventory.model.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+/**
+ * Repositorio JPA para la entidad {@link IdempotencyKey}.
+ */
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    /**
+     * Elimina las claves creadas antes de un instante, con una única
+     * sentencia sobre el índice de {@code created_at}.
+     *
+     * @param cutoff instante límite
+     * @return número de claves eliminadas
+     */
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -1,8 +1,17 @@
 package com.service.inventory.repository;
 
+import com.service.inventory.dto.InventoryResponseDTO;
 import com.service.inventory.model.Inventory;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -10,10 +19,11 @@ import java.util.Optional;
  *
  * <p>
  * Proporciona operaciones CRUD básicas y consultas específicas
- * relacionadas con el inventario de productos.
+ * relacionadas con el inventario de productos. El descuento de stock con
+ * {@code RETURNING} está en {@link StockDecrementRepository}.
  * </p>
  */
-public interface InventoryRepository extends JpaRepository<Inventory, Long> {
+public interface InventoryRepository extends JpaRepository<Inventory, Long>, StockDecrementRepository {
 
     /**
      * Busca el inventario asociado a un producto específico.
@@ -23,4 +33,115 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
      *         o {@link Optional#empty()} si no se encuentra
      */
     Optional<Inventory> findByProductId(Long productId);
+
+    /**
+     * Obtiene el inventario de un producto directamente como
+     * {@link InventoryResponseDTO}, sin cargar la entidad en el contexto de
+     * persistencia.
+     *
+     * @param productId identificador del producto
+     * @return respuesta de inventario, o vacío si no existe
+     */
+    @Query("select new com.service.inventory.dto.InventoryResponseDTO(i.id, i.productId, i.quantity, i.reserved) "
+            + "from Inventory i where i.productId = :productId")
+    Optional<InventoryResponseDTO> findResponseByProductId(@Param("productId") Long productId);
+
+    /**
+     * Obtiene los inventarios con stock disponible por debajo de
+     * {@link Inventory#LOW_STOCK_THRESHOLD}, de menor a mayor disponible.
+     * El predicado coincide con el del índice parcial
+     * {@code idx_inventory_low_stock}, que sirve la consulta sin recorrer la tabla.
+     *
+     * @param limit número máximo de resultados
+     * @return respuestas de inventario ordenadas por disponible y producto
+     */
+    @Query("select new com.service.inventory.dto.InventoryResponseDTO(i.id, i.productId, i.quantity, i.reserved) "
+            + "from Inventory i where i.quantity - i.reserved < " + Inventory.LOW_STOCK_THRESHOLD
+            + " order by i.quantity - i.reserved, i.productId")
+    List<InventoryResponseDTO> findLowStock(Limit limit);
+
+    /**
+     * Busca el inventario de varios productos en una sola consulta.
+     *
+     * @param productIds identificadores de los productos
+     * @return inventarios encontrados
+     */
+    List<Inventory> findByProductIdIn(Collection<Long> productIds);
+
+    /**
+     * Carga y bloquea ({@code SELECT ... FOR UPDATE}) el inventario de varios
+     * productos, en orden ascendente de {@code productId} como el resto de
+     * rutas que bloquean varias filas.
+     *
+     * @param productIds identificadores de los productos
+     * @return inventarios encontrados, ordenados por {@code productId}
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Inventory i where i.productId in :productIds order by i.productId")
+    List<Inventory> findForUpdateByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Indica si existe inventario registrado para un producto.
+     *
+     * @param productId identificador del producto
+     * @return {@code true} si existe inventario
+     */
+    boolean existsByProductId(Long productId);
+
+    /**
+     * Busca y bloquea ({@code SELECT ... FOR UPDATE}) el inventario de un producto.
+     *
+     * @param productId identificador del producto
+     * @return el inventario bloqueado hasta el final de la transacción, si existe
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Inventory> findWithLockByProductId(Long productId);
+
+    /**
+     * Retiene stock para una reserva con la misma condición que
+     * {@link #decreaseIfAvailable}.
+     *
+     * @param productId identificador del producto
+     * @param amount    cantidad a reservar
+     * @return 1 si se reservó, 0 si no hay inventario o el stock disponible es insuficiente
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Inventory i set i.reserved = i.reserved + :amount " +
+            "where i.productId = :productId and i.quantity - i.reserved >= :amount")
+    int reserveIfAvailable(@Param("productId") Long productId, @Param("amount") int amount);
+
+    /**
+     * Confirma una reserva: descuenta del stock las unidades retenidas.
+     *
+     * @param productId identificador del producto
+     * @param amount    unidades de la reserva
+     * @return número de filas afectadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Inventory i set i.quantity = i.quantity - :amount, i.reserved = i.reserved - :amount " +
+            "where i.productId = :productId")
+    int confirmReserved(@Param("productId") Long productId, @Param("amount") int amount);
+
+    /**
+     * Libera unidades retenidas por reservas canceladas o caducadas.
+     *
+     * @param productId identificador del producto
+     * @param amount    unidades a liberar
+     * @return número de filas afectadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Inventory i set i.reserved = i.reserved - :amount where i.productId = :productId")
+    int releaseReserved(@Param("productId") Long productId, @Param("amount") int amount);
+
+    /**
+     * Aplica sin condición un descuento acumulado. Lo usa el modo de
+     * productos de alta demanda, cuyo stock ya se validó en memoria.
+     *
+     * @param productId identificador del producto
+     * @param delta     cantidad acumulada a descontar (negativa para devolver)
+     * @return número de filas afectadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Inventory i set i.quantity = i.quantity - :delta where i.productId = :productId")
+    int applyDelta(@Param("productId") Long productId, @Param("delta") int delta);
 }
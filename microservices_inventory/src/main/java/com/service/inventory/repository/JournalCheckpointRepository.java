@@ -0,0 +1,10 @@
+package com.service.inventory.repository;
+
+import com.service.inventory.model.JournalCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repositorio JPA para la entidad {@link JournalCheckpoint}.
+ */
+public interface JournalCheckpointRepository extends JpaRepository<JournalCheckpoint, String> {
+}
@@ -0,0 +1,25 @@
+package com.service.inventory.repository;
+
+import com.service.inventory.model.KnownProduct;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Repositorio JPA para la entidad {@link KnownProduct}.
+ */
+public interface KnownProductRepository extends JpaRepository<KnownProduct, Long> {
+
+    /**
+     * Marca como eliminados los productos que no aparecen en una exportación
+     * completa del catálogo: los que no se han actualizado hasta su ID de evento.
+     *
+     * @param asOfEventId ID de evento al que corresponde la exportación
+     * @return número de productos marcados
+     */
+    @Modifying
+    @Query("update KnownProduct k set k.deleted = true, k.lastEventId = :asOfEventId "
+            + "where k.lastEventId < :asOfEventId and k.deleted = false")
+    int markDeletedBefore(@Param("asOfEventId") long asOfEventId);
+}
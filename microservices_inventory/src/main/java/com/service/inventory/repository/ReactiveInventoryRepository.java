@@ -0,0 +1,126 @@
+package com.service.inventory.repository;
+
+import com.service.inventory.dto.InventoryResponseDTO;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Operaciones de {@link InventoryRepository} sobre R2DBC para el modo
+ * reactivo (perfil {@code reactive}). Trabaja sobre la misma tabla
+ * {@code inventory} que la entidad JPA.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveInventoryRepository {
+
+    private final DatabaseClient client;
+
+    public ReactiveInventoryRepository(DatabaseClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Obtiene el inventario de un producto.
+     *
+     * @param productId identificador del producto
+     * @return respuesta de inventario, o vacío si no existe
+     */
+    public Mono<InventoryResponseDTO> findResponseByProductId(Long productId) {
+        return client.sql("select id, product_id, quantity, reserved from inventory where product_id = :productId")
+                .bind("productId", productId)
+                .map((row, metadata) -> new InventoryResponseDTO(
+                        row.get("id", Long.class),
+                        row.get("product_id", Long.class),
+                        row.get("quantity", Integer.class),
+                        row.get("reserved", Integer.class)))
+                .one();
+    }
+
+    /**
+     * Obtiene la cantidad disponible de varios productos.
+     *
+     * @param productIds identificadores de los productos
+     * @return pares producto/cantidad de los inventarios encontrados
+     */
+    public Flux<InventoryResponseDTO> findResponsesByProductIdIn(Collection<Long> productIds) {
+        return client.sql("select id, product_id, quantity, reserved from inventory where product_id in (:productIds)")
+                .bind("productIds", productIds)
+                .map((row, metadata) -> new InventoryResponseDTO(
+                        row.get("id", Long.class),
+                        row.get("product_id", Long.class),
+                        row.get("quantity", Integer.class),
+                        row.get("reserved", Integer.class)))
+                .all();
+    }
+
+    /**
+     * Indica si existe inventario registrado para un producto.
+     *
+     * @param productId identificador del producto
+     * @return {@code true} si existe inventario
+     */
+    public Mono<Boolean> existsByProductId(Long productId) {
+        return client.sql("select 1 from inventory where product_id = :productId")
+                .bind("productId", productId)
+                .map((row, metadata) -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    /**
+     * Descuenta stock con la misma sentencia condicional que
+     * {@link InventoryRepository#decreaseIfAvailable}.
+     *
+     * @param productId identificador del producto
+     * @param amount    cantidad a descontar
+     * @return filas afectadas: 1 si se descontó, 0 si no hay inventario o el stock es insuficiente
+     */
+    public Mono<Long> decreaseIfAvailable(Long productId, int amount) {
+        return client.sql("update inventory set quantity = quantity - :amount "
+                        + "where product_id = :productId and quantity - reserved >= :amount")
+                .bind("amount", amount)
+                .bind("productId", productId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Fija la cantidad de un inventario existente, siempre que no quede por
+     * debajo de las unidades reservadas.
+     *
+     * @param productId identificador del producto
+     * @param quantity  nueva cantidad
+     * @return filas afectadas: 0 si no hay inventario o la cantidad es menor que la reservada
+     */
+    public Mono<Long> updateQuantity(Long productId, int quantity) {
+        return client.sql("update inventory set quantity = :quantity "
+                        + "where product_id = :productId and reserved <= :quantity")
+                .bind("quantity", quantity)
+                .bind("productId", productId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Crea el inventario de un producto. El ID se toma de {@code inventory_seq}:
+     * Hibernate usa cada valor de la secuencia como límite superior de un bloque
+     * que solo él reparte, por lo que el propio valor no colisiona con sus IDs.
+     *
+     * @param productId identificador del producto
+     * @param quantity  cantidad inicial
+     * @return filas insertadas
+     */
+    public Mono<Long> insert(Long productId, int quantity) {
+        return client.sql("insert into inventory (id, product_id, quantity) "
+                        + "values (nextval('inventory_seq'), :productId, :quantity)")
+                .bind("productId", productId)
+                .bind("quantity", quantity)
+                .fetch()
+                .rowsUpdated();
+    }
+}
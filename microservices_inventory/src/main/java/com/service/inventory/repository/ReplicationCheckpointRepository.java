@@ -0,0 +1,10 @@
+package com.service.inventory.repository;
+
+import com.service.inventory.model.ReplicationCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repositorio JPA para la entidad {@link ReplicationCheckpoint}.
+ */
+public interface ReplicationCheckpointRepository extends JpaRepository<ReplicationCheckpoint, String> {
+}
@@ -0,0 +1,49 @@
+package com.service.inventory.repository;
+
+import com.service.inventory.model.Reservation;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio JPA para la entidad {@link Reservation}.
+ */
+public interface ReservationRepository extends JpaRepository<Reservation, String> {
+
+    /**
+     * Busca y bloquea una reserva, para que confirmarla, liberarla o
+     * caducarla no se solapen.
+     *
+     * @param id identificador de la reserva
+     * @return la reserva bloqueada hasta el final de la transacción, si existe
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from Reservation r where r.id = :id")
+    Optional<Reservation> findForUpdateById(@Param("id") String id);
+
+    /**
+     * Obtiene y bloquea las reservas activas caducadas más antiguas, por el
+     * índice de {@code (status, expires_at)}. Las filas ya bloqueadas por
+     * otra transacción (una confirmación en curso, otra instancia barriendo)
+     * se saltan ({@code SKIP LOCKED}, tiempo de bloqueo -2 en Hibernate).
+     *
+     * @param status estado de las reservas ({@code ACTIVE})
+     * @param now    instante actual
+     * @param limit  número máximo de reservas
+     * @return reservas caducadas, de la más antigua a la más reciente
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select r from Reservation r where r.status = :status and r.expiresAt <= :now order by r.expiresAt")
+    List<Reservation> findExpiredForUpdate(
+            @Param("status") Reservation.Status status, @Param("now") Instant now, Limit limit);
+}
@@ -0,0 +1,27 @@
+package com.service.inventory.repository;
+
+import com.service.inventory.model.Inventory;
+
+import java.util.Optional;
+
+/**
+ * Descuento condicional de stock que devuelve la cantidad resultante en la
+ * misma sentencia. Forma parte de {@link InventoryRepository}.
+ */
+public interface StockDecrementRepository {
+
+    /**
+     * Descuenta stock de forma atómica con una única sentencia condicional:
+     * la fila solo se actualiza si la cantidad disponible (sin las unidades
+     * reservadas) es suficiente, por lo que compras concurrentes no pueden
+     * dejar el stock en negativo ni perder actualizaciones. La cantidad
+     * restante se obtiene del propio {@code UPDATE} ({@code RETURNING} en
+     * PostgreSQL), sin una segunda consulta.
+     *
+     * @param productId identificador del producto
+     * @param amount    cantidad a descontar
+     * @return copia no gestionada del inventario con la cantidad restante, o
+     *         vacío si no hay inventario o el stock es insuficiente
+     */
+    Optional<Inventory> decreaseIfAvailable(Long productId, int amount);
+}
@@ -0,0 +1,55 @@
+package com.service.inventory.repository;
+
+import com.service.inventory.model.Inventory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Optional;
+
+/**
+ * Implementación de {@link StockDecrementRepository} sobre la conexión JDBC
+ * de la transacción en curso.
+ *
+ * <p>
+ * Las columnas a devolver se piden con
+ * {@link java.sql.Connection#prepareStatement(String, String[])}: el driver
+ * de PostgreSQL lo traduce a {@code UPDATE ... RETURNING id, quantity} y H2
+ * (benchmarks y pruebas) devuelve las mismas columnas como claves generadas.
+ * </p>
+ */
+class StockDecrementRepositoryImpl implements StockDecrementRepository {
+
+    private static final String DECREASE_IF_AVAILABLE = "update inventory set quantity = quantity - ? "
+            + "where product_id = ? and quantity - reserved >= ?";
+
+    private static final String[] RETURNED_COLUMNS = {"id", "quantity"};
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Inventory> decreaseIfAvailable(Long productId, int amount) {
+        Session session = entityManager.unwrap(Session.class);
+        // Como un @Modifying(flushAutomatically = true, clearAutomatically = true)
+        session.flush();
+        Optional<Inventory> updated = session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(DECREASE_IF_AVAILABLE, RETURNED_COLUMNS)) {
+                statement.setInt(1, amount);
+                statement.setLong(2, productId);
+                statement.setInt(3, amount);
+                if (statement.executeUpdate() == 0) {
+                    return Optional.empty();
+                }
+                try (ResultSet returned = statement.getGeneratedKeys()) {
+                    returned.next();
+                    return Optional.of(new Inventory(returned.getLong(1), productId, returned.getInt(2)));
+                }
+            }
+        });
+        session.clear();
+        return updated;
+    }
+}
@@ -0,0 +1,398 @@
+package com.service.inventory.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.service.inventory.client.ProductCache;
+import com.service.inventory.dto.AsyncPurchaseDTO;
+import com.service.inventory.dto.AsyncPurchaseDTO.Status;
+import com.service.inventory.dto.ProductDTO;
+import com.service.inventory.exception.AsyncPurchaseNotFoundException;
+import com.service.inventory.exception.InsufficientInventoryException;
+import com.service.inventory.exception.InventoryNotFoundException;
+import com.service.inventory.exception.ProductNotFoundException;
+import com.service.inventory.exception.PurchaseQueueFullException;
+import com.service.inventory.model.Inventory;
+import com.service.inventory.repository.InventoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compras asíncronas con commit en grupo ({@code Prefer: respond-async}).
+ *
+ * <p>
+ * Cada compra se encola en una cola acotada, elegida por {@code productId}
+ * entre {@code inventory.async-purchases.partitions}, y se responde de
+ * inmediato con un identificador para consultar su estado. Un hilo por
+ * partición toma hasta {@code batch-size} compras y las aplica en una sola
+ * transacción:
+ * <ul>
+ *   <li>Los productos del lote se verifican con una consulta por lote a la
+ *       caché de productos, fuera de la transacción.</li>
+ *   <li>Las filas de inventario se bloquean con un único
+ *       {@code SELECT ... FOR UPDATE} en orden de {@code productId}.</li>
+ *   <li>Las compras se asignan en orden de llegada; las que no tienen stock
+ *       suficiente se rechazan sin afectar al resto del lote.</li>
+ *   <li>Las cantidades resultantes se escriben en un lote JDBC de
+ *       {@code UPDATE} (uno por producto, no uno por compra).</li>
+ * </ul>
+ * Así, una ráfaga de compras ocupa una conexión del pool por partición en
+ * lugar de una por petición. Los productos de alta demanda se descuentan
+ * en memoria con {@link HotStockService}.
+ * </p>
+ *
+ * <p>
+ * Contrapresión: con la cola de la partición llena la compra se rechaza con
+ * {@link PurchaseQueueFullException} (429). Las compras encoladas viven solo
+ * en memoria: si la instancia cae antes de aplicarlas se pierden, y su
+ * consulta de estado responde 404.
+ * </p>
+ */
+@Service
+public class AsyncPurchaseService {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncPurchaseService.class);
+
+    private final InventoryRepository repository;
+    private final ProductCache productCache;
+    private final HotStockService hotStock;
+    private final PurchaseMetrics purchaseMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final int partitionCount;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final Duration maxWait;
+
+    /**
+     * Compras por identificador, pendientes o terminadas, hasta que caduca su estado.
+     */
+    private final Cache<String, AsyncPurchase> purchases;
+
+    private Partition[] partitions;
+    private volatile boolean running;
+    private DistributionSummary batchSizes;
+    private Timer batchTimer;
+    private Counter queueFull;
+
+    public AsyncPurchaseService(
+            InventoryRepository repository,
+            ProductCache productCache,
+            HotStockService hotStock,
+            PurchaseMetrics purchaseMetrics,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${inventory.async-purchases.enabled:false}") boolean enabled,
+            @Value("${inventory.async-purchases.partitions:4}") int partitionCount,
+            @Value("${inventory.async-purchases.queue-capacity:5000}") int queueCapacity,
+            @Value("${inventory.async-purchases.batch-size:200}") int batchSize,
+            @Value("${inventory.async-purchases.status-ttl:10m}") Duration statusTtl,
+            @Value("${inventory.async-purchases.status-max-size:100000}") long statusMaxSize,
+            @Value("${inventory.async-purchases.max-wait:25s}") Duration maxWait
+    ) {
+        this.repository = repository;
+        this.productCache = productCache;
+        this.hotStock = hotStock;
+        this.purchaseMetrics = purchaseMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.partitionCount = partitionCount;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.maxWait = maxWait;
+        this.purchases = Caffeine.newBuilder()
+                .maximumSize(statusMaxSize)
+                .expireAfterWrite(statusTtl)
+                .build();
+    }
+
+    /**
+     * Crea las colas y arranca un hilo por partición.
+     */
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        batchSizes = DistributionSummary.builder("inventory.async_purchases.batch.size")
+                .description("Compras aplicadas por transacción")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        batchTimer = Timer.builder("inventory.async_purchases.batch")
+                .description("Duración de la aplicación de un lote de compras")
+                .register(meterRegistry);
+        queueFull = Counter.builder("inventory.async_purchases.rejected")
+                .description("Compras rechazadas con 429 por cola llena")
+                .register(meterRegistry);
+
+        running = true;
+        partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            Partition partition = new Partition(i, new ArrayBlockingQueue<>(queueCapacity));
+            Gauge.builder("inventory.async_purchases.queue.depth", partition.queue, BlockingQueue::size)
+                    .description("Compras asíncronas en cola")
+                    .tag("partition", String.valueOf(i))
+                    .register(meterRegistry);
+            partition.worker.start();
+            partitions[i] = partition;
+        }
+    }
+
+    /**
+     * Deja de aceptar compras, aplica las que quedan en cola y detiene los hilos.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        for (Partition partition : partitions) {
+            partition.worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    /**
+     * Indica si el modo asíncrono está activo.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Encola una compra.
+     *
+     * @param productId identificador del producto
+     * @param amount    cantidad a comprar
+     * @return estado inicial ({@link Status#PENDING}) con el identificador de la compra
+     * @throws PurchaseQueueFullException si la cola de la partición está llena
+     */
+    public AsyncPurchaseDTO submit(Long productId, Integer amount) {
+        if (!running) {
+            throw new IllegalStateException("Async purchases are not enabled");
+        }
+        AsyncPurchase purchase = new AsyncPurchase(UUID.randomUUID().toString(), productId, amount);
+        // Registrada antes de encolar: el hilo de la partición puede terminarla de inmediato
+        purchases.put(purchase.id, purchase);
+        if (!partitionOf(productId).queue.offer(purchase)) {
+            purchases.invalidate(purchase.id);
+            queueFull.increment();
+            throw new PurchaseQueueFullException(productId);
+        }
+        return purchase.pending();
+    }
+
+    /**
+     * Espera a que una compra termine, como mucho {@code wait}
+     * (limitado a {@code inventory.async-purchases.max-wait}).
+     *
+     * @param purchaseId identificador de la compra
+     * @param wait       espera máxima; cero para responder con el estado actual
+     * @return estado de la compra al terminar o al agotar la espera
+     * @throws AsyncPurchaseNotFoundException si la compra no existe o su estado caducó
+     */
+    public CompletableFuture<AsyncPurchaseDTO> await(String purchaseId, Duration wait) {
+        AsyncPurchase purchase = purchases.getIfPresent(purchaseId);
+        if (purchase == null) {
+            throw new AsyncPurchaseNotFoundException(purchaseId);
+        }
+        if (purchase.result.isDone() || wait.isZero() || wait.isNegative()) {
+            return CompletableFuture.completedFuture(purchase.status());
+        }
+        long waitMillis = Math.min(wait.toMillis(), maxWait.toMillis());
+        return purchase.result.copy().completeOnTimeout(purchase.pending(), waitMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // ===================== Internos =====================
+
+    private Partition partitionOf(Long productId) {
+        return partitions[Math.floorMod(productId.hashCode(), partitions.length)];
+    }
+
+    private void drainLoop(BlockingQueue<AsyncPurchase> queue) {
+        List<AsyncPurchase> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AsyncPurchase first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("Async purchase batch failed: {}", ex.toString());
+                batch.forEach(purchase -> finish(purchase, null, ex));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Aplica un lote de compras de una partición.
+     */
+    private void process(List<AsyncPurchase> batch) {
+        batchSizes.record(batch.size());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Map<Long, Optional<ProductDTO>> products = productCache.findAll(
+                    batch.stream().map(purchase -> purchase.productId).distinct().toList());
+
+            List<AsyncPurchase> database = new ArrayList<>(batch.size());
+            for (AsyncPurchase purchase : batch) {
+                if (products.getOrDefault(purchase.productId, Optional.empty()).isEmpty()) {
+                    finish(purchase, null, new ProductNotFoundException(purchase.productId));
+                } else if (hotStock.isHot(purchase.productId)) {
+                    decreaseHot(purchase);
+                } else {
+                    database.add(purchase);
+                }
+            }
+            if (!database.isEmpty()) {
+                decreaseInTransaction(database);
+            }
+        } finally {
+            sample.stop(batchTimer);
+        }
+    }
+
+    private void decreaseHot(AsyncPurchase purchase) {
+        // Fuera de transacción: si el diario falla, HotStockService devuelve el descuento
+        // antes de lanzar la excepción y la compra termina como FAILED
+        try {
+            finish(purchase, hotStock.decrease(purchase.productId, purchase.amount).getQuantity(), null);
+        } catch (RuntimeException ex) {
+            finish(purchase, null, ex);
+        }
+    }
+
+    /**
+     * Asigna el stock de las compras en orden de llegada y guarda las
+     * cantidades resultantes en una única transacción. Si la transacción
+     * falla, todas las compras del lote terminan como {@link Status#FAILED}.
+     */
+    private void decreaseInTransaction(List<AsyncPurchase> batch) {
+        Map<AsyncPurchase, Integer> completed = new LinkedHashMap<>();
+        Map<AsyncPurchase, RuntimeException> rejected = new LinkedHashMap<>();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, Inventory> inventories = new HashMap<>();
+            TreeSet<Long> productIds = new TreeSet<>();
+            batch.forEach(purchase -> productIds.add(purchase.productId));
+            for (Inventory inventory : repository.findForUpdateByProductIdIn(productIds)) {
+                inventories.put(inventory.getProductId(), inventory);
+            }
+
+            for (AsyncPurchase purchase : batch) {
+                Inventory inventory = inventories.get(purchase.productId);
+                if (inventory == null) {
+                    rejected.put(purchase, new InventoryNotFoundException(purchase.productId));
+                } else if (inventory.getAvailable() < purchase.amount) {
+                    rejected.put(purchase, new InsufficientInventoryException(purchase.productId));
+                } else {
+                    // Entidad gestionada: el UPDATE se emite al confirmar, uno por producto
+                    inventory.setQuantity(inventory.getQuantity() - purchase.amount);
+                    completed.put(purchase, inventory.getQuantity());
+                }
+            }
+        });
+
+        completed.forEach((purchase, remaining) -> finish(purchase, remaining, null));
+        rejected.forEach((purchase, ex) -> finish(purchase, null, ex));
+    }
+
+    /**
+     * Termina una compra y contabiliza su resultado.
+     *
+     * @param remaining stock restante si se completó
+     * @param failure   motivo del rechazo o fallo, o {@code null} si se completó
+     */
+    private void finish(AsyncPurchase purchase, Integer remaining, RuntimeException failure) {
+        if (purchase.result.isDone()) {
+            return;
+        }
+        Status status = failure == null ? Status.COMPLETED
+                : isRejection(failure) ? Status.REJECTED
+                : Status.FAILED;
+        purchase.result.complete(new AsyncPurchaseDTO(purchase.id, status, purchase.productId, purchase.amount,
+                remaining, failure == null ? null : failure.getMessage()));
+        purchaseMetrics.record(PurchaseMetrics.Type.ASYNC, failure);
+    }
+
+    private static boolean isRejection(RuntimeException failure) {
+        return failure instanceof ProductNotFoundException
+                || failure instanceof InventoryNotFoundException
+                || failure instanceof InsufficientInventoryException;
+    }
+
+    /**
+     * Cola y hilo de una partición.
+     */
+    private final class Partition {
+
+        private final BlockingQueue<AsyncPurchase> queue;
+        private final Thread worker;
+
+        private Partition(int index, BlockingQueue<AsyncPurchase> queue) {
+            this.queue = queue;
+            this.worker = new Thread(() -> drainLoop(queue), "async-purchase-" + index);
+            this.worker.setDaemon(true);
+        }
+    }
+
+    /**
+     * Compra encolada y su resultado.
+     */
+    private static final class AsyncPurchase {
+
+        private final String id;
+        private final Long productId;
+        private final Integer amount;
+        private final CompletableFuture<AsyncPurchaseDTO> result = new CompletableFuture<>();
+
+        private AsyncPurchase(String id, Long productId, Integer amount) {
+            this.id = id;
+            this.productId = productId;
+            this.amount = amount;
+        }
+
+        private AsyncPurchaseDTO pending() {
+            return new AsyncPurchaseDTO(id, Status.PENDING, productId, amount, null, null);
+        }
+
+        private AsyncPurchaseDTO status() {
+            return result.getNow(pending());
+        }
+    }
+}
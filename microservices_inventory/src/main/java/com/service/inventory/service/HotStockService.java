@@ -0,0 +1,580 @@
+package com.service.inventory.service;
+
+import com.service.inventory.exception.InsufficientInventoryException;
+import com.service.inventory.exception.InventoryNotFoundException;
+import com.service.inventory.exception.ReservationConflictException;
+import com.service.inventory.model.Inventory;
+import com.service.inventory.model.JournalCheckpoint;
+import com.service.inventory.repository.InventoryRepository;
+import com.service.inventory.repository.JournalCheckpointRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Modo de productos de alta demanda ("hot SKU") para ventas flash.
+ *
+ * <p>
+ * Para los productos marcados en {@code inventory.hot-sku.product-ids},
+ * el stock se mantiene en memoria repartido en varios contadores
+ * atómicos (stripes) que se descuentan con CAS y sin bloqueos, evitando
+ * la contención por el bloqueo de fila de PostgreSQL. Los descuentos se
+ * acumulan y se vuelcan a la base de datos en grupo cada
+ * {@code flush-interval-ms} o al alcanzar {@code flush-batch-size}
+ * registros.
+ * </p>
+ *
+ * <p>
+ * Recuperación ante caídas: cada descuento se escribe en un diario local
+ * ({@link StockJournal}) antes de confirmarse al cliente. Cada volcado
+ * rota el segmento del diario y registra en la misma transacción el último
+ * segmento aplicado ({@link JournalCheckpoint}); al arrancar se reproducen
+ * únicamente los segmentos posteriores a ese punto de control.
+ * </p>
+ *
+ * <p>
+ * Supone una única instancia de inventory-service escribiendo cada
+ * producto de alta demanda (enrutamiento fijo por producto).
+ * </p>
+ */
+@Service
+public class HotStockService {
+
+    private static final Logger log = LoggerFactory.getLogger(HotStockService.class);
+    private static final String CHECKPOINT_NAME = "hot-sku";
+
+    private final InventoryRepository repository;
+    private final JournalCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final Set<Long> hotProductIds;
+    private final int stripes;
+    private final long flushIntervalMs;
+    private final int flushBatchSize;
+    private final Path journalDirectory;
+    private final boolean journalFsync;
+
+    private final ConcurrentHashMap<Long, HotCounter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Las compras toman el bloqueo de lectura (concurrente); la rotación
+     * del diario y {@link #setQuantity} toman el de escritura.
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Serializa los volcados para que los puntos de control avancen en orden.
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final AtomicInteger unflushedRecords = new AtomicInteger();
+    private final BlockingQueue<Boolean> flushSignal = new ArrayBlockingQueue<>(1);
+
+    private StockJournal journal;
+    private Thread flusher;
+    private volatile boolean running;
+    private Timer flushTimer;
+
+    public HotStockService(
+            InventoryRepository repository,
+            JournalCheckpointRepository checkpointRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${inventory.hot-sku.enabled:false}") boolean enabled,
+            @Value("${inventory.hot-sku.product-ids:}") Set<Long> hotProductIds,
+            @Value("${inventory.hot-sku.stripes:8}") int stripes,
+            @Value("${inventory.hot-sku.flush-interval-ms:200}") long flushIntervalMs,
+            @Value("${inventory.hot-sku.flush-batch-size:500}") int flushBatchSize,
+            @Value("${inventory.hot-sku.journal-dir:./data/hot-sku-journal}") Path journalDirectory,
+            @Value("${inventory.hot-sku.journal-fsync:true}") boolean journalFsync
+    ) {
+        this.repository = repository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.hotProductIds = Set.copyOf(hotProductIds);
+        this.stripes = stripes;
+        this.flushIntervalMs = flushIntervalMs;
+        this.flushBatchSize = flushBatchSize;
+        this.journalDirectory = journalDirectory;
+        this.journalFsync = journalFsync;
+    }
+
+    /**
+     * Reproduce el diario pendiente y arranca el hilo de volcado.
+     */
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        journal = new StockJournal(journalDirectory, journalFsync);
+        recover();
+
+        flushTimer = Timer.builder("inventory.hot_sku.flush")
+                .description("Duración de los volcados de descuentos a la base de datos")
+                .register(meterRegistry);
+        Gauge.builder("inventory.hot_sku.journal.unflushed", unflushedRecords, AtomicInteger::get)
+                .description("Registros del diario aún no volcados a la base de datos")
+                .register(meterRegistry);
+        for (Long productId : hotProductIds) {
+            Gauge.builder("inventory.hot_sku.pending", this, service -> service.pendingUnits(productId))
+                    .description("Unidades descontadas en memoria pendientes de volcar")
+                    .tag("product_id", String.valueOf(productId))
+                    .register(meterRegistry);
+        }
+
+        running = true;
+        flusher = new Thread(this::flushLoop, "hot-sku-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Detiene el hilo de volcado y vuelca los descuentos pendientes.
+     */
+    @PreDestroy
+    void stop() throws IOException, InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        try {
+            flush();
+        } finally {
+            journal.close();
+        }
+    }
+
+    /**
+     * Indica si un producto se gestiona en modo de alta demanda.
+     *
+     * @param productId identificador del producto
+     * @return {@code true} si el modo está activo y el producto está marcado
+     */
+    public boolean isHot(Long productId) {
+        return enabled && hotProductIds.contains(productId);
+    }
+
+    /**
+     * Obtiene el inventario de un producto con la cantidad mantenida en memoria.
+     *
+     * @param productId identificador del producto
+     * @return copia del inventario con la cantidad disponible actual
+     * @throws InventoryNotFoundException si no hay inventario
+     */
+    public Inventory getInventory(Long productId) {
+        HotCounter counter = counter(productId);
+        return new Inventory(counter.inventoryId, productId, counter.available());
+    }
+
+    /**
+     * Descuenta stock en memoria sin bloqueos y lo registra en el diario.
+     *
+     * <p>
+     * Si el diario falla, el descuento se devuelve antes de propagar el
+     * error. Si se invoca dentro de una transacción que luego se revierte
+     * (por ejemplo, un pedido de varios productos), el descuento se
+     * devuelve al revertirse.
+     * </p>
+     *
+     * @param productId identificador del producto
+     * @param amount    cantidad a descontar
+     * @return copia del inventario con la cantidad restante
+     * @throws InventoryNotFoundException     si no hay inventario
+     * @throws InsufficientInventoryException si no hay stock suficiente
+     */
+    public Inventory decrease(Long productId, int amount) {
+        HotCounter counter;
+        StockJournal.Position position;
+
+        lock.readLock().lock();
+        try {
+            counter = counter(productId);
+            if (!counter.tryDecrease(amount)) {
+                throw new InsufficientInventoryException(productId);
+            }
+            try {
+                position = journal.append(productId, amount);
+            } catch (RuntimeException ex) {
+                // Sin registro en el diario el descuento no puede volcarse: se deshace
+                counter.restore(amount);
+                throw ex;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // La devolución se registra antes de esperar al disco: si sync falla,
+        // la transacción se revierte y el descuento ya aplicado vuelve a memoria
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        if (inTransaction) {
+            HotCounter decreased = counter;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        restore(productId, decreased, amount);
+                    }
+                }
+            });
+        }
+        try {
+            journal.sync(position);
+        } catch (RuntimeException ex) {
+            if (!inTransaction) {
+                // Sin transacción que revertir (p. ej. compras asíncronas): se devuelve aquí
+                try {
+                    restore(productId, counter, amount);
+                } catch (RuntimeException restoreFailure) {
+                    ex.addSuppressed(restoreFailure);
+                }
+            }
+            throw ex;
+        }
+        recordUnflushed();
+
+        return new Inventory(counter.inventoryId, productId, counter.available());
+    }
+
+    /**
+     * Fija la cantidad de un producto de alta demanda. Vuelca antes todos
+     * los descuentos pendientes y bloquea las compras mientras se actualiza
+     * la base de datos, para que el valor absoluto no se mezcle con
+     * descuentos anteriores o posteriores.
+     *
+     * @param productId identificador del producto
+     * @param quantity  nueva cantidad
+     * @return inventario actualizado
+     */
+    public Inventory setQuantity(Long productId, int quantity) {
+        flushLock.lock();
+        lock.writeLock().lock();
+        try {
+            flushPending();
+            Inventory saved = transactionTemplate.execute(status -> {
+                Inventory inventory = repository.findByProductId(productId)
+                        .orElseGet(() -> new Inventory(productId, 0));
+                if (quantity < inventory.getReserved()) {
+                    throw new ReservationConflictException("Quantity " + quantity + " is below the "
+                            + inventory.getReserved() + " units reserved for product " + productId);
+                }
+                inventory.setQuantity(quantity);
+                return repository.save(inventory);
+            });
+            counters.put(productId, new HotCounter(saved.getId(), saved.getAvailable(), stripes));
+            return saved;
+        } finally {
+            lock.writeLock().unlock();
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Vuelca a la base de datos los descuentos acumulados en memoria.
+     */
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // ===================== Internos =====================
+
+    /**
+     * Obtiene el contador de un producto, cargándolo la primera vez. La carga
+     * se hace en una transacción propia de lectura y escritura, aunque el
+     * llamador sea de solo lectura: con la réplica de lectura activa, el stock
+     * inicial debe salir del primario y no de una réplica con retraso que aún
+     * no tenga los últimos volcados.
+     */
+    private HotCounter counter(Long productId) {
+        return counters.computeIfAbsent(productId, id -> transactionTemplate.execute(status -> {
+            Inventory inventory = repository.findByProductId(id)
+                    .orElseThrow(() -> new InventoryNotFoundException(id));
+            // Las unidades reservadas no se venden desde memoria
+            return new HotCounter(inventory.getId(), inventory.getAvailable(), stripes);
+        }));
+    }
+
+    /**
+     * Devuelve a memoria un descuento cuya transacción se revirtió.
+     *
+     * @param decreased contador sobre el que se hizo el descuento
+     */
+    private void restore(Long productId, HotCounter decreased, int amount) {
+        StockJournal.Position position;
+        lock.readLock().lock();
+        try {
+            if (counters.get(productId) != decreased) {
+                // La cantidad se fijó de nuevo con setQuantity después del descuento:
+                // el valor absoluto ya lo sustituye y no hay nada que devolver
+                return;
+            }
+            decreased.restore(amount);
+            position = journal.append(productId, -amount);
+        } finally {
+            lock.readLock().unlock();
+        }
+        journal.sync(position);
+        recordUnflushed();
+    }
+
+    private void recordUnflushed() {
+        if (unflushedRecords.incrementAndGet() >= flushBatchSize) {
+            flushSignal.offer(Boolean.TRUE);
+        }
+    }
+
+    private long pendingUnits(Long productId) {
+        HotCounter counter = counters.get(productId);
+        return counter == null ? 0 : counter.pending();
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                flushSignal.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                flush();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("Hot-SKU flush failed, will retry: {}", ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Drena los descuentos, rota el diario y aplica los descuentos junto
+     * con el punto de control en una transacción. Si la transacción falla,
+     * los descuentos vuelven a quedar pendientes y el segmento se conserva.
+     * Debe invocarse con {@link #flushLock} tomado.
+     */
+    private void flushPending() {
+        Map<Long, Long> deltas = new HashMap<>();
+        long segment;
+
+        lock.writeLock().lock();
+        try {
+            counters.forEach((productId, counter) -> {
+                long delta = counter.drainPending();
+                if (delta != 0) {
+                    deltas.put(productId, delta);
+                }
+            });
+            if (deltas.isEmpty()) {
+                return;
+            }
+            unflushedRecords.set(0);
+            segment = journal.rotate();
+        } catch (IOException ex) {
+            deltas.forEach((productId, delta) -> counters.get(productId).addPending(delta));
+            throw new UncheckedIOException("Cannot rotate hot-SKU journal", ex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            apply(deltas, segment);
+        } catch (RuntimeException ex) {
+            deltas.forEach((productId, delta) -> {
+                HotCounter counter = counters.get(productId);
+                if (counter != null) {
+                    counter.addPending(delta);
+                }
+            });
+            throw ex;
+        } finally {
+            sample.stop(flushTimer);
+        }
+
+        try {
+            journal.deleteUpTo(segment);
+        } catch (IOException ex) {
+            // El punto de control ya impide reproducirlos: se borrarán en el siguiente volcado
+            log.warn("Cannot delete flushed hot-SKU journal segments: {}", ex.getMessage());
+        }
+    }
+
+    private void apply(Map<Long, Long> deltas, long segment) {
+        transactionTemplate.executeWithoutResult(status -> {
+            deltas.forEach((productId, delta) -> repository.applyDelta(productId, Math.toIntExact(delta)));
+
+            JournalCheckpoint checkpoint = checkpointRepository.findById(CHECKPOINT_NAME)
+                    .orElseGet(() -> new JournalCheckpoint(CHECKPOINT_NAME, 0L));
+            checkpoint.setSegment(Math.max(checkpoint.getSegment(), segment));
+            checkpointRepository.save(checkpoint);
+        });
+    }
+
+    /**
+     * Aplica los segmentos del diario posteriores al último punto de control.
+     */
+    private void recover() throws IOException {
+        long checkpoint = checkpointRepository.findById(CHECKPOINT_NAME)
+                .map(JournalCheckpoint::getSegment)
+                .orElse(0L);
+
+        List<Path> pending = journal.segments().stream()
+                .filter(path -> StockJournal.segmentNumber(path) > checkpoint)
+                .toList();
+        long last = journal.segments().stream()
+                .mapToLong(StockJournal::segmentNumber)
+                .max()
+                .orElse(checkpoint);
+
+        if (!pending.isEmpty()) {
+            Map<Long, Long> deltas = StockJournal.readAll(pending);
+            log.info("Replaying {} hot-SKU journal segment(s) for {} product(s)", pending.size(), deltas.size());
+            apply(deltas, last);
+        }
+        journal.deleteUpTo(last);
+        journal.open(Math.max(last, checkpoint) + 1);
+    }
+
+    /**
+     * Stock en memoria de un producto, repartido en contadores atómicos.
+     *
+     * <p>
+     * Cada hilo empieza a descontar en su propio contador, de modo que las
+     * compras concurrentes rara vez compiten por la misma variable. Solo si
+     * ningún contador tiene stock suficiente por sí solo se toma el camino
+     * lento, que reúne y redistribuye el stock bajo un bloqueo.
+     * </p>
+     */
+    private static final class HotCounter {
+
+        private final Long inventoryId;
+        private final AtomicInteger[] stock;
+        private final AtomicLong[] pending;
+
+        private HotCounter(Long inventoryId, int quantity, int stripes) {
+            this.inventoryId = inventoryId;
+            this.stock = new AtomicInteger[stripes];
+            this.pending = new AtomicLong[stripes];
+            for (int i = 0; i < stripes; i++) {
+                stock[i] = new AtomicInteger();
+                pending[i] = new AtomicLong();
+            }
+            redistribute(Math.max(quantity, 0));
+        }
+
+        private boolean tryDecrease(int amount) {
+            int start = (int) (Thread.currentThread().getId() % stock.length);
+            for (int i = 0; i < stock.length; i++) {
+                int index = (start + i) % stock.length;
+                AtomicInteger stripe = stock[index];
+                int current;
+                while ((current = stripe.get()) >= amount) {
+                    if (stripe.compareAndSet(current, current - amount)) {
+                        pending[index].addAndGet(amount);
+                        return true;
+                    }
+                }
+            }
+            return decreaseSlow(amount);
+        }
+
+        /**
+         * Reúne el stock de todos los contadores para atender una compra
+         * que ninguno cubre por sí solo. Solo aquí se decide que el stock
+         * es insuficiente.
+         */
+        private synchronized boolean decreaseSlow(int amount) {
+            int total = 0;
+            for (AtomicInteger stripe : stock) {
+                total += stripe.getAndSet(0);
+            }
+            if (total < amount) {
+                redistribute(total);
+                return false;
+            }
+            redistribute(total - amount);
+            pending[0].addAndGet(amount);
+            return true;
+        }
+
+        private void restore(int amount) {
+            int index = (int) (Thread.currentThread().getId() % stock.length);
+            stock[index].addAndGet(amount);
+            pending[index].addAndGet(-amount);
+        }
+
+        private void redistribute(int quantity) {
+            int share = quantity / stock.length;
+            int remainder = quantity % stock.length;
+            for (int i = 0; i < stock.length; i++) {
+                stock[i].addAndGet(share + (i < remainder ? 1 : 0));
+            }
+        }
+
+        private int available() {
+            int total = 0;
+            for (AtomicInteger stripe : stock) {
+                total += stripe.get();
+            }
+            return total;
+        }
+
+        private long pending() {
+            long total = 0;
+            for (AtomicLong stripe : pending) {
+                total += stripe.get();
+            }
+            return total;
+        }
+
+        private long drainPending() {
+            long total = 0;
+            for (AtomicLong stripe : pending) {
+                total += stripe.getAndSet(0);
+            }
+            return total;
+        }
+
+        private void addPending(long delta) {
+            pending[0].addAndGet(delta);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.service.inventory.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.service.inventory.dto.PurchaseResponseDTO;
+import com.service.inventory.exception.IdempotencyKeyReusedException;
+import com.service.inventory.model.IdempotencyKey;
+import com.service.inventory.model.Inventory;
+import com.service.inventory.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Compras con clave de idempotencia ({@code Idempotency-Key}).
+ *
+ * <p>
+ * La primera petición con una clave ejecuta la compra e inserta la clave
+ * ({@link IdempotencyKey}) en la misma transacción que el descuento. Las
+ * repeticiones devuelven la respuesta guardada sin consultar products-service
+ * ni tocar el inventario:
+ * <ul>
+ *   <li>Primero desde una caché local acotada
+ *       ({@code inventory.idempotency.cache.max-size}).</li>
+ *   <li>Si no está en caché (otra instancia, reinicio), desde la tabla
+ *       {@code idempotency_keys}.</li>
+ *   <li>Si dos peticiones con la misma clave llegan a la vez, la segunda falla
+ *       al insertar la clave, su descuento se revierte y responde con la
+ *       compra que confirmó la primera.</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * Las compras fallidas (stock insuficiente, producto inexistente) no guardan
+ * la clave y pueden reintentarse. Las claves caducan pasado
+ * {@code inventory.idempotency.ttl}.
+ * </p>
+ */
+@Service
+public class IdempotentPurchaseService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotentPurchaseService.class);
+
+    /**
+     * Resultado de una compra idempotente.
+     *
+     * @param response respuesta de la compra
+     * @param replayed {@code true} si se devolvió la respuesta de una petición anterior
+     */
+    public record Result(PurchaseResponseDTO response, boolean replayed) {
+    }
+
+    private final InventoryService inventoryService;
+    private final IdempotencyKeyRepository repository;
+    private final PurchaseMetrics purchaseMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Cache<String, IdempotencyKey> replayCache;
+    private final Counter cacheReplays;
+    private final Counter databaseReplays;
+
+    public IdempotentPurchaseService(
+            InventoryService inventoryService,
+            IdempotencyKeyRepository repository,
+            PurchaseMetrics purchaseMetrics,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${inventory.idempotency.ttl:24h}") Duration ttl,
+            @Value("${inventory.idempotency.cache.max-size:100000}") long cacheMaxSize
+    ) {
+        this.inventoryService = inventoryService;
+        this.repository = repository;
+        this.purchaseMetrics = purchaseMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.replayCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, replayCache, "idempotency");
+        this.cacheReplays = replayCounter(meterRegistry, "cache");
+        this.databaseReplays = replayCounter(meterRegistry, "database");
+    }
+
+    private static Counter replayCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("inventory.idempotency.replays")
+                .description("Compras repetidas respondidas con la respuesta guardada")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Compra un producto una sola vez por clave.
+     *
+     * @param key       clave de idempotencia
+     * @param productId identificador del producto
+     * @param amount    cantidad a comprar
+     * @return respuesta de la compra, nueva o repetida
+     * @throws IdempotencyKeyReusedException si la clave se usó para otra compra
+     */
+    public Result purchase(String key, Long productId, Integer amount) {
+        IdempotencyKey stored = replayCache.getIfPresent(key);
+        if (stored != null) {
+            cacheReplays.increment();
+            return replay(key, stored, productId, amount);
+        }
+
+        stored = repository.findById(key).orElse(null);
+        if (stored != null) {
+            databaseReplays.increment();
+            replayCache.put(key, stored);
+            return replay(key, stored, productId, amount);
+        }
+
+        try {
+            IdempotencyKey created = purchaseMetrics.record(PurchaseMetrics.Type.SINGLE,
+                    () -> transactionTemplate.execute(status -> {
+                        Inventory inventory = inventoryService.decreaseQuantity(productId, amount);
+                        return repository.saveAndFlush(new IdempotencyKey(
+                                key, productId, amount, inventory.getQuantity(), Instant.now()));
+                    }));
+            replayCache.put(key, created);
+            return new Result(created.toResponse(), false);
+        } catch (DataIntegrityViolationException ex) {
+            // Otra petición con la misma clave confirmó antes; se lee en el primario
+            stored = transactionTemplate.execute(status -> repository.findById(key).orElseThrow(() -> ex));
+            databaseReplays.increment();
+            replayCache.put(key, stored);
+            return replay(key, stored, productId, amount);
+        }
+    }
+
+    private static Result replay(String key, IdempotencyKey stored, Long productId, Integer amount) {
+        if (!stored.matches(productId, amount)) {
+            throw new IdempotencyKeyReusedException(key);
+        }
+        return new Result(stored.toResponse(), true);
+    }
+
+    /**
+     * Elimina las claves caducadas.
+     */
+    @Scheduled(fixedDelayString = "${inventory.idempotency.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        Instant cutoff = Instant.now().minus(ttl);
+        Integer deleted = transactionTemplate.execute(status -> repository.deleteCreatedBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            log.debug("Purged {} expired idempotency keys", deleted);
+        }
+    }
+}
@@ -1,14 +1,22 @@
 package com.service.inventory.service;
 
-import com.service.inventory.client.ProductClient;
+import com.service.inventory.client.ProductCache;
+import com.service.inventory.dto.InventoryResponseDTO;
 import com.service.inventory.dto.ProductDTO;
 import com.service.inventory.exception.*;
 import com.service.inventory.model.Inventory;
 import com.service.inventory.repository.InventoryRepository;
-import feign.FeignException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+
 /**
  * Servicio de dominio encargado de la gestión del inventario.
  *
@@ -18,32 +26,55 @@ import org.springframework.transaction.annotation.Transactional;
  *   <li>Consulta de inventario</li>
  *   <li>Actualización de cantidades</li>
  *   <li>Compra y validación de stock</li>
+ *   <li>Pedidos de varios productos en una sola transacción</li>
  * </ul>
  * </p>
+ *
+ * <p>
+ * Los productos marcados como de alta demanda se delegan en
+ * {@link HotStockService}, que mantiene su stock en memoria.
+ * </p>
  */
 @Service
 public class InventoryService {
 
     private final InventoryRepository repository;
-    private final ProductClient productClient;
+    private final ProductCache productCache;
+    private final HotStockService hotStock;
 
-    public InventoryService(InventoryRepository repository, ProductClient productClient) {
+    public InventoryService(InventoryRepository repository, ProductCache productCache, HotStockService hotStock) {
         this.repository = repository;
-        this.productClient = productClient;
+        this.productCache = productCache;
+        this.hotStock = hotStock;
     }
 
     /**
-     * Verifica si un producto existe consultando el microservicio de productos.
+     * Verifica si un producto existe consultando la caché local de productos
+     * y, en caso de fallo de caché, la réplica local del catálogo o el
+     * microservicio de productos.
      *
      * @param productId identificador del producto
      * @return información del producto si existe
      * @throws ProductNotFoundException si el producto no existe
      */
     private ProductDTO verifyProductExists(Long productId) {
-        try {
-            return productClient.getProductById(productId);
-        } catch (FeignException.NotFound ex) {
-            throw new ProductNotFoundException(productId);
+        return productCache.find(productId)
+                .orElseThrow(() -> new ProductNotFoundException(productId));
+    }
+
+    /**
+     * Verifica la existencia de varios productos con una sola consulta
+     * por lote al microservicio de productos (para las claves fuera de caché).
+     *
+     * @param productIds identificadores de los productos
+     * @throws ProductNotFoundException si alguno de los productos no existe
+     */
+    private void verifyProductsExist(Collection<Long> productIds) {
+        Map<Long, Optional<ProductDTO>> products = productCache.findAll(productIds);
+        for (Long productId : productIds) {
+            if (products.getOrDefault(productId, Optional.empty()).isEmpty()) {
+                throw new ProductNotFoundException(productId);
+            }
         }
     }
 
@@ -59,27 +90,78 @@ public class InventoryService {
     public Inventory getInventoryByProductId(Long productId) {
         verifyProductExists(productId);
 
+        if (hotStock.isHot(productId)) {
+            return hotStock.getInventory(productId);
+        }
+
         return repository.findByProductId(productId)
                 .orElseThrow(() -> new InventoryNotFoundException(productId));
     }
 
+    /**
+     * Obtiene el inventario de un producto como respuesta de la API.
+     * La consulta construye directamente el DTO, sin cargar la entidad.
+     *
+     * @param productId identificador del producto
+     * @return inventario asociado al producto
+     * @throws ProductNotFoundException si el producto no existe
+     * @throws InventoryNotFoundException si no hay inventario registrado
+     */
+    @Transactional(readOnly = true)
+    public InventoryResponseDTO getInventoryResponse(Long productId) {
+        verifyProductExists(productId);
+
+        if (hotStock.isHot(productId)) {
+            Inventory inventory = hotStock.getInventory(productId);
+            return new InventoryResponseDTO(inventory.getId(), inventory.getProductId(), inventory.getQuantity());
+        }
+
+        return repository.findResponseByProductId(productId)
+                .orElseThrow(() -> new InventoryNotFoundException(productId));
+    }
+
+    /**
+     * Obtiene los productos con poco stock disponible (por debajo de
+     * {@link Inventory#LOW_STOCK_THRESHOLD}), de menor a mayor disponible.
+     * Los productos de alta demanda reflejan el último volcado de su stock
+     * en memoria.
+     *
+     * @param limit número máximo de resultados
+     * @return inventarios con poco stock
+     */
+    @Transactional(readOnly = true)
+    public List<InventoryResponseDTO> getLowStock(int limit) {
+        return repository.findLowStock(Limit.of(limit));
+    }
+
     /**
      * Actualiza la cantidad de inventario de un producto.
      * <p>
-     * Si el inventario no existe, se crea automáticamente.
+     * Si el inventario no existe, se crea automáticamente. La fila se
+     * bloquea mientras se comprueba que la nueva cantidad cubre las
+     * unidades reservadas.
      * </p>
      *
      * @param productId identificador del producto
      * @param newQuantity nueva cantidad de inventario
      * @return inventario actualizado
      * @throws ProductNotFoundException si el producto no existe
+     * @throws ReservationConflictException si la cantidad es menor que la reservada
      */
     @Transactional
     public Inventory updateQuantity(Long productId, Integer newQuantity) {
         verifyProductExists(productId);
 
-        Inventory inventory = repository.findByProductId(productId)
+        if (hotStock.isHot(productId)) {
+            return hotStock.setQuantity(productId, newQuantity);
+        }
+
+        Inventory inventory = repository.findWithLockByProductId(productId)
                 .orElseGet(() -> new Inventory(productId, 0));
+        if (newQuantity < inventory.getReserved()) {
+            throw new ReservationConflictException("Quantity " + newQuantity + " is below the "
+                    + inventory.getReserved() + " units reserved for product " + productId);
+        }
 
         inventory.setQuantity(newQuantity);
         return repository.save(inventory);
@@ -88,6 +170,15 @@ public class InventoryService {
     /**
      * Reduce la cantidad de inventario tras una compra.
      *
+     * <p>
+     * El descuento se realiza con un {@code UPDATE} condicional atómico
+     * ({@code quantity - reserved >= amount}) en lugar de leer, comparar y guardar
+     * la entidad. El bloqueo de fila solo se mantiene desde el
+     * {@code UPDATE} hasta el commit; la verificación del producto se
+     * realiza antes y nunca bajo bloqueo. La cantidad restante la devuelve
+     * el propio {@code UPDATE}, sin volver a leer la fila.
+     * </p>
+     *
      * @param productId identificador del producto
      * @param amount cantidad a descontar
      * @return inventario actualizado
@@ -99,14 +190,61 @@ public class InventoryService {
     public Inventory decreaseQuantity(Long productId, Integer amount) {
         verifyProductExists(productId);
 
-        Inventory inventory = repository.findByProductId(productId)
-                .orElseThrow(() -> new InventoryNotFoundException(productId));
-
-        if (inventory.getQuantity() < amount) {
-            throw new InsufficientInventoryException(productId);
+        if (hotStock.isHot(productId)) {
+            return hotStock.decrease(productId, amount);
         }
+        return decreaseOrFail(productId, amount);
+    }
 
-        inventory.setQuantity(inventory.getQuantity() - amount);
-        return repository.save(inventory);
+    /**
+     * Descuenta el inventario de varios productos en una única transacción
+     * (todo o nada).
+     *
+     * <p>
+     * Los productos se validan con una sola consulta por lote y los
+     * descuentos se aplican en orden ascendente de {@code productId},
+     * de modo que dos pedidos concurrentes siempre toman los bloqueos de
+     * fila en el mismo orden y no pueden provocar un interbloqueo.
+     * Si alguna línea falla, la transacción completa se revierte
+     * (incluidos los descuentos en memoria de productos de alta demanda).
+     * </p>
+     *
+     * @param amountsByProduct cantidad a descontar por producto, ordenada por {@code productId}
+     * @return cantidad restante por producto tras el pedido
+     * @throws ProductNotFoundException si algún producto no existe
+     * @throws InventoryNotFoundException si algún producto no tiene inventario
+     * @throws InsufficientInventoryException si algún producto no tiene stock suficiente
+     */
+    @Transactional
+    public Map<Long, Integer> decreaseQuantities(SortedMap<Long, Integer> amountsByProduct) {
+        verifyProductsExist(amountsByProduct.keySet());
+
+        Map<Long, Integer> remaining = new HashMap<>();
+        amountsByProduct.forEach((productId, amount) -> {
+            Inventory inventory = hotStock.isHot(productId)
+                    ? hotStock.decrease(productId, amount)
+                    : decreaseOrFail(productId, amount);
+            remaining.put(productId, inventory.getQuantity());
+        });
+        return remaining;
+    }
+
+    /**
+     * Aplica el descuento condicional atómico sobre la fila de inventario.
+     *
+     * @param productId identificador del producto
+     * @param amount cantidad a descontar
+     * @return copia del inventario con la cantidad restante devuelta por el {@code UPDATE}
+     * @throws InventoryNotFoundException si no hay inventario
+     * @throws InsufficientInventoryException si no hay stock suficiente
+     */
+    private Inventory decreaseOrFail(Long productId, Integer amount) {
+        return repository.decreaseIfAvailable(productId, amount).orElseThrow(() -> {
+            // Ninguna fila afectada: falta el inventario o el stock es insuficiente
+            if (!repository.existsByProductId(productId)) {
+                return new InventoryNotFoundException(productId);
+            }
+            return new InsufficientInventoryException(productId);
+        });
     }
 }
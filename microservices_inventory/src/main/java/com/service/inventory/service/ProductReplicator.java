@@ -0,0 +1,433 @@
+package com.service.inventory.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.service.inventory.client.ProductCache;
+import com.service.inventory.client.ProductClient;
+import com.service.inventory.client.ProductReplica;
+import com.service.inventory.dto.ProductDTO;
+import com.service.inventory.dto.ProductEventDTO;
+import com.service.inventory.model.KnownProduct;
+import com.service.inventory.model.ReplicationCheckpoint;
+import com.service.inventory.repository.KnownProductRepository;
+import com.service.inventory.repository.ReplicationCheckpointRepository;
+import feign.FeignException;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Replica el catálogo de products-service en la tabla local
+ * {@code known_products} ({@link KnownProduct}).
+ *
+ * <p>
+ * products-service registra cada cambio de producto en un outbox en la
+ * misma transacción que el cambio. Este servicio lee ese feed cada
+ * {@code products.replication.poll-interval-ms} ({@code GET /products/events})
+ * y aplica los eventos en la réplica, guardando en la misma transacción el
+ * punto de control ({@link ReplicationCheckpoint}). Aplicar un evento es
+ * idempotente: cada fila recuerda el último evento aplicado y los anteriores
+ * se ignoran.
+ * </p>
+ *
+ * <p>
+ * Huecos: los IDs de evento se asignan al insertar, no al confirmar, por lo
+ * que un evento puede hacerse visible después de otros posteriores. El punto
+ * de control solo avanza sobre IDs consecutivos; tras
+ * {@code products.replication.gap-timeout} lo atraviesa, pero el hueco se
+ * sigue releyendo en cada ciclo durante {@code products.replication.reconcile-window}
+ * por si lo ocupa una transacción lenta (p. ej. un alta masiva). Los huecos
+ * pendientes de releer se guardan en memoria y se pierden al reiniciar.
+ * </p>
+ *
+ * <p>
+ * Carga inicial: sin punto de control, se lee el último ID de evento y a
+ * continuación la exportación completa ({@code GET /products/export}).
+ * Los eventos de los últimos {@code products.replication.bootstrap-replay}
+ * IDs se vuelven a leer para cubrir las transacciones que confirmaron
+ * durante la carga. Si el punto de control queda por detrás de los eventos
+ * conservados (products-service responde {@code 410 Gone}), la réplica se
+ * vuelve a cargar del mismo modo y los productos ausentes de la exportación
+ * se marcan como eliminados.
+ * </p>
+ *
+ * <p>
+ * La réplica solo atiende consultas ({@link ProductReplica#isReady()})
+ * cuando la lectura del feed alcanza el final, tras arrancar o tras recargarla.
+ * </p>
+ */
+@Service
+public class ProductReplicator {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductReplicator.class);
+    private static final String CHECKPOINT_NAME = "products";
+
+    private final ProductClient productClient;
+    private final ProductReplica replica;
+    private final ProductCache productCache;
+    private final KnownProductRepository knownProductRepository;
+    private final ReplicationCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long gapTimeoutNanos;
+    private final long bootstrapReplay;
+    private final Duration reconcileWindow;
+
+    /**
+     * Primer ID de cada hueco pendiente y momento en que se detectó.
+     * Solo lo usa el hilo del planificador.
+     */
+    private final NavigableMap<Long, Long> gapsSeenAt = new TreeMap<>();
+
+    /**
+     * Huecos atravesados por timeout, en orden de descarte, que se releen
+     * hasta {@code products.replication.reconcile-window}.
+     * Solo lo usa el hilo del planificador.
+     */
+    private final Deque<SkippedGap> skippedGapsToReread = new ArrayDeque<>();
+
+    /**
+     * Último ID de evento aplicado sin huecos; -1 hasta la inicialización.
+     */
+    private volatile long checkpoint = -1;
+
+    private final Counter appliedEvents;
+    private final Counter skippedGaps;
+    private final Counter reconciledGaps;
+    private final Counter reloads;
+
+    public ProductReplicator(
+            ProductClient productClient,
+            ProductReplica replica,
+            ProductCache productCache,
+            KnownProductRepository knownProductRepository,
+            ReplicationCheckpointRepository checkpointRepository,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${products.replication.enabled:false}") boolean enabled,
+            @Value("${products.replication.batch-size:500}") int batchSize,
+            @Value("${products.replication.gap-timeout:10s}") Duration gapTimeout,
+            @Value("${products.replication.bootstrap-replay:1000}") long bootstrapReplay,
+            @Value("${products.replication.reconcile-window:10m}") Duration reconcileWindow
+    ) {
+        this.productClient = productClient;
+        this.replica = replica;
+        this.productCache = productCache;
+        this.knownProductRepository = knownProductRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+        this.bootstrapReplay = bootstrapReplay;
+        this.reconcileWindow = reconcileWindow;
+
+        this.appliedEvents = Counter.builder("inventory.product_replica.events.applied")
+                .description("Eventos de producto aplicados en la réplica local")
+                .register(meterRegistry);
+        this.skippedGaps = Counter.builder("inventory.product_replica.gaps.skipped")
+                .description("Huecos del feed de eventos descartados por timeout")
+                .register(meterRegistry);
+        this.reconciledGaps = Counter.builder("inventory.product_replica.gaps.reconciled")
+                .description("Huecos descartados que se completaron al releerlos")
+                .register(meterRegistry);
+        this.reloads = Counter.builder("inventory.product_replica.reloads")
+                .description("Recargas de la réplica por eventos ya podados en products-service")
+                .register(meterRegistry);
+        Gauge.builder("inventory.product_replica.checkpoint", this, r -> r.checkpoint)
+                .description("Último ID de evento de producto aplicado sin huecos")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Lee y aplica los eventos pendientes. Los fallos (products-service no
+     * disponible, circuito abierto) se registran y se reintenta en el siguiente ciclo.
+     */
+    @Scheduled(fixedDelayString = "${products.replication.poll-interval-ms:1000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (checkpoint < 0) {
+                checkpoint = checkpointRepository.findById(CHECKPOINT_NAME)
+                        .map(ReplicationCheckpoint::getLastEventId)
+                        .orElseGet(this::bootstrap);
+            }
+            try {
+                catchUp();
+            } catch (FeignException.Gone ex) {
+                reload();
+                catchUp();
+            }
+            reconcile();
+        } catch (RuntimeException ex) {
+            log.warn("Product replication poll failed: {}", ex.toString());
+        }
+    }
+
+    /**
+     * Lee páginas del feed hasta el final, o hasta un hueco pendiente.
+     * Al llegar al final, la réplica pasa a atender consultas.
+     */
+    private void catchUp() {
+        while (pollOnce()) {
+            // Página completa: quedan más eventos
+        }
+    }
+
+    /**
+     * Vuelve a cargar la réplica desde la exportación: los eventos
+     * posteriores al punto de control ya se han podado.
+     */
+    private void reload() {
+        log.warn("Product events after {} have been pruned; reloading the product replica", checkpoint);
+        replica.markStale();
+        reloads.increment();
+        gapsSeenAt.clear();
+        skippedGapsToReread.clear();
+        checkpoint = bootstrap();
+    }
+
+    /**
+     * Carga la réplica desde la exportación completa del catálogo.
+     *
+     * @return punto de control desde el que continuar el feed
+     */
+    private long bootstrap() {
+        long head = productClient.getLastProductEventId();
+        long tail = productClient.getFirstProductEventId();
+        int loaded = 0;
+
+        try (Response response = productClient.exportProducts()) {
+            if (response.status() != 200 || response.body() == null) {
+                throw new IllegalStateException("Product export failed with status " + response.status());
+            }
+            try (InputStream body = response.body().asInputStream();
+                 MappingIterator<ProductDTO> products = objectMapper.readerFor(ProductDTO.class).readValues(body)) {
+                List<ProductDTO> chunk = new ArrayList<>(batchSize);
+                while (products.hasNextValue()) {
+                    chunk.add(products.nextValue());
+                    if (chunk.size() == batchSize) {
+                        saveSnapshot(chunk, head);
+                        loaded += chunk.size();
+                        chunk.clear();
+                    }
+                }
+                saveSnapshot(chunk, head);
+                loaded += chunk.size();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        // No se puede releer por delante del primer evento conservado
+        long start = Math.max(Math.max(0, head - bootstrapReplay), tail - 1);
+        int deleted = transactionTemplate.execute(status -> {
+            // Productos de una réplica anterior que ya no están en el catálogo
+            int missing = knownProductRepository.markDeletedBefore(head);
+            checkpointRepository.save(new ReplicationCheckpoint(CHECKPOINT_NAME, start));
+            return missing;
+        });
+        if (deleted > 0) {
+            productCache.invalidateAll();
+        }
+        log.info("Product replica bootstrapped with {} products at event {} ({} marked deleted)",
+                loaded, head, deleted);
+        return start;
+    }
+
+    private void saveSnapshot(List<ProductDTO> products, long asOfEventId) {
+        if (products.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, KnownProduct> known = findKnown(products.stream().map(ProductDTO::getId).toList());
+            for (ProductDTO product : products) {
+                known.computeIfAbsent(product.getId(), KnownProduct::new).applySnapshot(product, asOfEventId);
+            }
+            knownProductRepository.saveAll(known.values());
+        });
+        productCache.invalidateAll(products.stream().map(ProductDTO::getId).toList());
+    }
+
+    /**
+     * Lee una página del feed, la aplica y avanza el punto de control.
+     *
+     * @return {@code true} si la página estaba completa y el punto de control avanzó
+     */
+    private boolean pollOnce() {
+        List<ProductEventDTO> events = productClient.getProductEvents(checkpoint, batchSize);
+        boolean more = applyPage(events);
+        if (events.size() < batchSize && !replica.isReady()) {
+            // La página llegó al final del feed: la réplica está al día
+            replica.markReady();
+            log.info("Product replica caught up at event {}", checkpoint);
+        }
+        return more;
+    }
+
+    private boolean applyPage(List<ProductEventDTO> events) {
+        if (events.isEmpty()) {
+            return false;
+        }
+        long next = advance(events);
+
+        Set<Long> changed = transactionTemplate.execute(status -> {
+            Set<Long> applied = apply(events);
+            if (next != checkpoint) {
+                checkpointRepository.save(new ReplicationCheckpoint(CHECKPOINT_NAME, next));
+            }
+            return applied;
+        });
+        boolean advanced = next != checkpoint;
+        checkpoint = next;
+
+        // Tras el commit: las cargas posteriores leen el estado nuevo de la réplica
+        productCache.invalidateAll(changed);
+        return advanced && events.size() == batchSize;
+    }
+
+    /**
+     * Aplica los eventos en la réplica. Se aplican también los posteriores a
+     * un hueco: cada evento contiene el estado completo del producto y
+     * los anteriores que lleguen después se ignoran.
+     *
+     * @return productos modificados
+     */
+    private Set<Long> apply(List<ProductEventDTO> events) {
+        Map<Long, KnownProduct> known = findKnown(events.stream().map(ProductEventDTO::getProductId).toList());
+        Set<Long> changed = new LinkedHashSet<>();
+        for (ProductEventDTO event : events) {
+            if (known.computeIfAbsent(event.getProductId(), KnownProduct::new).apply(event)) {
+                changed.add(event.getProductId());
+                appliedEvents.increment();
+            }
+        }
+        knownProductRepository.saveAll(changed.stream().map(known::get).toList());
+        return changed;
+    }
+
+    private Map<Long, KnownProduct> findKnown(List<Long> productIds) {
+        return knownProductRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(KnownProduct::getProductId, Function.identity(), (a, b) -> a, HashMap::new));
+    }
+
+    /**
+     * Calcula el nuevo punto de control: el último ID alcanzable sin
+     * atravesar un hueco pendiente.
+     *
+     * @param events página del feed, ordenada por ID
+     * @return nuevo punto de control
+     */
+    private long advance(List<ProductEventDTO> events) {
+        long now = System.nanoTime();
+        long next = checkpoint;
+        for (ProductEventDTO event : events) {
+            if (event.getId() > next + 1) {
+                long seenAt = gapsSeenAt.computeIfAbsent(next + 1, gap -> now);
+                if (now - seenAt < gapTimeoutNanos) {
+                    break;
+                }
+                log.warn("Skipping product events {}..{}: not committed after timeout", next + 1, event.getId() - 1);
+                skippedGaps.increment();
+                skippedGapsToReread.add(new SkippedGap(next + 1, event.getId() - 1, now));
+            }
+            next = event.getId();
+        }
+        gapsSeenAt.headMap(next, true).clear();
+        return next;
+    }
+
+    /**
+     * Relee los huecos atravesados por timeout y aplica los eventos que ya
+     * se hayan confirmado. Un hueco deja de releerse cuando aparecen todos
+     * sus IDs o cuando vence {@code products.replication.reconcile-window}.
+     */
+    private void reconcile() {
+        long now = System.nanoTime();
+        Iterator<SkippedGap> gaps = skippedGapsToReread.iterator();
+        while (gaps.hasNext()) {
+            SkippedGap gap = gaps.next();
+            if (now - gap.skippedAt() >= reconcileWindow.toNanos()) {
+                log.warn("Product events {}..{} still incomplete after {}; no longer rereading them",
+                        gap.from(), gap.to(), reconcileWindow);
+                gaps.remove();
+            } else if (reread(gap) == gap.size()) {
+                log.info("Product events {}..{} committed late and were applied", gap.from(), gap.to());
+                reconciledGaps.increment();
+                gaps.remove();
+            }
+        }
+    }
+
+    /**
+     * Lee del feed los eventos de un hueco y los aplica. Los ya aplicados se
+     * ignoran ({@link KnownProduct#apply}); el punto de control no cambia.
+     *
+     * @return número de IDs del hueco presentes en el feed
+     */
+    private long reread(SkippedGap gap) {
+        long found = 0;
+        long after = gap.from() - 1;
+        while (after < gap.to()) {
+            int limit = (int) Math.min(batchSize, gap.to() - after);
+            List<ProductEventDTO> events = productClient.getProductEvents(after, limit).stream()
+                    .filter(event -> event.getId() <= gap.to())
+                    .toList();
+            if (events.isEmpty()) {
+                break;
+            }
+            Set<Long> changed = transactionTemplate.execute(status -> apply(events));
+            productCache.invalidateAll(changed);
+            found += events.size();
+            after = events.get(events.size() - 1).getId();
+        }
+        return found;
+    }
+
+    /**
+     * Hueco del feed atravesado por timeout.
+     *
+     * @param from      primer ID del hueco
+     * @param to        último ID del hueco
+     * @param skippedAt momento del descarte ({@link System#nanoTime()})
+     */
+    private record SkippedGap(long from, long to, long skippedAt) {
+
+        long size() {
+            return to - from + 1;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.service.inventory.service;
+
+import com.service.inventory.exception.InsufficientInventoryException;
+import com.service.inventory.exception.InventoryNotFoundException;
+import com.service.inventory.exception.ProductNotFoundException;
+import com.service.inventory.exception.ProductServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Métricas de resultado de las compras.
+ *
+ * <p>
+ * Publica el contador {@code inventory.purchases} con las etiquetas
+ * {@code type} ({@code single}, {@code order} o {@code async}) y {@code outcome}
+ * ({@code success}, {@code insufficient_stock}, {@code product_not_found},
+ * {@code inventory_not_found}, {@code catalog_unavailable} o {@code error}).
+ * </p>
+ *
+ * <p>
+ * Se registra fuera de la transacción, por lo que una compra cuyo
+ * commit falla se contabiliza como {@code error} y no como {@code success}.
+ * </p>
+ */
+@Component
+public class PurchaseMetrics {
+
+    public enum Type {
+        SINGLE, ORDER, ASYNC
+    }
+
+    private enum Outcome {
+        SUCCESS, INSUFFICIENT_STOCK, PRODUCT_NOT_FOUND, INVENTORY_NOT_FOUND, CATALOG_UNAVAILABLE, ERROR
+    }
+
+    private final Map<Type, Map<Outcome, Counter>> counters = new EnumMap<>(Type.class);
+
+    public PurchaseMetrics(MeterRegistry meterRegistry) {
+        for (Type type : Type.values()) {
+            Map<Outcome, Counter> byOutcome = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                byOutcome.put(outcome, Counter.builder("inventory.purchases")
+                        .description("Compras procesadas por resultado")
+                        .tag("type", type.name().toLowerCase())
+                        .tag("outcome", outcome.name().toLowerCase())
+                        .register(meterRegistry));
+            }
+            counters.put(type, byOutcome);
+        }
+    }
+
+    /**
+     * Ejecuta una compra y contabiliza su resultado.
+     *
+     * @param type     tipo de compra
+     * @param purchase operación de compra
+     * @return el resultado de la operación
+     */
+    public <T> T record(Type type, Supplier<T> purchase) {
+        Map<Outcome, Counter> byOutcome = counters.get(type);
+        try {
+            T result = purchase.get();
+            byOutcome.get(Outcome.SUCCESS).increment();
+            return result;
+        } catch (RuntimeException ex) {
+            byOutcome.get(outcomeOf(ex)).increment();
+            throw ex;
+        }
+    }
+
+    /**
+     * Versión reactiva de {@link #record(Type, Supplier)}: contabiliza el
+     * resultado cuando la compra termina.
+     *
+     * @param type     tipo de compra
+     * @param purchase operación de compra
+     * @return la misma operación, instrumentada
+     */
+    public <T> Mono<T> record(Type type, Mono<T> purchase) {
+        Map<Outcome, Counter> byOutcome = counters.get(type);
+        return purchase
+                .doOnSuccess(result -> byOutcome.get(Outcome.SUCCESS).increment())
+                .doOnError(RuntimeException.class, ex -> byOutcome.get(outcomeOf(ex)).increment());
+    }
+
+    /**
+     * Contabiliza el resultado de una compra ya terminada, como las
+     * compras asíncronas que se aplican en grupo.
+     *
+     * @param type    tipo de compra
+     * @param failure excepción de la compra, o {@code null} si se completó
+     */
+    public void record(Type type, RuntimeException failure) {
+        counters.get(type).get(failure == null ? Outcome.SUCCESS : outcomeOf(failure)).increment();
+    }
+
+    private static Outcome outcomeOf(RuntimeException ex) {
+        if (ex instanceof InsufficientInventoryException) {
+            return Outcome.INSUFFICIENT_STOCK;
+        }
+        if (ex instanceof ProductNotFoundException) {
+            return Outcome.PRODUCT_NOT_FOUND;
+        }
+        if (ex instanceof InventoryNotFoundException) {
+            return Outcome.INVENTORY_NOT_FOUND;
+        }
+        if (ex instanceof ProductServiceUnavailableException) {
+            return Outcome.CATALOG_UNAVAILABLE;
+        }
+        return Outcome.ERROR;
+    }
+}
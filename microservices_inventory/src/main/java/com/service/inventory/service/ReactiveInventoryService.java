@@ -0,0 +1,194 @@
+package com.service.inventory.service;
+
+import com.service.inventory.client.ReactiveProductClient;
+import com.service.inventory.dto.InventoryResponseDTO;
+import com.service.inventory.exception.InsufficientInventoryException;
+import com.service.inventory.exception.InventoryNotFoundException;
+import com.service.inventory.exception.ProductNotFoundException;
+import com.service.inventory.exception.ReservationConflictException;
+import com.service.inventory.model.Inventory;
+import com.service.inventory.repository.ReactiveInventoryRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.concurrent.Callable;
+
+/**
+ * Versión no bloqueante de {@link InventoryService} para el modo reactivo
+ * (perfil {@code reactive}): productos con {@link ReactiveProductClient} e
+ * inventario con {@link ReactiveInventoryRepository}.
+ *
+ * <p>
+ * Las reglas son las mismas: la existencia del producto se verifica antes
+ * de tocar el stock, el descuento es un {@code UPDATE} condicional atómico y
+ * los pedidos se aplican en orden de {@code productId} en una sola transacción.
+ * </p>
+ *
+ * <p>
+ * Los productos de alta demanda ({@link HotStockService}) dependen de la
+ * sincronización de transacciones JPA del hilo, por lo que sus operaciones (y
+ * los pedidos que los incluyen) se delegan en {@link InventoryService} sobre
+ * {@link Schedulers#boundedElastic()}.
+ * </p>
+ */
+@Service
+@Profile("reactive")
+public class ReactiveInventoryService {
+
+    private final ReactiveInventoryRepository repository;
+    private final ReactiveProductClient productClient;
+    private final TransactionalOperator transactionalOperator;
+    private final HotStockService hotStock;
+    private final InventoryService blockingService;
+
+    public ReactiveInventoryService(
+            ReactiveInventoryRepository repository,
+            ReactiveProductClient productClient,
+            TransactionalOperator transactionalOperator,
+            HotStockService hotStock,
+            InventoryService blockingService
+    ) {
+        this.repository = repository;
+        this.productClient = productClient;
+        this.transactionalOperator = transactionalOperator;
+        this.hotStock = hotStock;
+        this.blockingService = blockingService;
+    }
+
+    /**
+     * Obtiene el inventario de un producto.
+     *
+     * @param productId identificador del producto
+     * @return inventario asociado al producto; error {@link ProductNotFoundException}
+     *         o {@link InventoryNotFoundException}
+     */
+    public Mono<InventoryResponseDTO> getInventory(Long productId) {
+        if (hotStock.isHot(productId)) {
+            return blocking(() -> blockingService.getInventoryResponse(productId));
+        }
+        return verifyProductExists(productId)
+                .then(repository.findResponseByProductId(productId))
+                .switchIfEmpty(Mono.error(() -> new InventoryNotFoundException(productId)));
+    }
+
+    /**
+     * Fija la cantidad de inventario de un producto, creándolo si no existe.
+     *
+     * @param productId   identificador del producto
+     * @param newQuantity nueva cantidad
+     * @return inventario actualizado; error {@link ProductNotFoundException}
+     */
+    public Mono<InventoryResponseDTO> updateQuantity(Long productId, Integer newQuantity) {
+        if (hotStock.isHot(productId)) {
+            return blocking(() -> toResponse(blockingService.updateQuantity(productId, newQuantity)));
+        }
+        return verifyProductExists(productId)
+                .then(repository.updateQuantity(productId, newQuantity)
+                        .flatMap(updated -> updated > 0 ? Mono.just(updated) : insertIfMissing(productId, newQuantity))
+                        .then(repository.findResponseByProductId(productId))
+                        .as(transactionalOperator::transactional));
+    }
+
+    /**
+     * Descuenta stock tras una compra.
+     *
+     * @param productId identificador del producto
+     * @param amount    cantidad a descontar
+     * @return cantidad restante; error {@link ProductNotFoundException},
+     *         {@link InventoryNotFoundException} o {@link InsufficientInventoryException}
+     */
+    public Mono<Integer> decreaseQuantity(Long productId, Integer amount) {
+        if (hotStock.isHot(productId)) {
+            return blocking(() -> blockingService.decreaseQuantity(productId, amount).getQuantity());
+        }
+        return verifyProductExists(productId)
+                .then(decreaseOrFail(productId, amount)
+                        .then(repository.findResponseByProductId(productId))
+                        .map(inventory -> inventory.attributes().quantity())
+                        .as(transactionalOperator::transactional));
+    }
+
+    /**
+     * Descuenta el inventario de varios productos en una única transacción
+     * (todo o nada), en orden ascendente de {@code productId}.
+     *
+     * @param amountsByProduct cantidad a descontar por producto, ordenada por {@code productId}
+     * @return cantidad restante por producto tras el pedido
+     */
+    public Mono<Map<Long, Integer>> decreaseQuantities(SortedMap<Long, Integer> amountsByProduct) {
+        if (amountsByProduct.keySet().stream().anyMatch(hotStock::isHot)) {
+            return blocking(() -> blockingService.decreaseQuantities(amountsByProduct));
+        }
+        return verifyProductsExist(amountsByProduct.keySet())
+                .then(Flux.fromIterable(amountsByProduct.entrySet())
+                        .concatMap(line -> decreaseOrFail(line.getKey(), line.getValue()))
+                        .thenMany(repository.findResponsesByProductIdIn(amountsByProduct.keySet()))
+                        .collectMap(inventory -> inventory.attributes().productId(),
+                                inventory -> inventory.attributes().quantity(),
+                                HashMap::new)
+                        .as(transactionalOperator::transactional));
+    }
+
+    private Mono<Void> verifyProductExists(Long productId) {
+        return productClient.find(productId)
+                .flatMap(product -> product.isPresent()
+                        ? Mono.<Void>empty()
+                        : Mono.error(new ProductNotFoundException(productId)));
+    }
+
+    private Mono<Void> verifyProductsExist(Collection<Long> productIds) {
+        return productClient.findAll(productIds)
+                .flatMap(products -> {
+                    for (Long productId : productIds) {
+                        if (products.getOrDefault(productId, Optional.empty()).isEmpty()) {
+                            return Mono.<Void>error(new ProductNotFoundException(productId));
+                        }
+                    }
+                    return Mono.<Void>empty();
+                });
+    }
+
+    /**
+     * Crea el inventario si no existe. Si existe, el {@code UPDATE} no lo
+     * modificó porque la cantidad era menor que la reservada.
+     */
+    private Mono<Long> insertIfMissing(Long productId, int quantity) {
+        return repository.existsByProductId(productId)
+                .flatMap(exists -> exists
+                        ? Mono.error(new ReservationConflictException(
+                                "Quantity " + quantity + " is below the units reserved for product " + productId))
+                        : repository.insert(productId, quantity));
+    }
+
+    private Mono<Void> decreaseOrFail(Long productId, int amount) {
+        return repository.decreaseIfAvailable(productId, amount)
+                .flatMap(updated -> {
+                    if (updated > 0) {
+                        return Mono.<Void>empty();
+                    }
+                    // Ninguna fila afectada: falta el inventario o el stock es insuficiente
+                    return repository.existsByProductId(productId)
+                            .flatMap(exists -> Mono.<Void>error(exists
+                                    ? new InsufficientInventoryException(productId)
+                                    : new InventoryNotFoundException(productId)));
+                });
+    }
+
+    private static InventoryResponseDTO toResponse(Inventory inventory) {
+        return new InventoryResponseDTO(
+                inventory.getId(), inventory.getProductId(), inventory.getQuantity(), inventory.getReserved());
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> operation) {
+        return Mono.fromCallable(operation).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,240 @@
+package com.service.inventory.service;
+
+import com.service.inventory.client.ProductCache;
+import com.service.inventory.exception.*;
+import com.service.inventory.model.Reservation;
+import com.service.inventory.model.Reservation.Status;
+import com.service.inventory.repository.InventoryRepository;
+import com.service.inventory.repository.ReservationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Reservas temporales de stock (reservar / confirmar / liberar).
+ *
+ * <p>
+ * Reservar retiene unidades con un {@code UPDATE} condicional sobre
+ * {@code quantity - reserved}, la misma condición que usan las compras, e
+ * inserta la {@link Reservation} en la misma transacción. Confirmar descuenta
+ * las unidades retenidas del stock; liberar las devuelve. Ambas operaciones
+ * son idempotentes: repetirlas sobre una reserva ya confirmada (o ya
+ * liberada o caducada) devuelve su estado sin volver a tocar el inventario.
+ * </p>
+ *
+ * <p>
+ * Las reservas que superan su plazo se caducan cada
+ * {@code inventory.reservations.sweep-interval-ms}, en lotes tomados por el
+ * índice de {@code (status, expires_at)} con {@code SKIP LOCKED}: el coste
+ * depende de las reservas caducadas, no del total, y varias instancias
+ * pueden barrer a la vez.
+ * </p>
+ *
+ * <p>
+ * Los productos de alta demanda ({@link HotStockService}) no admiten
+ * reservas: su stock vendible está en memoria.
+ * </p>
+ */
+@Service
+public class ReservationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationService.class);
+
+    private final InventoryRepository inventoryRepository;
+    private final ReservationRepository reservationRepository;
+    private final ProductCache productCache;
+    private final HotStockService hotStock;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+    private final int sweepBatchSize;
+
+    private final Map<Status, Counter> counters;
+
+    public ReservationService(
+            InventoryRepository inventoryRepository,
+            ReservationRepository reservationRepository,
+            ProductCache productCache,
+            HotStockService hotStock,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${inventory.reservations.ttl:15m}") Duration defaultTtl,
+            @Value("${inventory.reservations.max-ttl:1h}") Duration maxTtl,
+            @Value("${inventory.reservations.sweep-batch-size:500}") int sweepBatchSize
+    ) {
+        this.inventoryRepository = inventoryRepository;
+        this.reservationRepository = reservationRepository;
+        this.productCache = productCache;
+        this.hotStock = hotStock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+        this.sweepBatchSize = sweepBatchSize;
+
+        Map<Status, Counter> byStatus = new TreeMap<>();
+        for (Status status : Status.values()) {
+            byStatus.put(status, Counter.builder("inventory.reservations")
+                    .description("Reservas creadas (active) y terminadas por estado final")
+                    .tag("status", status.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.counters = byStatus;
+    }
+
+    /**
+     * Reserva stock de un producto.
+     *
+     * @param productId identificador del producto
+     * @param amount    unidades a reservar
+     * @param ttl       plazo de la reserva; {@code null} para el plazo por defecto.
+     *                  Se limita a {@code inventory.reservations.max-ttl}
+     * @return la reserva activa
+     * @throws ProductNotFoundException       si el producto no existe
+     * @throws InventoryNotFoundException     si no hay inventario
+     * @throws InsufficientInventoryException si no hay stock disponible suficiente
+     * @throws ReservationConflictException   si el producto es de alta demanda
+     */
+    @Transactional
+    public Reservation reserve(Long productId, int amount, Duration ttl) {
+        productCache.find(productId).orElseThrow(() -> new ProductNotFoundException(productId));
+        if (hotStock.isHot(productId)) {
+            throw new ReservationConflictException("Reservations are not available for hot SKU " + productId);
+        }
+
+        if (inventoryRepository.reserveIfAvailable(productId, amount) == 0) {
+            if (!inventoryRepository.existsByProductId(productId)) {
+                throw new InventoryNotFoundException(productId);
+            }
+            throw new InsufficientInventoryException(productId);
+        }
+
+        Duration effectiveTtl = ttl == null ? defaultTtl : ttl.compareTo(maxTtl) > 0 ? maxTtl : ttl;
+        Instant now = Instant.now();
+        Reservation reservation = reservationRepository.save(new Reservation(
+                UUID.randomUUID().toString(), productId, amount, now, now.plus(effectiveTtl)));
+        counters.get(Status.ACTIVE).increment();
+        return reservation;
+    }
+
+    /**
+     * Obtiene una reserva.
+     *
+     * @param reservationId identificador de la reserva
+     * @return la reserva
+     * @throws ReservationNotFoundException si no existe
+     */
+    @Transactional(readOnly = true)
+    public Reservation getReservation(String reservationId) {
+        return reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new ReservationNotFoundException(reservationId));
+    }
+
+    /**
+     * Confirma una reserva: sus unidades se descuentan del stock.
+     * Confirmar una reserva ya confirmada no tiene efecto.
+     *
+     * @param reservationId identificador de la reserva
+     * @return la reserva confirmada
+     * @throws ReservationNotFoundException si no existe
+     * @throws ReservationConflictException si está liberada o caducada
+     */
+    @Transactional
+    public Reservation confirm(String reservationId) {
+        Reservation reservation = lock(reservationId);
+        if (reservation.getStatus() == Status.CONFIRMED) {
+            return reservation;
+        }
+        if (reservation.getStatus() != Status.ACTIVE || reservation.isExpiredAt(Instant.now())) {
+            throw new ReservationConflictException("Reservation " + reservationId + " can no longer be confirmed: "
+                    + (reservation.getStatus() == Status.ACTIVE ? Status.EXPIRED : reservation.getStatus()));
+        }
+
+        // El cambio de estado se vuelca antes del UPDATE masivo, que limpia el contexto de persistencia
+        reservation.finish(Status.CONFIRMED);
+        inventoryRepository.confirmReserved(reservation.getProductId(), reservation.getAmount());
+        counters.get(Status.CONFIRMED).increment();
+        return reservation;
+    }
+
+    /**
+     * Libera una reserva: sus unidades vuelven a estar disponibles.
+     * Liberar una reserva ya liberada o caducada no tiene efecto.
+     *
+     * @param reservationId identificador de la reserva
+     * @return la reserva liberada (o caducada)
+     * @throws ReservationNotFoundException si no existe
+     * @throws ReservationConflictException si ya está confirmada
+     */
+    @Transactional
+    public Reservation release(String reservationId) {
+        Reservation reservation = lock(reservationId);
+        if (reservation.getStatus() == Status.RELEASED || reservation.getStatus() == Status.EXPIRED) {
+            return reservation;
+        }
+        if (reservation.getStatus() == Status.CONFIRMED) {
+            throw new ReservationConflictException("Reservation " + reservationId + " is already confirmed");
+        }
+
+        reservation.finish(Status.RELEASED);
+        inventoryRepository.releaseReserved(reservation.getProductId(), reservation.getAmount());
+        counters.get(Status.RELEASED).increment();
+        return reservation;
+    }
+
+    /**
+     * Caduca las reservas activas cuyo plazo terminó, en lotes de
+     * {@code inventory.reservations.sweep-batch-size}.
+     */
+    @Scheduled(fixedDelayString = "${inventory.reservations.sweep-interval-ms:1000}")
+    public void expireReservations() {
+        try {
+            int expired;
+            do {
+                Instant now = Instant.now();
+                expired = transactionTemplate.execute(status -> expireBatch(now));
+            } while (expired == sweepBatchSize);
+        } catch (RuntimeException ex) {
+            log.warn("Reservation expiry sweep failed, will retry: {}", ex.toString());
+        }
+    }
+
+    private int expireBatch(Instant now) {
+        List<Reservation> expired = reservationRepository.findExpiredForUpdate(
+                Status.ACTIVE, now, Limit.of(sweepBatchSize));
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        // Una sentencia por producto, en orden de productId como el resto de rutas que bloquean varias filas
+        Map<Long, Integer> releasedByProduct = new TreeMap<>();
+        for (Reservation reservation : expired) {
+            reservation.finish(Status.EXPIRED);
+            releasedByProduct.merge(reservation.getProductId(), reservation.getAmount(), Integer::sum);
+        }
+        releasedByProduct.forEach(inventoryRepository::releaseReserved);
+
+        counters.get(Status.EXPIRED).increment(expired.size());
+        return expired.size();
+    }
+
+    private Reservation lock(String reservationId) {
+        return reservationRepository.findForUpdateById(reservationId)
+                .orElseThrow(() -> new ReservationNotFoundException(reservationId));
+    }
+}
@@ -0,0 +1,271 @@
+package com.service.inventory.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Diario local (journal) de solo escritura para los descuentos de stock
+ * del modo de productos de alta demanda.
+ *
+ * <p>
+ * Cada descuento se añade como un registro de tamaño fijo
+ * ({@code productId}, {@code amount}, CRC32) al segmento activo.
+ * Con {@code fsync} activado, {@link #sync(Position)} agrupa las escrituras
+ * concurrentes en un único {@link FileChannel#force(boolean)}
+ * (group commit), por lo que el coste del disco se reparte entre
+ * todas las compras que llegan a la vez.
+ * </p>
+ *
+ * <p>
+ * Los segmentos se rotan en cada volcado a la base de datos y se borran
+ * cuando sus descuentos ya están confirmados allí. Un registro final
+ * incompleto o corrupto (escritura interrumpida por una caída) se ignora.
+ * </p>
+ *
+ * <p>
+ * {@link #append} y {@link #rotate()} no deben solaparse (el llamador lo
+ * garantiza); {@link #sync(Position)} sí puede coincidir con una rotación:
+ * ambas toman {@code forceLock} y las posiciones llevan el número de
+ * segmento, de modo que una posición de un segmento ya cerrado nunca marca
+ * como persistido el segmento nuevo.
+ * </p>
+ */
+final class StockJournal implements Closeable {
+
+    private static final int RECORD_SIZE = Long.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("hot-sku-(\\d+)\\.journal");
+
+    private final Path directory;
+    private final boolean fsync;
+    private final Object forceLock = new Object();
+
+    private FileChannel channel;
+    private long segment;
+    private long writtenOffset;
+    private volatile Position durable = new Position(0, 0);
+
+    /**
+     * Posición final de un registro: segmento y desplazamiento dentro de él.
+     *
+     * @param segment número del segmento
+     * @param offset  bytes escritos en el segmento hasta el final del registro
+     */
+    record Position(long segment, long offset) {
+
+        private boolean isCoveredBy(Position durable) {
+            // Los segmentos anteriores se persistieron al rotar
+            return segment < durable.segment || (segment == durable.segment && offset <= durable.offset);
+        }
+    }
+
+    StockJournal(Path directory, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Abre un segmento nuevo para escritura.
+     *
+     * @param segment número del segmento
+     */
+    synchronized void open(long segment) throws IOException {
+        this.segment = segment;
+        this.channel = FileChannel.open(segmentPath(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.writtenOffset = 0;
+        this.durable = new Position(segment, 0);
+    }
+
+    /**
+     * Añade un registro al segmento activo.
+     *
+     * @param productId identificador del producto
+     * @param amount    cantidad descontada (negativa para una devolución)
+     * @return posición final del registro, a usar con {@link #sync(Position)}
+     */
+    synchronized Position append(long productId, int amount) {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+        buffer.putLong(productId).putInt(amount).putInt(checksum(productId, amount)).flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot write hot-SKU journal", ex);
+        }
+        writtenOffset += RECORD_SIZE;
+        return new Position(segment, writtenOffset);
+    }
+
+    /**
+     * Espera a que el registro que termina en {@code position} esté en disco.
+     * El primer hilo en llegar fuerza todo lo escrito hasta ese momento;
+     * los demás encuentran su registro ya persistido y retornan. Si el
+     * segmento del registro ya se rotó, la rotación lo persistió.
+     *
+     * @param position posición devuelta por {@link #append(long, int)}
+     */
+    void sync(Position position) {
+        if (!fsync || position.isCoveredBy(durable)) {
+            return;
+        }
+        synchronized (forceLock) {
+            if (position.isCoveredBy(durable)) {
+                return;
+            }
+            Position target;
+            FileChannel current;
+            synchronized (this) {
+                target = new Position(segment, writtenOffset);
+                current = channel;
+            }
+            // Con forceLock tomado, rotate() no puede cerrar el canal entre medias
+            try {
+                current.force(false);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot sync hot-SKU journal", ex);
+            }
+            durable = target;
+        }
+    }
+
+    /**
+     * Cierra el segmento activo (persistiéndolo) y abre el siguiente.
+     *
+     * @return número del segmento cerrado
+     */
+    long rotate() throws IOException {
+        synchronized (forceLock) {
+            synchronized (this) {
+                long closed = segment;
+                channel.force(false);
+                channel.close();
+                open(closed + 1);
+                return closed;
+            }
+        }
+    }
+
+    /**
+     * Borra los segmentos cuyo número es menor o igual que {@code segment}.
+     *
+     * @param segment último segmento ya aplicado en la base de datos
+     */
+    void deleteUpTo(long segment) throws IOException {
+        for (Path path : segments()) {
+            if (segmentNumber(path) <= segment) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * Lista los segmentos existentes ordenados por número.
+     */
+    List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches())
+                    .sorted(Comparator.comparingLong(StockJournal::segmentNumber))
+                    .toList();
+        }
+    }
+
+    /**
+     * Obtiene el número de un segmento a partir del nombre de su archivo.
+     */
+    static long segmentNumber(Path path) {
+        Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a journal segment: " + path);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    /**
+     * Lee un segmento y acumula sus descuentos por producto.
+     * Se detiene en el primer registro incompleto o corrupto.
+     *
+     * @param path archivo del segmento
+     * @return descuento acumulado por producto
+     */
+    static Map<Long, Long> read(Path path) throws IOException {
+        Map<Long, Long> deltas = new HashMap<>();
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (true) {
+                buffer.clear();
+                if (!readFully(in, buffer)) {
+                    break;
+                }
+                buffer.flip();
+                long productId = buffer.getLong();
+                int amount = buffer.getInt();
+                if (buffer.getInt() != checksum(productId, amount)) {
+                    break;
+                }
+                deltas.merge(productId, (long) amount, Long::sum);
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * Lee varios segmentos y acumula sus descuentos por producto.
+     *
+     * @param segments archivos de los segmentos
+     * @return descuento acumulado por producto
+     */
+    static Map<Long, Long> readAll(List<Path> segments) throws IOException {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Path path : segments) {
+            read(path).forEach((productId, delta) -> deltas.merge(productId, delta, Long::sum));
+        }
+        return deltas;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (forceLock) {
+            synchronized (this) {
+                if (channel != null && channel.isOpen()) {
+                    channel.force(false);
+                    channel.close();
+                }
+            }
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve("hot-sku-" + segment + ".journal");
+    }
+
+    private static boolean readFully(FileChannel in, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int checksum(long productId, int amount) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(Long.BYTES + Integer.BYTES).putLong(productId).putInt(amount).flip());
+        return (int) crc.getValue();
+    }
+}
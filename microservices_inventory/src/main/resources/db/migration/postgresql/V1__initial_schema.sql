@@ -0,0 +1,90 @@
+-- Esquema inicial de inventory-service.
+--
+-- Todas las sentencias son idempotentes: en las bases creadas antes por
+-- Hibernate (ddl-auto=update), marcadas con la versión 0 por
+-- baseline-on-migrate, V1 solo añade lo que falte.
+
+CREATE SEQUENCE IF NOT EXISTS inventory_seq START WITH 1 INCREMENT BY 50;
+
+-- Cada compra, reserva o volcado de un producto de alta demanda actualiza su fila.
+-- Con fillfactor 80 cada página conserva un 20 % libre para que la nueva versión de
+-- la fila quede en la misma página, sin extender la tabla ni dispersar las filas.
+-- Las búsquedas por producto usan la restricción única de product_id.
+CREATE TABLE IF NOT EXISTS inventory (
+    id         bigint  NOT NULL,
+    product_id bigint  NOT NULL,
+    quantity   integer NOT NULL,
+    reserved   integer NOT NULL DEFAULT 0,
+    CONSTRAINT inventory_pkey PRIMARY KEY (id),
+    CONSTRAINT inventory_product_id_key UNIQUE (product_id)
+) WITH (fillfactor = 80);
+
+ALTER TABLE inventory ADD COLUMN IF NOT EXISTS reserved integer NOT NULL DEFAULT 0;
+-- En tablas ya existentes solo afecta a las páginas nuevas
+ALTER TABLE inventory SET (fillfactor = 80);
+
+-- En las bases creadas antes con ddl-auto=update los IDs los generaba una columna
+-- IDENTITY y la secuencia sigue en 1: sin este ajuste, el primer alta chocaría con un
+-- ID existente. Hibernate reserva bloques de 50 (optimizador pooled) y el valor de la
+-- secuencia es el último ID del bloque, así que se fija en MAX(id) (ya consumido) y el
+-- siguiente bloque empieza en MAX(id) + 1. Nunca retrocede una secuencia ya en uso.
+SELECT setval('inventory_seq', GREATEST(
+    (SELECT COALESCE(MAX(id), 0) FROM inventory),
+    (SELECT last_value FROM inventory_seq)));
+
+-- Productos con poco stock disponible (GET /inventory/low-stock), ordenados por
+-- disponible: el índice parcial solo contiene las filas por debajo del umbral
+-- (Inventory.LOW_STOCK_THRESHOLD), así que es pequeño y la consulta no recorre la tabla.
+-- Contrapartida: al indexar quantity y reserved, sus actualizaciones dejan de ser HOT
+-- y añaden entradas a los índices de la tabla. Si no se usa el endpoint, eliminar el
+-- índice en una migración posterior devuelve las actualizaciones HOT.
+CREATE INDEX IF NOT EXISTS idx_inventory_low_stock
+    ON inventory ((quantity - reserved), product_id)
+    WHERE quantity - reserved < 10;
+
+CREATE TABLE IF NOT EXISTS known_products (
+    product_id    bigint       NOT NULL,
+    name          varchar(100),
+    price         float(53),
+    description   varchar(255),
+    deleted       boolean      NOT NULL,
+    last_event_id bigint       NOT NULL,
+    CONSTRAINT known_products_pkey PRIMARY KEY (product_id)
+);
+
+CREATE TABLE IF NOT EXISTS journal_checkpoint (
+    name    varchar(50) NOT NULL,
+    segment bigint      NOT NULL,
+    CONSTRAINT journal_checkpoint_pkey PRIMARY KEY (name)
+);
+
+CREATE TABLE IF NOT EXISTS replication_checkpoint (
+    name          varchar(50) NOT NULL,
+    last_event_id bigint      NOT NULL,
+    CONSTRAINT replication_checkpoint_pkey PRIMARY KEY (name)
+);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key    varchar(255)                NOT NULL,
+    product_id         bigint                      NOT NULL,
+    amount             integer                     NOT NULL,
+    remaining_quantity integer                     NOT NULL,
+    created_at         timestamp(6) with time zone NOT NULL,
+    CONSTRAINT idempotency_keys_pkey PRIMARY KEY (idempotency_key)
+);
+
+-- Purga de claves caducadas (created_at < :cutoff)
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys (created_at);
+
+CREATE TABLE IF NOT EXISTS reservations (
+    id         varchar(36)                 NOT NULL,
+    product_id bigint                      NOT NULL,
+    amount     integer                     NOT NULL,
+    status     varchar(16)                 NOT NULL,
+    expires_at timestamp(6) with time zone NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    CONSTRAINT reservations_pkey PRIMARY KEY (id)
+);
+
+-- Barrido de reservas caducadas (status = 'ACTIVE' AND expires_at <= :now ORDER BY expires_at)
+CREATE INDEX IF NOT EXISTS idx_reservations_status_expires_at ON reservations (status, expires_at);
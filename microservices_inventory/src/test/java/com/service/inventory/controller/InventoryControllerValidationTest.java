@@ -0,0 +1,56 @@
+package com.service.inventory.controller;
+
+import com.service.inventory.service.AsyncPurchaseService;
+import com.service.inventory.service.IdempotentPurchaseService;
+import com.service.inventory.service.InventoryService;
+import com.service.inventory.service.PurchaseMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Una cantidad nula, cero o negativa se rechaza con 400 antes de llegar al
+ * servicio: un negativo pasaría la condición del {@code UPDATE} y sumaría stock.
+ */
+class InventoryControllerValidationTest {
+
+    private InventoryService inventoryService;
+    private IdempotentPurchaseService idempotentPurchases;
+    private AsyncPurchaseService asyncPurchases;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        inventoryService = mock(InventoryService.class);
+        idempotentPurchases = mock(IdempotentPurchaseService.class);
+        asyncPurchases = mock(AsyncPurchaseService.class);
+        when(asyncPurchases.isEnabled()).thenReturn(true);
+        mvc = MockMvcBuilders.standaloneSetup(new InventoryController(
+                inventoryService, idempotentPurchases, asyncPurchases, mock(PurchaseMetrics.class)
+        )).build();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{}", "{\"amount\":null}", "{\"amount\":0}", "{\"amount\":-5}"})
+    void invalidAmountIsRejected(String body) throws Exception {
+        mvc.perform(post("/inventory/1/purchase").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/inventory/1/purchase").contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header(InventoryController.IDEMPOTENCY_KEY_HEADER, "key-1"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/inventory/1/purchase").contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header("Prefer", "respond-async"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(inventoryService, idempotentPurchases);
+    }
+}
@@ -0,0 +1,176 @@
+package com.service.inventory.service;
+
+import com.service.inventory.client.ProductCache;
+import com.service.inventory.dto.AsyncPurchaseDTO;
+import com.service.inventory.dto.AsyncPurchaseDTO.Status;
+import com.service.inventory.dto.ProductDTO;
+import com.service.inventory.exception.PurchaseQueueFullException;
+import com.service.inventory.model.Inventory;
+import com.service.inventory.repository.InventoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compras asíncronas con una sola partición contra H2 en modo PostgreSQL.
+ * La primera compra de cada test bloquea el hilo de la partición (en la
+ * consulta de productos) hasta que el test lo libera, de modo que las
+ * siguientes se acumulan en la cola y se aplican juntas en un lote.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:asyncpurchasetest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=10000",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AsyncPurchaseServiceTest {
+
+    private static final long PRODUCT_ID = 1L;
+    private static final long BLOCKER_PRODUCT_ID = 2L;
+    private static final int QUEUE_CAPACITY = 3;
+
+    @Configuration
+    @EntityScan(basePackageClasses = Inventory.class)
+    @EnableJpaRepositories(basePackageClasses = InventoryRepository.class)
+    static class TestConfig {
+    }
+
+    @Autowired
+    private InventoryRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final CountDownLatch workerBlocked = new CountDownLatch(1);
+    private final CountDownLatch releaseWorker = new CountDownLatch(1);
+
+    private AsyncPurchaseService service;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        repository.save(new Inventory(PRODUCT_ID, 3));
+        repository.save(new Inventory(BLOCKER_PRODUCT_ID, 100));
+
+        ProductCache productCache = mock(ProductCache.class);
+        doAnswer(invocation -> {
+            Collection<Long> productIds = invocation.getArgument(0);
+            if (productIds.contains(BLOCKER_PRODUCT_ID)) {
+                workerBlocked.countDown();
+                assertThat(releaseWorker.await(10, TimeUnit.SECONDS)).isTrue();
+            }
+            Map<Long, Optional<ProductDTO>> products = new HashMap<>();
+            productIds.forEach(productId -> products.put(productId, Optional.of(new ProductDTO())));
+            return products;
+        }).when(productCache).findAll(anyCollection());
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        service = new AsyncPurchaseService(repository, productCache, mock(HotStockService.class),
+                new PurchaseMetrics(meterRegistry), transactionManager, meterRegistry,
+                true, 1, QUEUE_CAPACITY, 200, Duration.ofMinutes(10), 1000, Duration.ofSeconds(25));
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        releaseWorker.countDown();
+        service.stop();
+    }
+
+    @Test
+    void fullQueueIsRejectedWith429() throws InterruptedException {
+        blockWorker();
+        for (int i = 0; i < QUEUE_CAPACITY; i++) {
+            service.submit(PRODUCT_ID, 1);
+        }
+
+        assertThatThrownBy(() -> service.submit(PRODUCT_ID, 1)).isInstanceOf(PurchaseQueueFullException.class);
+        ResponseStatus status = AnnotatedElementUtils.findMergedAnnotation(
+                PurchaseQueueFullException.class, ResponseStatus.class);
+        assertThat(status.code()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    void batchAllocatesStockInArrivalOrder() throws Exception {
+        blockWorker();
+        // Stock 3: la segunda compra no cabe tras la primera, pero la tercera sí
+        AsyncPurchaseDTO first = service.submit(PRODUCT_ID, 2);
+        AsyncPurchaseDTO second = service.submit(PRODUCT_ID, 2);
+        AsyncPurchaseDTO third = service.submit(PRODUCT_ID, 1);
+        releaseWorker.countDown();
+
+        AsyncPurchaseDTO.Attributes firstResult = result(first);
+        AsyncPurchaseDTO.Attributes secondResult = result(second);
+        AsyncPurchaseDTO.Attributes thirdResult = result(third);
+
+        assertThat(firstResult.status()).isEqualTo(Status.COMPLETED);
+        assertThat(firstResult.remainingQuantity()).isEqualTo(1);
+        assertThat(secondResult.status()).isEqualTo(Status.REJECTED);
+        assertThat(secondResult.remainingQuantity()).isNull();
+        assertThat(secondResult.error()).contains(String.valueOf(PRODUCT_ID));
+        assertThat(thirdResult.status()).isEqualTo(Status.COMPLETED);
+        assertThat(thirdResult.remainingQuantity()).isZero();
+        assertThat(repository.findByProductId(PRODUCT_ID).orElseThrow().getQuantity()).isZero();
+    }
+
+    @Test
+    void longPollCompletesWhenPurchaseIsApplied() throws Exception {
+        blockWorker();
+        AsyncPurchaseDTO accepted = service.submit(PRODUCT_ID, 1);
+        assertThat(accepted.attributes().status()).isEqualTo(Status.PENDING);
+
+        // Sin terminar dentro de la espera: responde con el estado pendiente
+        assertThat(service.await(accepted.id(), Duration.ofMillis(100)).get(5, TimeUnit.SECONDS)
+                .attributes().status()).isEqualTo(Status.PENDING);
+
+        CompletableFuture<AsyncPurchaseDTO> poll = service.await(accepted.id(), Duration.ofSeconds(20));
+        assertThat(poll).isNotDone();
+        releaseWorker.countDown();
+
+        AsyncPurchaseDTO completed = poll.get(10, TimeUnit.SECONDS);
+        assertThat(completed.attributes().status()).isEqualTo(Status.COMPLETED);
+        assertThat(completed.attributes().remainingQuantity()).isEqualTo(2);
+    }
+
+    /**
+     * Encola una compra que deja el hilo de la partición bloqueado hasta
+     * {@link #releaseWorker}; la cola queda vacía.
+     */
+    private void blockWorker() throws InterruptedException {
+        service.submit(BLOCKER_PRODUCT_ID, 1);
+        assertThat(workerBlocked.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private AsyncPurchaseDTO.Attributes result(AsyncPurchaseDTO accepted) throws Exception {
+        return service.await(accepted.id(), Duration.ofSeconds(10)).get(15, TimeUnit.SECONDS).attributes();
+    }
+}
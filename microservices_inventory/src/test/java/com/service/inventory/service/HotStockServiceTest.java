@@ -0,0 +1,229 @@
+package com.service.inventory.service;
+
+import com.service.inventory.model.Inventory;
+import com.service.inventory.model.JournalCheckpoint;
+import com.service.inventory.repository.InventoryRepository;
+import com.service.inventory.repository.JournalCheckpointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+/**
+ * Diario y recuperación del modo de productos de alta demanda: un fallo del
+ * diario no se lleva stock, un arranque tras una caída reproduce los
+ * descuentos no volcados y una devolución tardía no pisa una cantidad fijada
+ * después con {@code setQuantity}.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:hotstocktest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HotStockServiceTest {
+
+    private static final long PRODUCT_ID = 1L;
+    private static final int INITIAL_STOCK = 100;
+
+    @Configuration
+    @EntityScan(basePackageClasses = Inventory.class)
+    @EnableJpaRepositories(basePackageClasses = InventoryRepository.class)
+    static class TestConfig {
+    }
+
+    @Autowired
+    private InventoryRepository repository;
+
+    @Autowired
+    private JournalCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path journalDirectory;
+
+    private HotStockService service;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        checkpointRepository.deleteAll();
+        repository.save(new Inventory(PRODUCT_ID, INITIAL_STOCK));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void appendFailureGivesTheUnitsBack() throws IOException {
+        service = start();
+        StockJournal journal = spyJournal();
+        doThrow(new UncheckedIOException(new IOException("disk full")))
+                .doCallRealMethod()
+                .when(journal).append(anyLong(), anyInt());
+
+        assertThatThrownBy(() -> service.decrease(PRODUCT_ID, 5)).isInstanceOf(UncheckedIOException.class);
+
+        assertThat(service.getInventory(PRODUCT_ID).getQuantity()).isEqualTo(INITIAL_STOCK);
+        service.flush();
+        assertThat(storedQuantity()).isEqualTo(INITIAL_STOCK);
+
+        // El diario vuelve a funcionar: la siguiente compra se descuenta con normalidad
+        assertThat(service.decrease(PRODUCT_ID, 5).getQuantity()).isEqualTo(INITIAL_STOCK - 5);
+    }
+
+    @Test
+    void syncFailureOutsideTransactionGivesTheUnitsBack() throws IOException {
+        service = start();
+        StockJournal journal = spyJournal();
+        doThrow(new UncheckedIOException(new IOException("I/O error")))
+                .doCallRealMethod()
+                .when(journal).sync(any());
+
+        assertThatThrownBy(() -> service.decrease(PRODUCT_ID, 5)).isInstanceOf(UncheckedIOException.class);
+
+        assertThat(service.getInventory(PRODUCT_ID).getQuantity()).isEqualTo(INITIAL_STOCK);
+        service.flush();
+        assertThat(storedQuantity()).isEqualTo(INITIAL_STOCK);
+    }
+
+    @Test
+    void syncFailureInTransactionGivesTheUnitsBackOnRollback() throws IOException {
+        service = start();
+        StockJournal journal = spyJournal();
+        doThrow(new UncheckedIOException(new IOException("I/O error")))
+                .doCallRealMethod()
+                .when(journal).sync(any());
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        assertThatThrownBy(() -> transaction.executeWithoutResult(status -> service.decrease(PRODUCT_ID, 5)))
+                .isInstanceOf(UncheckedIOException.class);
+
+        assertThat(service.getInventory(PRODUCT_ID).getQuantity()).isEqualTo(INITIAL_STOCK);
+        service.flush();
+        assertThat(storedQuantity()).isEqualTo(INITIAL_STOCK);
+    }
+
+    @Test
+    void rollbackAfterSetQuantityDoesNotRestoreUnits() throws IOException {
+        service = start();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            service.decrease(PRODUCT_ID, 5);
+            service.setQuantity(PRODUCT_ID, 50);
+            status.setRollbackOnly();
+        });
+
+        // La cantidad fijada sustituye al descuento revertido: no se devuelven las 5 unidades
+        assertThat(service.getInventory(PRODUCT_ID).getQuantity()).isEqualTo(50);
+        service.flush();
+        assertThat(storedQuantity()).isEqualTo(50);
+    }
+
+    @Test
+    void recoverReplaysSegmentsAfterTheCheckpoint() throws IOException {
+        checkpointRepository.save(new JournalCheckpoint("hot-sku", 1L));
+        writeSegment(1, 7);      // ya aplicado antes de la caída
+        writeSegment(2, 3, 2);   // pendiente
+        writeSegment(3, 4, -1);  // pendiente, con una devolución
+        // Registro final a medias: la caída interrumpió la escritura
+        try (FileChannel channel = FileChannel.open(journalDirectory.resolve("hot-sku-3.journal"),
+                StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 1, 2}));
+        }
+
+        service = start();
+
+        assertThat(storedQuantity()).isEqualTo(INITIAL_STOCK - 3 - 2 - 4 + 1);
+        assertThat(checkpointRepository.findById("hot-sku").orElseThrow().getSegment()).isEqualTo(3L);
+        assertThat(service.getInventory(PRODUCT_ID).getQuantity()).isEqualTo(INITIAL_STOCK - 8);
+        assertThat(journalDirectory.resolve("hot-sku-2.journal")).doesNotExist();
+    }
+
+    @Test
+    void restartWithoutFlushReplaysJournal() throws Exception {
+        service = start();
+        service.decrease(PRODUCT_ID, 3);
+        service.decrease(PRODUCT_ID, 4);
+        // Caída: el proceso termina sin volcar
+        crash(service);
+
+        service = start();
+
+        assertThat(storedQuantity()).isEqualTo(INITIAL_STOCK - 7);
+        assertThat(service.getInventory(PRODUCT_ID).getQuantity()).isEqualTo(INITIAL_STOCK - 7);
+    }
+
+    private HotStockService start() throws IOException {
+        // Volcados solo a petición del test
+        HotStockService hotStock = new HotStockService(repository, checkpointRepository, transactionManager,
+                new SimpleMeterRegistry(), true, Set.of(PRODUCT_ID), 4, 3_600_000L, 1_000_000,
+                journalDirectory, true);
+        hotStock.start();
+        return hotStock;
+    }
+
+    private StockJournal spyJournal() {
+        StockJournal journal = spy((StockJournal) ReflectionTestUtils.getField(service, "journal"));
+        ReflectionTestUtils.setField(service, "journal", journal);
+        return journal;
+    }
+
+    private static void crash(HotStockService hotStock) throws Exception {
+        ReflectionTestUtils.setField(hotStock, "running", false);
+        Thread flusher = (Thread) ReflectionTestUtils.getField(hotStock, "flusher");
+        flusher.interrupt();
+        flusher.join();
+        ((StockJournal) ReflectionTestUtils.getField(hotStock, "journal")).close();
+    }
+
+    private void writeSegment(long segment, int... amounts) throws IOException {
+        StockJournal journal = new StockJournal(journalDirectory, true);
+        journal.open(segment);
+        for (int amount : amounts) {
+            journal.append(PRODUCT_ID, amount);
+        }
+        journal.close();
+    }
+
+    private int storedQuantity() {
+        return repository.findByProductId(PRODUCT_ID).orElseThrow().getQuantity();
+    }
+}
@@ -0,0 +1,217 @@
+package com.service.inventory.service;
+
+import com.service.inventory.client.ProductCache;
+import com.service.inventory.dto.ProductDTO;
+import com.service.inventory.exception.IdempotencyKeyReusedException;
+import com.service.inventory.model.IdempotencyKey;
+import com.service.inventory.model.Inventory;
+import com.service.inventory.repository.IdempotencyKeyRepository;
+import com.service.inventory.repository.InventoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compras con {@code Idempotency-Key} contra H2 en modo PostgreSQL: una
+ * clave descuenta stock una sola vez, también con peticiones simultáneas.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotencytest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=10000",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotentPurchaseServiceTest {
+
+    private static final long PRODUCT_ID = 1L;
+    private static final int INITIAL_STOCK = 100;
+    private static final Duration TTL = Duration.ofHours(24);
+
+    @Configuration
+    @EntityScan(basePackageClasses = Inventory.class)
+    @EnableJpaRepositories(basePackageClasses = InventoryRepository.class)
+    @Import({InventoryService.class, PurchaseMetrics.class})
+    static class TestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockBean
+    private ProductCache productCache;
+
+    @MockBean
+    private HotStockService hotStock;
+
+    @SpyBean
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository keyRepository;
+
+    @Autowired
+    private PurchaseMetrics purchaseMetrics;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private IdempotentPurchaseService service;
+
+    @BeforeEach
+    void setUp() {
+        keyRepository.deleteAll();
+        inventoryRepository.deleteAll();
+        inventoryRepository.save(new Inventory(PRODUCT_ID, INITIAL_STOCK));
+        when(productCache.find(anyLong())).thenReturn(Optional.of(new ProductDTO()));
+        service = newService();
+    }
+
+    @Test
+    void replayReturnsStoredResponseWithoutDecreasingAgain() {
+        IdempotentPurchaseService.Result first = service.purchase("key-1", PRODUCT_ID, 5);
+        IdempotentPurchaseService.Result fromCache = service.purchase("key-1", PRODUCT_ID, 5);
+        // Otra instancia (caché vacía) responde desde la tabla idempotency_keys
+        IdempotentPurchaseService.Result fromDatabase = newService().purchase("key-1", PRODUCT_ID, 5);
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(first.response().attributes().remainingQuantity()).isEqualTo(INITIAL_STOCK - 5);
+        assertThat(fromCache.replayed()).isTrue();
+        assertThat(fromCache.response()).usingRecursiveComparison().isEqualTo(first.response());
+        assertThat(fromDatabase.replayed()).isTrue();
+        assertThat(fromDatabase.response()).usingRecursiveComparison().isEqualTo(first.response());
+
+        verify(inventoryService, times(1)).decreaseQuantity(anyLong(), anyInt());
+        assertThat(storedQuantity()).isEqualTo(INITIAL_STOCK - 5);
+    }
+
+    @Test
+    void reusingKeyForAnotherPurchaseIsRejected() {
+        inventoryRepository.save(new Inventory(PRODUCT_ID + 1, INITIAL_STOCK));
+        service.purchase("key-1", PRODUCT_ID, 5);
+
+        assertThatThrownBy(() -> service.purchase("key-1", PRODUCT_ID, 6))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThatThrownBy(() -> newService().purchase("key-1", PRODUCT_ID + 1, 5))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+
+        ResponseStatus status = AnnotatedElementUtils.findMergedAnnotation(
+                IdempotencyKeyReusedException.class, ResponseStatus.class);
+        assertThat(status.code()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        verify(inventoryService, times(1)).decreaseQuantity(anyLong(), anyInt());
+        assertThat(storedQuantity()).isEqualTo(INITIAL_STOCK - 5);
+    }
+
+    @Test
+    void failedPurchaseDoesNotStoreKey() {
+        assertThatThrownBy(() -> service.purchase("key-1", PRODUCT_ID, INITIAL_STOCK + 1))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(keyRepository.findById("key-1")).isEmpty();
+        assertThat(service.purchase("key-1", PRODUCT_ID, 5).replayed()).isFalse();
+    }
+
+    @Test
+    void concurrentRequestsWithSameKeyDecreaseOnce() throws Exception {
+        // Las dos peticiones pasan la búsqueda de la clave antes de que ninguna la inserte:
+        // la segunda falla al insertarla, se revierte y responde con la compra de la primera
+        CyclicBarrier bothInTransaction = new CyclicBarrier(2);
+        doAnswer(invocation -> {
+            bothInTransaction.await(10, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(inventoryService).decreaseQuantity(any(), any());
+
+        double databaseReplays = databaseReplays();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<IdempotentPurchaseService.Result>> results;
+        try {
+            results = List.of(
+                    executor.submit(() -> service.purchase("key-1", PRODUCT_ID, 5)),
+                    executor.submit(() -> newService().purchase("key-1", PRODUCT_ID, 5)));
+        } finally {
+            executor.shutdown();
+        }
+        IdempotentPurchaseService.Result first = results.get(0).get(30, TimeUnit.SECONDS);
+        IdempotentPurchaseService.Result second = results.get(1).get(30, TimeUnit.SECONDS);
+
+        assertThat(List.of(first.replayed(), second.replayed())).containsExactlyInAnyOrder(false, true);
+        assertThat(first.response()).usingRecursiveComparison().isEqualTo(second.response());
+        assertThat(first.response().attributes().remainingQuantity()).isEqualTo(INITIAL_STOCK - 5);
+        verify(inventoryService, times(2)).decreaseQuantity(anyLong(), anyInt());
+        assertThat(storedQuantity()).isEqualTo(INITIAL_STOCK - 5);
+        assertThat(keyRepository.count()).isEqualTo(1);
+        // La repetición salió de la relectura tras el error de clave duplicada
+        assertThat(databaseReplays() - databaseReplays).isEqualTo(1);
+    }
+
+    @Test
+    void purgeExpiredDeletesOnlyKeysOlderThanTtl() {
+        Instant now = Instant.now();
+        keyRepository.save(new IdempotencyKey("expired", PRODUCT_ID, 1, 99, now.minus(TTL).minusSeconds(60)));
+        keyRepository.save(new IdempotencyKey("recent", PRODUCT_ID, 1, 98, now.minus(TTL).plusSeconds(60)));
+
+        service.purgeExpired();
+
+        assertThat(keyRepository.findById("expired")).isEmpty();
+        assertThat(keyRepository.findById("recent")).isPresent();
+    }
+
+    private IdempotentPurchaseService newService() {
+        return new IdempotentPurchaseService(inventoryService, keyRepository, purchaseMetrics,
+                transactionManager, meterRegistry, TTL, 1000);
+    }
+
+    private double databaseReplays() {
+        return meterRegistry.get("inventory.idempotency.replays").tag("source", "database").counter().count();
+    }
+
+    private int storedQuantity() {
+        return inventoryRepository.findByProductId(PRODUCT_ID).orElseThrow().getQuantity();
+    }
+}
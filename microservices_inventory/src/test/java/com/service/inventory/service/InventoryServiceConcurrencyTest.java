@@ -0,0 +1,149 @@
+package com.service.inventory.service;
+
+import com.service.inventory.client.ProductCache;
+import com.service.inventory.dto.ProductDTO;
+import com.service.inventory.exception.InsufficientInventoryException;
+import com.service.inventory.exception.InventoryNotFoundException;
+import com.service.inventory.model.Inventory;
+import com.service.inventory.repository.InventoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compras concurrentes de un mismo producto contra H2 en modo PostgreSQL:
+ * el descuento con un único {@code UPDATE} condicional no puede vender más
+ * stock del que hay ni perder actualizaciones.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:inventorytest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=10000",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventoryServiceConcurrencyTest {
+
+    private static final long PRODUCT_ID = 1L;
+    private static final int INITIAL_STOCK = 200;
+    private static final int THREADS = 16;
+    private static final int PURCHASES_PER_THREAD = 25;
+
+    /**
+     * Solo la capa JPA y el servicio: sin clientes Feign ni configuración web.
+     */
+    @Configuration
+    @EntityScan(basePackageClasses = Inventory.class)
+    @EnableJpaRepositories(basePackageClasses = InventoryRepository.class)
+    @Import(InventoryService.class)
+    static class TestConfig {
+    }
+
+    @MockBean
+    private ProductCache productCache;
+
+    @MockBean
+    private HotStockService hotStock;
+
+    @Autowired
+    private InventoryService service;
+
+    @Autowired
+    private InventoryRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        repository.save(new Inventory(PRODUCT_ID, INITIAL_STOCK));
+        when(productCache.find(anyLong())).thenReturn(Optional.of(new ProductDTO()));
+    }
+
+    @Test
+    void concurrentPurchasesNeverOversell() throws Exception {
+        Set<Integer> remainingSeen = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<int[]>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    int sold = 0;
+                    int rejected = 0;
+                    start.await();
+                    for (int j = 0; j < PURCHASES_PER_THREAD; j++) {
+                        try {
+                            int remaining = service.decreaseQuantity(PRODUCT_ID, 1).getQuantity();
+                            // Cada compra aceptada deja una cantidad distinta
+                            assertThat(remainingSeen.add(remaining)).isTrue();
+                            sold++;
+                        } catch (InsufficientInventoryException ex) {
+                            rejected++;
+                        }
+                    }
+                    return new int[]{sold, rejected};
+                }));
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        int sold = 0;
+        int rejected = 0;
+        for (Future<int[]> result : results) {
+            sold += result.get()[0];
+            rejected += result.get()[1];
+        }
+        int remaining = repository.findByProductId(PRODUCT_ID).orElseThrow().getQuantity();
+
+        assertThat(remaining).isGreaterThanOrEqualTo(0);
+        assertThat(sold + remaining).isEqualTo(INITIAL_STOCK);
+        // La demanda supera el stock: se agota y el resto de compras se rechaza
+        assertThat(remaining).isZero();
+        assertThat(rejected).isEqualTo(THREADS * PURCHASES_PER_THREAD - INITIAL_STOCK);
+    }
+
+    @Test
+    void purchaseReturnsRemainingQuantityFromUpdate() {
+        Inventory inventory = service.decreaseQuantity(PRODUCT_ID, 5);
+
+        assertThat(inventory.getProductId()).isEqualTo(PRODUCT_ID);
+        assertThat(inventory.getQuantity()).isEqualTo(INITIAL_STOCK - 5);
+        assertThat(repository.findByProductId(PRODUCT_ID).orElseThrow().getQuantity())
+                .isEqualTo(INITIAL_STOCK - 5);
+    }
+
+    @Test
+    void purchaseWithoutInventoryFails() {
+        assertThatThrownBy(() -> service.decreaseQuantity(PRODUCT_ID + 1, 1))
+                .isInstanceOf(InventoryNotFoundException.class);
+        assertThatThrownBy(() -> service.decreaseQuantity(PRODUCT_ID, INITIAL_STOCK + 1))
+                .isInstanceOf(InsufficientInventoryException.class);
+    }
+}
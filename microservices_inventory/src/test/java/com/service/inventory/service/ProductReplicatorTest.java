@@ -0,0 +1,216 @@
+package com.service.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.service.inventory.client.ProductCache;
+import com.service.inventory.client.ProductClient;
+import com.service.inventory.client.ProductReplica;
+import com.service.inventory.dto.ProductEventDTO;
+import com.service.inventory.model.Inventory;
+import com.service.inventory.model.KnownProduct;
+import com.service.inventory.model.ReplicationCheckpoint;
+import com.service.inventory.repository.InventoryRepository;
+import com.service.inventory.repository.KnownProductRepository;
+import com.service.inventory.repository.ReplicationCheckpointRepository;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Replicación del catálogo contra H2 en modo PostgreSQL, con el feed de
+ * products-service simulado en memoria: la réplica solo responde al alcanzar
+ * el final del feed, un punto de control ya podado recarga la exportación y
+ * los huecos atravesados por timeout se releen.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:productreplicatortest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductReplicatorTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Configuration
+    @EntityScan(basePackageClasses = Inventory.class)
+    @EnableJpaRepositories(basePackageClasses = InventoryRepository.class)
+    static class TestConfig {
+    }
+
+    @Autowired
+    private KnownProductRepository knownProductRepository;
+
+    @Autowired
+    private ReplicationCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Eventos visibles en products-service, por ID.
+     */
+    private final NavigableMap<Long, ProductEventDTO> feed = new TreeMap<>();
+
+    /**
+     * Primer ID de evento conservado tras la poda.
+     */
+    private long firstRetained = 1;
+
+    private String export = "";
+
+    private ProductClient productClient;
+    private ProductReplica replica;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        knownProductRepository.deleteAll();
+        checkpointRepository.deleteAll();
+
+        productClient = mock(ProductClient.class);
+        when(productClient.getProductEvents(anyLong(), anyInt())).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            List<ProductEventDTO> page = feed.tailMap(after, false).values().stream().limit(limit).toList();
+            if (after + 1 < firstRetained) {
+                throw new FeignException.Gone("Gone", request("/products/events"), null, Map.of());
+            }
+            return page;
+        });
+        when(productClient.getLastProductEventId()).thenAnswer(invocation -> feed.isEmpty() ? 0L : feed.lastKey());
+        when(productClient.getFirstProductEventId()).thenAnswer(invocation -> feed.isEmpty() ? 0L : feed.firstKey());
+        when(productClient.exportProducts()).thenAnswer(invocation -> Response.builder()
+                .status(200)
+                .request(request("/products/export"))
+                .headers(Map.of())
+                .body(export, StandardCharsets.UTF_8)
+                .build());
+
+        replica = new ProductReplica(knownProductRepository);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void replicaIsReadyOnlyAfterReachingTheFeedHead() {
+        checkpointRepository.save(new ReplicationCheckpoint("products", 0L));
+        event(1, 10, "CREATED", "Silla");
+        event(2, 11, "CREATED", "Mesa");
+        event(3, 12, "CREATED", "Estante");
+
+        List<Boolean> readyWhileReading = new ArrayList<>();
+        ProductClient feedClient = productClient;
+        productClient = mock(ProductClient.class);
+        when(productClient.getProductEvents(anyLong(), anyInt())).thenAnswer(invocation -> {
+            readyWhileReading.add(replica.isReady());
+            return feedClient.getProductEvents(invocation.getArgument(0), invocation.getArgument(1));
+        });
+
+        newReplicator(Duration.ofSeconds(10)).poll();
+
+        // Dos páginas: la primera completa y la segunda llega al final
+        assertThat(readyWhileReading).containsExactly(false, false);
+        assertThat(replica.isReady()).isTrue();
+        assertThat(knownProductRepository.count()).isEqualTo(3);
+        assertThat(storedCheckpoint()).isEqualTo(3);
+    }
+
+    @Test
+    void prunedCheckpointReloadsReplicaFromExport() {
+        // Réplica anterior: productos 10 y 11 aplicados hasta el evento 2
+        checkpointRepository.save(new ReplicationCheckpoint("products", 0L));
+        event(1, 10, "CREATED", "Silla");
+        event(2, 11, "CREATED", "Mesa");
+        newReplicator(Duration.ofSeconds(10)).poll();
+        assertThat(storedCheckpoint()).isEqualTo(2);
+
+        // Sin leer el feed: el producto 11 se elimina, el 10 cambia y se podan esos eventos
+        feed.clear();
+        event(20, 12, "CREATED", "Estante");
+        firstRetained = 20;
+        export = """
+                {"id":10,"name":"Silla plegable","price":25.0}
+                {"id":12,"name":"Estante","price":40.0}
+                """;
+
+        newReplicator(Duration.ofSeconds(10)).poll();
+
+        assertThat(knownProductRepository.findById(11L).orElseThrow().isDeleted()).isTrue();
+        assertThat(replica.find(10L).flatMap(KnownProduct::toProduct).orElseThrow().getName())
+                .isEqualTo("Silla plegable");
+        assertThat(replica.find(12L).flatMap(KnownProduct::toProduct)).isPresent();
+        assertThat(storedCheckpoint()).isEqualTo(20);
+        assertThat(replica.isReady()).isTrue();
+        assertThat(meterRegistry.get("inventory.product_replica.reloads").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void skippedGapIsReadAgainWhenItCommits() {
+        checkpointRepository.save(new ReplicationCheckpoint("products", 0L));
+        event(1, 10, "CREATED", "Silla");
+        // El evento 2 pertenece a una transacción que aún no ha confirmado
+        event(3, 12, "CREATED", "Estante");
+        ProductReplicator replicator = newReplicator(Duration.ZERO);
+
+        replicator.poll();
+
+        assertThat(storedCheckpoint()).isEqualTo(3);
+        assertThat(knownProductRepository.findById(11L)).isEmpty();
+
+        event(2, 11, "CREATED", "Mesa");
+        replicator.poll();
+
+        assertThat(replica.find(11L).flatMap(KnownProduct::toProduct)).isPresent();
+        assertThat(meterRegistry.get("inventory.product_replica.gaps.reconciled").counter().count()).isEqualTo(1);
+    }
+
+    private ProductReplicator newReplicator(Duration gapTimeout) {
+        return new ProductReplicator(productClient, replica, mock(ProductCache.class), knownProductRepository,
+                checkpointRepository, transactionManager, new ObjectMapper(), meterRegistry,
+                true, BATCH_SIZE, gapTimeout, 1000, Duration.ofMinutes(10));
+    }
+
+    private void event(long id, long productId, String type, String name) {
+        ProductEventDTO event = new ProductEventDTO();
+        event.setId(id);
+        event.setProductId(productId);
+        event.setType(type);
+        event.setName(name);
+        event.setPrice(10.0);
+        feed.put(id, event);
+    }
+
+    private long storedCheckpoint() {
+        return checkpointRepository.findById("products").orElseThrow().getLastEventId();
+    }
+
+    private static Request request(String url) {
+        return Request.create(Request.HttpMethod.GET, url, Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+}
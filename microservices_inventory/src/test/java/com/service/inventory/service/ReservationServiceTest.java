@@ -0,0 +1,186 @@
+package com.service.inventory.service;
+
+import com.service.inventory.client.ProductCache;
+import com.service.inventory.dto.ProductDTO;
+import com.service.inventory.exception.InsufficientInventoryException;
+import com.service.inventory.exception.ReservationConflictException;
+import com.service.inventory.model.Inventory;
+import com.service.inventory.model.Reservation;
+import com.service.inventory.model.Reservation.Status;
+import com.service.inventory.repository.InventoryRepository;
+import com.service.inventory.repository.ReservationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reservas de stock contra H2 en modo PostgreSQL: reservar, confirmar,
+ * liberar y caducar mueven las unidades entre {@code quantity} y
+ * {@code reserved}, y compras y cambios de cantidad respetan lo reservado.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reservationtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=10000",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "inventory.reservations.sweep-batch-size=2"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReservationServiceTest {
+
+    private static final long PRODUCT_ID = 1L;
+    private static final int INITIAL_STOCK = 10;
+
+    @Configuration
+    @EntityScan(basePackageClasses = Inventory.class)
+    @EnableJpaRepositories(basePackageClasses = InventoryRepository.class)
+    @Import({ReservationService.class, InventoryService.class})
+    static class TestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockBean
+    private ProductCache productCache;
+
+    @MockBean
+    private HotStockService hotStock;
+
+    @Autowired
+    private ReservationService service;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        inventoryRepository.deleteAll();
+        inventoryRepository.save(new Inventory(PRODUCT_ID, INITIAL_STOCK));
+        when(productCache.find(anyLong())).thenReturn(Optional.of(new ProductDTO()));
+    }
+
+    @Test
+    void reserveHoldsUnitsAndConfirmDecreasesStockOnce() {
+        Reservation reservation = service.reserve(PRODUCT_ID, 4, null);
+
+        assertThat(reservation.getStatus()).isEqualTo(Status.ACTIVE);
+        assertStock(INITIAL_STOCK, 4);
+
+        assertThat(service.confirm(reservation.getId()).getStatus()).isEqualTo(Status.CONFIRMED);
+        assertStock(INITIAL_STOCK - 4, 0);
+
+        // Repetir la confirmación no vuelve a descontar
+        assertThat(service.confirm(reservation.getId()).getStatus()).isEqualTo(Status.CONFIRMED);
+        assertStock(INITIAL_STOCK - 4, 0);
+
+        assertThatThrownBy(() -> service.release(reservation.getId()))
+                .isInstanceOf(ReservationConflictException.class);
+        assertStock(INITIAL_STOCK - 4, 0);
+    }
+
+    @Test
+    void releaseReturnsUnitsOnce() {
+        Reservation reservation = service.reserve(PRODUCT_ID, 4, null);
+
+        assertThat(service.release(reservation.getId()).getStatus()).isEqualTo(Status.RELEASED);
+        assertStock(INITIAL_STOCK, 0);
+
+        // Repetir la liberación no vuelve a devolver unidades
+        assertThat(service.release(reservation.getId()).getStatus()).isEqualTo(Status.RELEASED);
+        assertStock(INITIAL_STOCK, 0);
+
+        assertThatThrownBy(() -> service.confirm(reservation.getId()))
+                .isInstanceOf(ReservationConflictException.class);
+        assertStock(INITIAL_STOCK, 0);
+    }
+
+    @Test
+    void reserveFailsWithoutEnoughAvailableStock() {
+        service.reserve(PRODUCT_ID, 8, null);
+
+        assertThatThrownBy(() -> service.reserve(PRODUCT_ID, 3, null))
+                .isInstanceOf(InsufficientInventoryException.class);
+        assertStock(INITIAL_STOCK, 8);
+    }
+
+    @Test
+    void expireReservationsReturnsReservedUnits() {
+        Reservation active = service.reserve(PRODUCT_ID, 1, Duration.ofMinutes(10));
+        // Tres reservas ya caducadas: el barrido las recorre en lotes de dos
+        Reservation first = service.reserve(PRODUCT_ID, 2, Duration.ZERO);
+        Reservation second = service.reserve(PRODUCT_ID, 3, Duration.ZERO);
+        Reservation third = service.reserve(PRODUCT_ID, 1, Duration.ZERO);
+        assertStock(INITIAL_STOCK, 7);
+
+        service.expireReservations();
+
+        assertStock(INITIAL_STOCK, 1);
+        assertThat(service.getReservation(first.getId()).getStatus()).isEqualTo(Status.EXPIRED);
+        assertThat(service.getReservation(second.getId()).getStatus()).isEqualTo(Status.EXPIRED);
+        assertThat(service.getReservation(third.getId()).getStatus()).isEqualTo(Status.EXPIRED);
+        assertThat(service.getReservation(active.getId()).getStatus()).isEqualTo(Status.ACTIVE);
+
+        // Liberar una caducada no tiene efecto; confirmarla es un conflicto
+        assertThat(service.release(first.getId()).getStatus()).isEqualTo(Status.EXPIRED);
+        assertThatThrownBy(() -> service.confirm(first.getId())).isInstanceOf(ReservationConflictException.class);
+        assertStock(INITIAL_STOCK, 1);
+    }
+
+    @Test
+    void purchaseCannotTakeReservedUnits() {
+        service.reserve(PRODUCT_ID, 8, null);
+
+        assertThatThrownBy(() -> inventoryService.decreaseQuantity(PRODUCT_ID, 3))
+                .isInstanceOf(InsufficientInventoryException.class);
+        assertThat(inventoryService.decreaseQuantity(PRODUCT_ID, 2).getQuantity()).isEqualTo(INITIAL_STOCK - 2);
+        assertStock(INITIAL_STOCK - 2, 8);
+    }
+
+    @Test
+    void updateQuantityBelowReservedIsConflict() {
+        service.reserve(PRODUCT_ID, 6, null);
+
+        assertThatThrownBy(() -> inventoryService.updateQuantity(PRODUCT_ID, 5))
+                .isInstanceOf(ReservationConflictException.class);
+        assertStock(INITIAL_STOCK, 6);
+
+        assertThat(inventoryService.updateQuantity(PRODUCT_ID, 6).getQuantity()).isEqualTo(6);
+        assertStock(6, 6);
+    }
+
+    private void assertStock(int quantity, int reserved) {
+        Inventory inventory = inventoryRepository.findByProductId(PRODUCT_ID).orElseThrow();
+        assertThat(inventory.getQuantity()).isEqualTo(quantity);
+        assertThat(inventory.getReserved()).isEqualTo(reserved);
+    }
+}
@@ -0,0 +1,23 @@
+package com.service.products.config;
+
+import com.service.common.datasource.ReadReplicaDataSourceConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Réplica de lectura para las transacciones {@code @Transactional(readOnly = true)},
+ * con las propiedades {@code products.datasource.replica.*}.
+ *
+ * <p>
+ * Los pools, el enrutado y la comprobación de la réplica están en
+ * {@link ReadReplicaDataSourceConfiguration}, compartida con el otro servicio.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty("products.datasource.replica.enabled")
+public class ReadReplicaDataSourceConfig extends ReadReplicaDataSourceConfiguration {
+
+    public ReadReplicaDataSourceConfig() {
+        super("products.datasource.replica");
+    }
+}
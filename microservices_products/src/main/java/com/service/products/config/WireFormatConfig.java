@@ -0,0 +1,33 @@
+package com.service.products.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Formato binario Smile para las llamadas entre servicios.
+ *
+ * <p>
+ * Con {@code Accept: application/x-jackson-smile} las respuestas se
+ * codifican en Smile (JSON binario de Jackson): mismos documentos que en
+ * JSON, con números en binario y los nombres de propiedad repetidos
+ * sustituidos por referencias, lo que reduce los listados. Sin esa
+ * cabecera se sigue respondiendo JSON.
+ * </p>
+ *
+ * <p>
+ * Spring MVC registra un convertidor Smile por defecto, pero con un
+ * {@code ObjectMapper} propio; este usa la configuración Jackson de Spring
+ * Boot, así que fechas y módulos se serializan igual que en JSON.
+ * </p>
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
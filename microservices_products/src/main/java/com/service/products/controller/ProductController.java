@@ -1,14 +1,35 @@
 package com.service.products.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.service.products.model.Product;
+import com.service.products.model.ProductVersion;
+import com.service.products.model.ProductView;
 import com.service.products.service.ProductService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Controlador REST encargado de exponer los endpoints
@@ -27,13 +48,72 @@ public class ProductController {
      */
     private final ProductService service;
 
+    /**
+     * Número máximo de identificadores aceptados en una consulta por lote.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * Número máximo de productos aceptados en una alta masiva.
+     */
+    private final int maxBulkSize;
+
+    /**
+     * Tamaño de página de la búsqueda y número máximo de resultados alcanzables
+     * paginando (la búsqueda ordena por relevancia y pagina con OFFSET).
+     */
+    private final int searchPageSize;
+    private final int searchMaxResults;
+
+    /**
+     * Tamaño de página por defecto y máximo del listado paginado.
+     */
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    /**
+     * Serializador JSON usado por la exportación NDJSON.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Cabecera {@code Cache-Control} de las lecturas de productos.
+     */
+    private final CacheControl cacheControl;
+
     /**
      * Constructor del controlador.
      *
-     * @param service Servicio de productos
+     * @param service         Servicio de productos
+     * @param objectMapper    Serializador JSON
+     * @param maxBatchSize    Número máximo de identificadores por lote
+     * @param maxBulkSize     Número máximo de productos por alta masiva
+     * @param defaultPageSize Tamaño de página por defecto
+     * @param maxPageSize     Tamaño de página máximo
+     * @param cacheMaxAge     Tiempo durante el que un cliente puede reutilizar una lectura sin revalidarla
+     * @param searchPageSize  Tamaño de página de la búsqueda
+     * @param searchMaxResults Número máximo de resultados alcanzables en la búsqueda
      */
-    public ProductController(ProductService service) {
+    public ProductController(
+            ProductService service,
+            ObjectMapper objectMapper,
+            @Value("${products.batch.max-size:500}") int maxBatchSize,
+            @Value("${products.bulk.max-size:10000}") int maxBulkSize,
+            @Value("${products.page.default-size:100}") int defaultPageSize,
+            @Value("${products.page.max-size:1000}") int maxPageSize,
+            @Value("${products.http.cache-max-age:30s}") Duration cacheMaxAge,
+            @Value("${products.search.page-size:20}") int searchPageSize,
+            @Value("${products.search.max-results:1000}") int searchMaxResults
+    ) {
         this.service = service;
+        this.objectMapper = objectMapper;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBulkSize = maxBulkSize;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.cacheControl = CacheControl.maxAge(cacheMaxAge).mustRevalidate();
+        this.searchPageSize = searchPageSize;
+        this.searchMaxResults = searchMaxResults;
     }
 
     /**
@@ -49,27 +129,241 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(creado);
     }
 
+    /**
+     * Crea varios productos en una sola transacción, con inserciones
+     * agrupadas en lotes JDBC.
+     *
+     * @param products Productos a crear (como máximo {@code products.bulk.max-size})
+     * @return Identificadores generados, en el orden recibido, con estado HTTP 201 (CREATED)
+     */
+    @PostMapping("/bulk")
+    @Operation(summary = "Crear productos en bloque",
+            description = "Alta masiva en una sola transacción; devuelve los IDs generados en orden")
+    public ResponseEntity<BulkCreateResponse> crearEnBloque(@RequestBody List<Product> products) {
+        if (products.size() > maxBulkSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + maxBulkSize + " products are allowed per request");
+        }
+        List<Long> ids = service.createProducts(products);
+        return ResponseEntity.status(HttpStatus.CREATED).body(new BulkCreateResponse(ids.size(), ids));
+    }
+
     /**
      * Obtiene un producto por su identificador.
      *
-     * @param id Identificador del producto
-     * @return Producto encontrado con estado HTTP 200 (OK)
+     * <p>
+     * La respuesta incluye un ETag fuerte con la versión del producto.
+     * Si la petición trae {@code If-None-Match}, la versión se comprueba
+     * con una consulta que no carga la entidad y, si coincide, se responde
+     * {@code 304 Not Modified} sin cuerpo.
+     * </p>
+     *
+     * @param id      Identificador del producto
+     * @param request Petición, para la comprobación condicional
+     * @return Producto encontrado con estado HTTP 200 (OK), o 304 (Not Modified)
      */
     @GetMapping("/{id}")
     @Operation(summary = "Obtener un producto por ID")
-    public ResponseEntity<Product> getForId(@PathVariable Long id) {
-        Product product = service.getForId(id);
-        return ResponseEntity.ok(product);
+    public ResponseEntity<ProductView> getForId(@PathVariable Long id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = service.getVersion(id);
+            if (version.isPresent() && request.checkNotModified(etag(version.get()))) {
+                return notModified();
+            }
+        }
+
+        ProductView product = service.getForId(id);
+        if (product == null) {
+            return ResponseEntity.ok(null);
+        }
+        return ResponseEntity.ok()
+                .eTag(etag(product.version()))
+                .cacheControl(cacheControl)
+                .body(product);
+    }
+
+    /**
+     * Obtiene varios productos por sus identificadores con una sola consulta.
+     * Los identificadores inexistentes se omiten de la respuesta.
+     *
+     * @param ids Identificadores de los productos (ej. {@code ?ids=1,2,3})
+     * @return Productos encontrados con estado HTTP 200 (OK)
+     */
+    @GetMapping(params = "ids")
+    @Operation(summary = "Obtener varios productos por ID",
+            description = "Consulta por lote; los identificadores inexistentes se omiten")
+    public ResponseEntity<List<ProductView>> getForIds(@RequestParam List<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        if (uniqueIds.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + maxBatchSize + " ids are allowed per request");
+        }
+        return ResponseEntity.ok(service.getForIds(uniqueIds));
     }
 
     /**
-     * Lista todos los productos registrados.
+     * Lista los productos registrados usando paginación por cursor (keyset).
+     *
+     * <p>
+     * Si la página está completa, la cabecera {@code Link} con
+     * {@code rel="next"} indica la URL de la página siguiente.
+     * </p>
+     *
+     * <p>
+     * El ETag de la página se calcula a partir de los identificadores y
+     * versiones de sus productos. Con {@code If-None-Match} se consultan
+     * solo esas dos columnas y, si coincide, se responde {@code 304}.
+     * </p>
      *
-     * @return Lista de productos con estado HTTP 200 (OK)
+     * @param after   Último ID de la página anterior (0 para la primera)
+     * @param limit   Tamaño de la página (se limita a {@code products.page.max-size})
+     * @param request Petición, para la comprobación condicional
+     * @return Página de productos con estado HTTP 200 (OK), o 304 (Not Modified)
      */
     @GetMapping
-    @Operation(summary = "Listar todos los productos")
-    public ResponseEntity<List<Product>> show() {
-        return ResponseEntity.ok(service.showAll());
+    @Operation(summary = "Listar productos paginados",
+            description = "Paginación por cursor: after=<último id>&limit=<tamaño>")
+    public ResponseEntity<List<ProductView>> show(
+            @Parameter(description = "Último ID de la página anterior", example = "0")
+            @RequestParam(defaultValue = "0") long after,
+            @Parameter(description = "Tamaño de la página", example = "100")
+            @RequestParam(required = false) Integer limit,
+            WebRequest request
+    ) {
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(pageEtag(service.showPageVersions(after, pageSize)))) {
+            return notModified();
+        }
+
+        List<ProductView> page = service.showPage(after, pageSize);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(pageEtag(page.stream()
+                        .map(product -> new ProductVersion(product.id(), product.version()))
+                        .toList()))
+                .cacheControl(cacheControl);
+        if (page.size() == pageSize) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", page.get(page.size() - 1).id())
+                    .replaceQueryParam("limit", pageSize)
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(page);
+    }
+
+    /**
+     * Busca productos por nombre y descripción (prefijo, subcadena y texto
+     * completo), ordenados por relevancia.
+     *
+     * <p>
+     * Si la página está completa, la cabecera {@code Link} con
+     * {@code rel="next"} indica la URL de la página siguiente, hasta
+     * {@code products.search.max-results} resultados.
+     * </p>
+     *
+     * @param q    Texto buscado
+     * @param page Número de página (desde 0)
+     * @param size Tamaño de la página (por defecto {@code products.search.page-size}, máximo {@code products.page.max-size})
+     * @return Página de productos con estado HTTP 200 (OK)
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Buscar productos",
+            description = "Prefijo, subcadena y texto completo sobre nombre y descripción, ordenado por relevancia")
+    public ResponseEntity<List<Product>> search(
+            @Parameter(description = "Texto buscado", example = "camiseta")
+            @RequestParam String q,
+            @Parameter(description = "Número de página (desde 0)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de la página", example = "20")
+            @RequestParam(required = false) Integer size
+    ) {
+        if (q.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The search text must not be blank");
+        }
+        int pageSize = size == null ? searchPageSize : Math.max(1, Math.min(size, maxPageSize));
+        long offset = (long) Math.max(page, 0) * pageSize;
+        if (offset + pageSize > searchMaxResults) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Only the first " + searchMaxResults + " results can be paged; refine the search");
+        }
+        List<Product> results = service.search(q, pageSize, (int) offset);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (results.size() == pageSize && offset + 2L * pageSize <= searchMaxResults) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("page", Math.max(page, 0) + 1)
+                    .replaceQueryParam("size", pageSize)
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(results);
+    }
+
+    /**
+     * Exporta todo el catálogo en formato NDJSON (un producto por línea).
+     *
+     * <p>
+     * Los productos se leen con un cursor del servidor y se escriben
+     * en la respuesta a medida que llegan, por lo que la memoria usada
+     * es constante sin importar el tamaño del catálogo.
+     * </p>
+     *
+     * @return Flujo NDJSON con estado HTTP 200 (OK)
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @Operation(summary = "Exportar todos los productos (NDJSON)")
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                service.exportAll(product -> {
+                    try {
+                        generator.writeObject(product);
+                        generator.writeRaw('\n');
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    /**
+     * Respuesta {@code 304}; el ETag ya lo añade {@link WebRequest#checkNotModified(String)}.
+     */
+    private <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+    }
+
+    /**
+     * ETag fuerte de un producto: su versión.
+     */
+    private static String etag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * ETag fuerte de una página: resumen MD5 de los identificadores y versiones de sus productos.
+     */
+    private static String pageEtag(List<ProductVersion> versions) {
+        StringBuilder content = new StringBuilder(versions.size() * 12);
+        for (ProductVersion version : versions) {
+            content.append(version.id()).append(':').append(version.version()).append(',');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Respuesta de un alta masiva.
+     *
+     * @param created número de productos creados
+     * @param ids     identificadores generados, en el orden recibido
+     */
+    public record BulkCreateResponse(int created, List<Long> ids) {
     }
 }
@@ -0,0 +1,99 @@
+package com.service.products.controller;
+
+import com.service.products.model.ProductEvent;
+import com.service.products.service.ProductEventService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Controlador REST del feed de eventos de producto, usado por otros
+ * servicios para replicar el catálogo.
+ *
+ * Ruta base: /products/events
+ */
+@RestController
+@RequestMapping("/products/events")
+@Tag(name = "Product events", description = "Feed de cambios del catálogo")
+public class ProductEventController {
+
+    private final ProductEventService service;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    /**
+     * Constructor del controlador.
+     *
+     * @param service         Servicio de eventos de producto
+     * @param defaultPageSize Tamaño de página por defecto
+     * @param maxPageSize     Tamaño de página máximo
+     */
+    public ProductEventController(
+            ProductEventService service,
+            @Value("${products.events.page.default-size:500}") int defaultPageSize,
+            @Value("${products.events.page.max-size:1000}") int maxPageSize
+    ) {
+        this.service = service;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Lee los eventos posteriores a una posición, en orden de ID.
+     *
+     * @param after Último ID de evento ya leído (0 para el principio)
+     * @param limit Tamaño de la página (se limita a {@code products.events.page.max-size})
+     * @return Eventos con estado HTTP 200 (OK), o 410 (Gone) si ya se han
+     *         podado eventos posteriores a {@code after}: el consumidor debe
+     *         volver a cargar {@code GET /products/export}
+     */
+    @GetMapping
+    @Operation(summary = "Leer eventos de producto",
+            description = "Feed ordenado por ID: after=<último id leído>&limit=<tamaño>")
+    public ResponseEntity<List<ProductEvent>> getEvents(
+            @Parameter(description = "Último ID de evento ya leído", example = "0")
+            @RequestParam(defaultValue = "0") long after,
+            @Parameter(description = "Tamaño de la página", example = "500")
+            @RequestParam(required = false) Integer limit
+    ) {
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        List<ProductEvent> events = service.getEvents(after, pageSize);
+        if (service.isPruned(after)) {
+            throw new ResponseStatusException(HttpStatus.GONE,
+                    "Product events after " + after + " have been pruned; reload /products/export");
+        }
+        return ResponseEntity.ok(events);
+    }
+
+    /**
+     * Obtiene el ID del último evento registrado. Un consumidor nuevo lo lee
+     * antes de cargar {@code GET /products/export} y continúa el feed desde él.
+     *
+     * @return ID del último evento (0 si no hay ninguno) con estado HTTP 200 (OK)
+     */
+    @GetMapping("/head")
+    @Operation(summary = "ID del último evento de producto")
+    public ResponseEntity<Long> getLastEventId() {
+        return ResponseEntity.ok(service.getLastEventId());
+    }
+
+    /**
+     * Obtiene el ID del evento más antiguo conservado. Los anteriores se han
+     * podado ({@code products.events.retention}): un consumidor que cargue la
+     * exportación no puede continuar el feed desde una posición anterior.
+     *
+     * @return ID del primer evento (0 si no hay ninguno) con estado HTTP 200 (OK)
+     */
+    @GetMapping("/tail")
+    @Operation(summary = "ID del evento de producto más antiguo conservado")
+    public ResponseEntity<Long> getFirstEventId() {
+        return ResponseEntity.ok(service.getFirstEventId());
+    }
+}
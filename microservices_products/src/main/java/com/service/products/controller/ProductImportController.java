@@ -0,0 +1,86 @@
+package com.service.products.controller;
+
+import com.service.products.service.ProductImportService;
+import com.service.products.service.ProductImportService.Format;
+import com.service.products.service.ProductImportService.ImportSummary;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Controlador REST de la importación masiva del catálogo.
+ *
+ * Rutas: POST /products/import, GET /products/imports
+ */
+@RestController
+@RequestMapping("/products")
+@Tag(name = "Product import", description = "Importación masiva de productos (CSV / NDJSON)")
+public class ProductImportController {
+
+    private final ProductImportService service;
+
+    /**
+     * Constructor del controlador.
+     *
+     * @param service Servicio de importación de productos
+     */
+    public ProductImportController(ProductImportService service) {
+        this.service = service;
+    }
+
+    /**
+     * Importa productos desde un CSV con cabecera {@code name,price,description}.
+     *
+     * @param body Cuerpo de la petición, leído en streaming
+     * @return Resumen de la importación con estado HTTP 200 (OK)
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @Operation(summary = "Importar productos desde CSV",
+            description = "Cabecera name,price,description; las filas se validan e insertan por bloques")
+    public ResponseEntity<ImportSummary> importCsv(InputStream body) {
+        return ResponseEntity.ok(service.importProducts(body, Format.CSV));
+    }
+
+    /**
+     * Importa productos desde NDJSON (un producto JSON por línea).
+     *
+     * @param body Cuerpo de la petición, leído en streaming
+     * @return Resumen de la importación con estado HTTP 200 (OK)
+     */
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    @Operation(summary = "Importar productos desde NDJSON",
+            description = "Un producto por línea; las filas se validan e insertan por bloques")
+    public ResponseEntity<ImportSummary> importNdjson(InputStream body) {
+        return ResponseEntity.ok(service.importProducts(body, Format.NDJSON));
+    }
+
+    /**
+     * Lista el progreso de las importaciones en curso y de las últimas terminadas.
+     *
+     * @return Importaciones con estado HTTP 200 (OK)
+     */
+    @GetMapping("/imports")
+    @Operation(summary = "Progreso de las importaciones")
+    public ResponseEntity<List<ImportSummary>> getImports() {
+        return ResponseEntity.ok(service.findAll());
+    }
+
+    /**
+     * Obtiene el progreso de una importación.
+     *
+     * @param id Identificador de la importación
+     * @return Progreso con estado HTTP 200 (OK), o 404 si no se conoce
+     */
+    @GetMapping("/imports/{id}")
+    @Operation(summary = "Progreso de una importación")
+    public ResponseEntity<ImportSummary> getImport(@PathVariable String id) {
+        return ResponseEntity.ok(service.find(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown import " + id)));
+    }
+}
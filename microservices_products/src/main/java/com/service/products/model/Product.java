@@ -1,8 +1,10 @@
 package com.service.products.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 import java.math.BigDecimal;
 
@@ -17,13 +19,22 @@ import java.math.BigDecimal;
 @Table(name = "products")
 public class Product {
 
+    /**
+     * Identificadores reservados por cada acceso a la secuencia.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     /**
      * Identificador único del producto.
-     * Es la clave primaria de la tabla y se genera
-     * automáticamente por la base de datos.
+     * Es la clave primaria de la tabla y se genera con la secuencia
+     * {@code products_seq}. Hibernate reserva bloques de
+     * {@value #ID_ALLOCATION_SIZE} valores (optimizador pooled), por lo que
+     * los identificadores se conocen antes del INSERT y las inserciones
+     * pueden agruparse en lotes JDBC.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     /**
@@ -32,6 +43,7 @@ public class Product {
      * Se limita a 100 caracteres.
      */
     @NotBlank
+    @Size(max = 100)
     @Column(nullable = false, length = 100)
     private String name;
 
@@ -48,11 +60,22 @@ public class Product {
     /**
      * Descripción opcional del producto.
      * Permite almacenar información adicional
-     * sobre el producto.
+     * sobre el producto. Se limita a 255 caracteres.
      */
+    @Size(max = 255)
     @Column(length = 255)
     private String description;
 
+    /**
+     * Versión del producto (bloqueo optimista).
+     * Hibernate la incrementa en cada actualización; se usa
+     * como ETag en las respuestas HTTP. Solo lectura en la API.
+     */
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version = 0L;
+
     public Product() {
         // Constructor requerido por JPA
     }
@@ -129,4 +152,13 @@ public class Product {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    /**
+     * Obtiene la versión del producto.
+     *
+     * @return versión del producto
+     */
+    public Long getVersion() {
+        return version;
+    }
 }
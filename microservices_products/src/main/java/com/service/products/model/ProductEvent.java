@@ -0,0 +1,118 @@
+package com.service.products.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Evento de cambio de un producto (transactional outbox).
+ *
+ * <p>
+ * Se guarda en la misma transacción que el cambio del producto, por lo
+ * que un producto confirmado siempre tiene su evento y un cambio revertido
+ * nunca lo tiene. Otros servicios leen los eventos en orden de {@code id}
+ * mediante {@code GET /products/events} para mantener su réplica del catálogo.
+ * </p>
+ *
+ * <p>
+ * Cada evento contiene el estado completo del producto tras el cambio,
+ * de modo que aplicar solo el último evento de cada producto es suficiente.
+ * </p>
+ */
+@Entity
+@Table(
+        name = "product_events",
+        indexes = @Index(name = "idx_product_events_created_at", columnList = "created_at")
+)
+public class ProductEvent {
+
+    /**
+     * Tipo de cambio.
+     */
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    /**
+     * Posición del evento en el feed. Creciente, aunque puede tener huecos
+     * (transacciones revertidas o aún sin confirmar).
+     *
+     * <p>
+     * Se mantiene IDENTITY (y no una secuencia con bloques reservados como
+     * {@link Product}): el consumidor del feed necesita que los IDs se
+     * asignen en el orden de inserción, sin bloques pendientes en cada instancia.
+     * </p>
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Type type;
+
+    @Column(length = 100)
+    private String name;
+
+    private BigDecimal price;
+
+    @Column(length = 255)
+    private String description;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    protected ProductEvent() {
+        // Constructor requerido por JPA
+    }
+
+    /**
+     * Crea el evento de un cambio con el estado actual del producto.
+     *
+     * @param type    tipo de cambio
+     * @param product producto ya persistido
+     * @return evento a guardar
+     */
+    public static ProductEvent of(Type type, Product product) {
+        ProductEvent event = new ProductEvent();
+        event.type = type;
+        event.productId = product.getId();
+        event.name = product.getName();
+        event.price = product.getPrice();
+        event.description = product.getDescription();
+        event.createdAt = Instant.now();
+        return event;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,11 @@
+package com.service.products.model;
+
+/**
+ * Identificador y versión de un producto, sin el resto de columnas.
+ * Permite calcular ETags sin cargar la entidad completa.
+ *
+ * @param id      identificador del producto
+ * @param version versión del producto
+ */
+public record ProductVersion(Long id, Long version) {
+}
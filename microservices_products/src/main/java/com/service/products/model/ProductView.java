@@ -0,0 +1,28 @@
+package com.service.products.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Vista de solo lectura de un producto, construida directamente en la
+ * consulta JPQL ({@code select new ...}).
+ *
+ * <p>
+ * Al no ser una entidad, Hibernate no la registra en el contexto de
+ * persistencia ni guarda la copia para la comprobación de cambios
+ * (dirty checking). Se serializa con los mismos campos que {@link Product}.
+ * </p>
+ *
+ * @param id          identificador del producto
+ * @param name        nombre del producto
+ * @param price       precio del producto
+ * @param description descripción del producto
+ * @param version     versión del producto (ETag)
+ */
+public record ProductView(Long id, String name, BigDecimal price, String description, Long version) {
+
+    /**
+     * Expresión JPQL que construye la vista a partir del alias {@code p} de {@link Product}.
+     */
+    public static final String SELECT = "select new com.service.products.model.ProductView("
+            + "p.id, p.name, p.price, p.description, p.version) ";
+}
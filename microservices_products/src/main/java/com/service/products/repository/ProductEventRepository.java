@@ -0,0 +1,75 @@
+package com.service.products.repository;
+
+import com.service.products.model.ProductEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio JPA de los eventos de producto (outbox).
+ */
+@Repository
+public interface ProductEventRepository extends JpaRepository<ProductEvent, Long> {
+
+    /**
+     * Lee el feed de eventos a partir de una posición.
+     *
+     * @param after último ID de evento ya leído (0 para el principio)
+     * @param limit número máximo de eventos
+     * @return eventos ordenados por ID
+     */
+    List<ProductEvent> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    /**
+     * @return ID del último evento registrado, o 0 si no hay ninguno
+     */
+    @Query("select coalesce(max(e.id), 0) from ProductEvent e")
+    long findLastId();
+
+    /**
+     * @return ID del evento más antiguo conservado, o 0 si no hay ninguno
+     */
+    @Query("select coalesce(min(e.id), 0) from ProductEvent e")
+    long findFirstId();
+
+    /**
+     * @param before fecha límite
+     * @return ID del último evento anterior a la fecha, o {@code null} si no hay ninguno
+     */
+    @Query("select max(e.id) from ProductEvent e where e.createdAt < :before")
+    Long findLastIdBefore(@Param("before") Instant before);
+
+    /**
+     * Registra con una sola sentencia ({@code INSERT ... SELECT}) el evento
+     * de alta de varios productos ya insertados en la transacción actual.
+     *
+     * @param productIds identificadores de los productos
+     * @param type       tipo de evento
+     * @param createdAt  fecha del evento
+     * @return número de eventos registrados
+     */
+    @Modifying
+    @Query("insert into ProductEvent (productId, type, name, price, description, createdAt) "
+            + "select p.id, :type, p.name, p.price, p.description, :createdAt "
+            + "from Product p where p.id in :productIds")
+    int insertEventsFor(@Param("productIds") Collection<Long> productIds,
+                        @Param("type") ProductEvent.Type type,
+                        @Param("createdAt") Instant createdAt);
+
+    /**
+     * Elimina los eventos hasta un ID, incluido.
+     *
+     * @param lastId último ID a eliminar
+     * @return número de eventos eliminados
+     */
+    @Modifying
+    @Query("delete from ProductEvent e where e.id <= :lastId")
+    int deleteUpTo(@Param("lastId") long lastId);
+}
@@ -1,9 +1,22 @@
 package com.service.products.repository;
 
 import com.service.products.model.Product;
+import com.service.products.model.ProductVersion;
+import com.service.products.model.ProductView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 /**
  * Repositorio JPA para la entidad {@link Product}.
  *
@@ -26,6 +39,141 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
-    // No es necesario agregar métodos por ahora,
-    // Spring Data JPA genera las implementaciones automáticamente.
+
+    /**
+     * Tamaño de lote con el que el driver JDBC lee el cursor de exportación.
+     */
+    String EXPORT_FETCH_SIZE = "500";
+
+    /**
+     * Paginación por cursor (keyset): devuelve los productos cuyo ID es
+     * mayor que {@code after}, ordenados por ID. A diferencia de OFFSET,
+     * el coste no crece con la posición de la página.
+     *
+     * @param after último ID de la página anterior (0 para la primera)
+     * @param limit tamaño máximo de la página
+     * @return página de productos
+     */
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    /**
+     * Obtiene un producto como {@link ProductView}, sin cargar la entidad.
+     *
+     * @param id identificador del producto
+     * @return vista del producto, o vacío si no existe
+     */
+    @Query(ProductView.SELECT + "from Product p where p.id = :id")
+    Optional<ProductView> findViewById(@Param("id") Long id);
+
+    /**
+     * Obtiene varios productos como {@link ProductView} en una sola consulta.
+     *
+     * @param ids identificadores de los productos
+     * @return vistas de los productos encontrados, ordenadas por ID
+     */
+    @Query(ProductView.SELECT + "from Product p where p.id in :ids order by p.id")
+    List<ProductView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Página del listado por cursor como {@link ProductView}
+     * (mismas filas que {@link #findByIdGreaterThanOrderByIdAsc}).
+     *
+     * @param after último ID de la página anterior (0 para la primera)
+     * @param limit tamaño máximo de la página
+     * @return vistas de los productos, ordenadas por ID
+     */
+    @Query(ProductView.SELECT + "from Product p where p.id > :after order by p.id")
+    List<ProductView> findViewsAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * Expresión de texto completo de un producto. Debe coincidir con la
+     * del índice {@code idx_products_search_tsv} (migración {@code V1__initial_schema.sql}).
+     */
+    String SEARCH_DOCUMENT = "to_tsvector('spanish', coalesce(p.name, '') || ' ' || coalesce(p.description, ''))";
+
+    /**
+     * Búsqueda por subcadena (índices de trigramas sobre {@code lower(name)} y
+     * {@code lower(description)}) o por texto completo (índice GIN sobre
+     * {@link #SEARCH_DOCUMENT}), ordenada por relevancia:
+     * nombre exacto, nombre que empieza por el término, nombre que lo contiene,
+     * y después {@code ts_rank}. Solo PostgreSQL.
+     *
+     * @param term     texto buscado en minúsculas
+     * @param prefix   patrón LIKE {@code term%} (con comodines escapados)
+     * @param contains patrón LIKE {@code %term%} (con comodines escapados)
+     * @param limit    tamaño de la página
+     * @param offset   filas a saltar
+     * @return productos encontrados, de más a menos relevante
+     */
+    @Query(value = "select p.* from products p "
+            + "where lower(p.name) like :contains escape '\\' "
+            + "or lower(p.description) like :contains escape '\\' "
+            + "or " + SEARCH_DOCUMENT + " @@ plainto_tsquery('spanish', :term) "
+            + "order by case when lower(p.name) = :term then 3 "
+            + "when lower(p.name) like :prefix escape '\\' then 2 "
+            + "when lower(p.name) like :contains escape '\\' then 1 "
+            + "else 0 end desc, "
+            + "ts_rank(" + SEARCH_DOCUMENT + ", plainto_tsquery('spanish', :term)) desc, "
+            + "p.id "
+            + "limit :limit offset :offset",
+            nativeQuery = true)
+    List<Product> search(@Param("term") String term,
+                         @Param("prefix") String prefix,
+                         @Param("contains") String contains,
+                         @Param("limit") int limit,
+                         @Param("offset") int offset);
+
+    /**
+     * Búsqueda por prefijo del nombre (índice {@code idx_products_name_prefix}),
+     * para términos demasiado cortos para los índices de trigramas.
+     *
+     * @param prefix patrón LIKE {@code term%} en minúsculas (con comodines escapados)
+     * @param limit  tamaño de la página
+     * @param offset filas a saltar
+     * @return productos encontrados, en orden alfabético
+     */
+    @Query(value = "select p.* from products p "
+            + "where lower(p.name) like :prefix escape '\\' "
+            + "order by lower(p.name), p.id "
+            + "limit :limit offset :offset",
+            nativeQuery = true)
+    List<Product> searchByNamePrefix(@Param("prefix") String prefix,
+                                     @Param("limit") int limit,
+                                     @Param("offset") int offset);
+
+    /**
+     * Obtiene solo la versión de un producto, para responder a peticiones
+     * condicionales ({@code If-None-Match}) sin cargar la entidad.
+     *
+     * @param id identificador del producto
+     * @return versión del producto, o vacío si no existe
+     */
+    @Query("select p.version from Product p where p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Identificadores y versiones de una página del listado por cursor
+     * (mismas filas que {@link #findByIdGreaterThanOrderByIdAsc}).
+     *
+     * @param after último ID de la página anterior (0 para la primera)
+     * @param limit tamaño máximo de la página
+     * @return identificador y versión de cada producto, ordenados por ID
+     */
+    @Query("select new com.service.products.model.ProductVersion(p.id, p.version) "
+            + "from Product p where p.id > :after order by p.id")
+    List<ProductVersion> findVersionsAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * Recorre todos los productos mediante un cursor del servidor,
+     * leyendo {@value #EXPORT_FETCH_SIZE} filas por viaje.
+     * Debe invocarse dentro de una transacción y cerrarse tras su uso.
+     *
+     * @return flujo de productos ordenados por ID
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Product p order by p.id")
+    Stream<Product> streamAll();
 }
@@ -0,0 +1,95 @@
+package com.service.products.service;
+
+import com.service.products.model.ProductEvent;
+import com.service.products.repository.ProductEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Lectura y mantenimiento del feed de eventos de producto (outbox).
+ */
+@Service
+public class ProductEventService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductEventService.class);
+
+    private final ProductEventRepository repository;
+    private final Duration retention;
+
+    public ProductEventService(
+            ProductEventRepository repository,
+            @Value("${products.events.retention:7d}") Duration retention
+    ) {
+        this.repository = repository;
+        this.retention = retention;
+    }
+
+    /**
+     * Lee una página del feed de eventos.
+     *
+     * @param after último ID de evento ya leído (0 para el principio)
+     * @param limit número máximo de eventos
+     * @return eventos ordenados por ID
+     */
+    public List<ProductEvent> getEvents(long after, int limit) {
+        return repository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit));
+    }
+
+    /**
+     * @return ID del último evento registrado, o 0 si no hay ninguno
+     */
+    public long getLastEventId() {
+        return repository.findLastId();
+    }
+
+    /**
+     * @return ID del evento más antiguo conservado, o 0 si no hay ninguno
+     */
+    public long getFirstEventId() {
+        return repository.findFirstId();
+    }
+
+    /**
+     * Indica si la poda ya eliminó eventos posteriores a una posición del
+     * feed. Se comprueba después de leer la página: una poda concurrente solo
+     * puede adelantar el primer ID conservado.
+     *
+     * @param after último ID de evento leído por el consumidor
+     * @return {@code true} si el consumidor debe reconstruir su réplica
+     */
+    public boolean isPruned(long after) {
+        return after + 1 < repository.findFirstId();
+    }
+
+    /**
+     * Elimina los eventos más antiguos que {@code products.events.retention}.
+     * Se elimina siempre un prefijo del feed (hasta el último ID anterior a la
+     * fecha límite), de modo que el primer ID conservado marca exactamente
+     * hasta dónde se ha podado. El último evento se conserva aunque sea
+     * antiguo: con la tabla vacía, el primer evento nuevo ocultaría los huecos
+     * anteriores a él. Un consumidor que se quede atrás más tiempo debe
+     * reconstruir su réplica desde {@code GET /products/export}.
+     */
+    @Scheduled(cron = "${products.events.prune-cron:0 0 3 * * *}")
+    @Transactional
+    public void pruneEvents() {
+        Long before = repository.findLastIdBefore(Instant.now().minus(retention));
+        if (before == null) {
+            return;
+        }
+        long lastId = Math.min(before, repository.findLastId() - 1);
+        int deleted = repository.deleteUpTo(lastId);
+        if (deleted > 0) {
+            log.info("Pruned {} product events up to {} (older than {})", deleted, lastId, retention);
+        }
+    }
+}
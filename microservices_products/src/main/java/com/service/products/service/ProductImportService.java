@@ -0,0 +1,384 @@
+package com.service.products.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.service.products.model.Product;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva del catálogo desde CSV o NDJSON.
+ *
+ * <p>
+ * El cuerpo de la petición se lee fila a fila, sin cargarlo completo en
+ * memoria. Cada fila se valida con las restricciones de {@link Product}
+ * y las filas válidas se insertan en bloques de {@code products.import.chunk-size}
+ * con {@link ProductService#createProducts}, cada bloque en su propia
+ * transacción: la importación no es atómica y el resumen indica cuántas
+ * filas se importaron.
+ * </p>
+ *
+ * <p>
+ * Los errores por fila se acumulan hasta {@code products.import.max-errors};
+ * el resto solo se cuentan. El progreso de las importaciones en curso y de
+ * las últimas {@code products.import.history-size} terminadas se consulta
+ * con {@link #find} y {@link #findAll}.
+ * </p>
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+
+    /**
+     * Formato del archivo importado.
+     */
+    public enum Format {
+        /** CSV con cabecera: {@code name,price,description}. */
+        CSV,
+        /** Un objeto JSON {@link Product} por línea. */
+        NDJSON
+    }
+
+    /**
+     * Estado de una importación.
+     */
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    /**
+     * Error de una fila.
+     *
+     * @param row     número de línea en el archivo (en CSV, la cabecera es la línea 1)
+     * @param message descripción del error
+     */
+    public record RowError(long row, String message) {
+    }
+
+    /**
+     * Resumen (o progreso, si sigue en curso) de una importación.
+     *
+     * @param id              identificador de la importación
+     * @param format          formato del archivo
+     * @param status          estado
+     * @param startedAt       inicio
+     * @param finishedAt      fin, o {@code null} si sigue en curso
+     * @param rowsRead        filas leídas
+     * @param imported        productos creados (confirmados)
+     * @param failed          filas rechazadas
+     * @param errors          errores por fila (como máximo {@code products.import.max-errors})
+     * @param errorsTruncated {@code true} si hubo más errores de los listados
+     * @param failure         motivo por el que se interrumpió la importación, si falló
+     */
+    public record ImportSummary(
+            String id,
+            Format format,
+            Status status,
+            Instant startedAt,
+            Instant finishedAt,
+            long rowsRead,
+            long imported,
+            long failed,
+            List<RowError> errors,
+            boolean errorsTruncated,
+            String failure
+    ) {
+    }
+
+    private final ProductService productService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    private final int chunkSize;
+    private final int maxErrors;
+    private final int historySize;
+
+    /**
+     * Importaciones en curso y últimas terminadas, en orden de inicio.
+     */
+    private final Map<String, ImportRun> imports = new LinkedHashMap<>();
+
+    public ProductImportService(
+            ProductService productService,
+            Validator validator,
+            ObjectMapper objectMapper,
+            @Value("${products.import.chunk-size:1000}") int chunkSize,
+            @Value("${products.import.max-errors:100}") int maxErrors,
+            @Value("${products.import.history-size:20}") int historySize
+    ) {
+        this.productService = productService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.historySize = historySize;
+    }
+
+    /**
+     * Importa productos leyendo el flujo de entrada hasta el final.
+     *
+     * @param body   contenido del archivo
+     * @param format formato del archivo
+     * @return resumen de la importación
+     */
+    public ImportSummary importProducts(InputStream body, Format format) {
+        ImportRun run = new ImportRun(format);
+        synchronized (imports) {
+            imports.put(run.id, run);
+            evictFinished();
+        }
+
+        try {
+            if (format == Format.CSV) {
+                readCsv(body, run);
+            } else {
+                readNdjson(body, run);
+            }
+            run.flush();
+            run.finish(Status.COMPLETED, null);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Product import {} failed after {} rows: {}", run.id, run.rowsRead.get(), ex.toString());
+            run.finish(Status.FAILED, ex.getMessage());
+        }
+        synchronized (imports) {
+            evictFinished();
+        }
+
+        ImportSummary summary = run.toSummary();
+        log.info("Product import {} {}: {} rows, {} imported, {} failed",
+                summary.id(), summary.status(), summary.rowsRead(), summary.imported(), summary.failed());
+        return summary;
+    }
+
+    /**
+     * @param id identificador de la importación
+     * @return progreso de la importación, si está en curso o entre las últimas terminadas
+     */
+    public Optional<ImportSummary> find(String id) {
+        synchronized (imports) {
+            return Optional.ofNullable(imports.get(id)).map(ImportRun::toSummary);
+        }
+    }
+
+    /**
+     * @return progreso de las importaciones en curso y de las últimas terminadas
+     */
+    public List<ImportSummary> findAll() {
+        synchronized (imports) {
+            return imports.values().stream().map(ImportRun::toSummary).toList();
+        }
+    }
+
+    /**
+     * Descarta las importaciones terminadas más antiguas mientras el historial
+     * supere {@code historySize}. Las que siguen en curso no se descartan ni
+     * impiden descartar las terminadas posteriores. Debe invocarse con
+     * {@link #imports} bloqueado.
+     */
+    private void evictFinished() {
+        Iterator<ImportRun> runs = imports.values().iterator();
+        int excess = imports.size() - historySize;
+        while (excess > 0 && runs.hasNext()) {
+            if (runs.next().status != Status.RUNNING) {
+                runs.remove();
+                excess--;
+            }
+        }
+    }
+
+    private void readCsv(InputStream body, ImportRun run) throws IOException {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        try (MappingIterator<Map<String, String>> rows = csvMapper
+                .readerForMapOf(String.class)
+                .with(schema)
+                .with(CsvParser.Feature.IGNORE_TRAILING_UNMAPPABLE)
+                .readValues(body)) {
+            boolean headerChecked = false;
+            long errorOffset = -1;
+            while (true) {
+                Map<String, String> values;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    values = rows.nextValue();
+                } catch (JsonProcessingException ex) {
+                    // Registro mal formado (comilla sin cerrar, texto tras la comilla de cierre...):
+                    // se rechaza y se sigue leyendo desde donde se detuvo el parser. Un error en
+                    // la cabecera, o sin avanzar desde el anterior, interrumpe la importación
+                    long line = recordLine(rows);
+                    long offset = rows.getCurrentLocation().getCharOffset();
+                    if (line <= 1 || offset == errorOffset) {
+                        throw ex;
+                    }
+                    errorOffset = offset;
+                    run.reject(line, "Invalid CSV: " + ex.getOriginalMessage());
+                    continue;
+                }
+                if (!headerChecked) {
+                    if (!(values.containsKey("name") && values.containsKey("price"))) {
+                        throw new IllegalArgumentException("CSV header must contain the columns name and price");
+                    }
+                    headerChecked = true;
+                }
+                run.accept(recordLine(rows), values);
+            }
+        }
+    }
+
+    /**
+     * Línea en la que empieza el registro CSV leído, según el parser: un
+     * campo entre comillas puede ocupar varias líneas.
+     */
+    private static long recordLine(MappingIterator<?> rows) {
+        return rows.getParser().currentTokenLocation().getLineNr();
+    }
+
+    private void readNdjson(InputStream body, ImportRun run) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        long line = 0;
+        for (String json = reader.readLine(); json != null; json = reader.readLine()) {
+            line++;
+            if (json.isBlank()) {
+                continue;
+            }
+            Product product;
+            try {
+                product = objectMapper.readValue(json, Product.class);
+            } catch (JsonProcessingException ex) {
+                run.reject(line, "Invalid JSON: " + ex.getOriginalMessage());
+                continue;
+            }
+            run.accept(line, product);
+        }
+    }
+
+    /**
+     * Estado de una importación. Solo la modifica el hilo de la petición;
+     * los contadores se leen desde las consultas de progreso.
+     */
+    private final class ImportRun {
+
+        private final String id = UUID.randomUUID().toString();
+        private final Format format;
+        private final Instant startedAt = Instant.now();
+
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<RowError> errors = new ArrayList<>();
+
+        private final List<Product> chunk = new ArrayList<>(chunkSize);
+
+        private volatile Status status = Status.RUNNING;
+        private volatile Instant finishedAt;
+        private volatile String failure;
+
+        private ImportRun(Format format) {
+            this.format = format;
+        }
+
+        void accept(long line, Map<String, String> values) {
+            String price = values.get("price");
+            Product product = new Product();
+            product.setName(values.get("name"));
+            product.setDescription(blankToNull(values.get("description")));
+            if (price != null && !price.isBlank()) {
+                try {
+                    product.setPrice(new BigDecimal(price.trim()));
+                } catch (NumberFormatException ex) {
+                    reject(line, "price: invalid number '" + price + "'");
+                    return;
+                }
+            }
+            accept(line, product);
+        }
+
+        void accept(long line, Product product) {
+            if (product == null) {
+                reject(line, "Empty row");
+                return;
+            }
+            Set<ConstraintViolation<Product>> violations = validator.validate(product);
+            if (!violations.isEmpty()) {
+                reject(line, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            rowsRead.incrementAndGet();
+            chunk.add(product);
+            if (chunk.size() == chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String message) {
+            rowsRead.incrementAndGet();
+            failed.incrementAndGet();
+            synchronized (errors) {
+                if (errors.size() < maxErrors) {
+                    errors.add(new RowError(line, message));
+                }
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            productService.createProducts(chunk);
+            imported.addAndGet(chunk.size());
+            chunk.clear();
+        }
+
+        void finish(Status status, String failure) {
+            this.failure = failure;
+            this.finishedAt = Instant.now();
+            this.status = status;
+        }
+
+        ImportSummary toSummary() {
+            List<RowError> errorsSnapshot;
+            synchronized (errors) {
+                errorsSnapshot = List.copyOf(errors);
+            }
+            long failedRows = failed.get();
+            return new ImportSummary(id, format, status, startedAt, finishedAt, rowsRead.get(),
+                    imported.get(), failedRows, errorsSnapshot, failedRows > errorsSnapshot.size(), failure);
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
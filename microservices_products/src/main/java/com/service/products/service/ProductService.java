@@ -1,10 +1,25 @@
 package com.service.products.service;
 
 import com.service.products.model.Product;
+import com.service.products.model.ProductEvent;
+import com.service.products.model.ProductVersion;
+import com.service.products.model.ProductView;
+import com.service.products.repository.ProductEventRepository;
 import com.service.products.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Servicio encargado de la lógica de negocio relacionada con la entidad {@link Product}.
@@ -18,47 +33,213 @@ import java.util.List;
 @Service
 public class ProductService {
 
+    /**
+     * Longitud mínima para buscar por subcadena (tamaño de un trigrama).
+     */
+    static final int MIN_SUBSTRING_LENGTH = 3;
+
     /**
      * Repositorio para operaciones de persistencia de productos.
      */
     private final ProductRepository repository;
 
+    /**
+     * Repositorio del outbox de eventos de producto.
+     */
+    private final ProductEventRepository eventRepository;
+
+    /**
+     * Productos que se vuelcan a la base de datos antes de vaciar el
+     * contexto de persistencia en una alta masiva.
+     */
+    private final int bulkChunkSize;
+
+    /**
+     * Contexto de persistencia, usado para desacoplar las entidades
+     * ya exportadas y mantener la memoria constante.
+     */
+    private final EntityManager entityManager;
+
     /**
      * Constructor con inyección de dependencias.
      *
-     * @param repository repositorio de productos
+     * @param repository      repositorio de productos
+     * @param eventRepository repositorio de eventos de producto
+     * @param entityManager   contexto de persistencia
+     * @param bulkChunkSize   productos por volcado en una alta masiva
      */
-    public ProductService(ProductRepository repository) {
+    public ProductService(
+            ProductRepository repository,
+            ProductEventRepository eventRepository,
+            EntityManager entityManager,
+            @Value("${products.bulk.chunk-size:500}") int bulkChunkSize
+    ) {
         this.repository = repository;
+        this.eventRepository = eventRepository;
+        this.entityManager = entityManager;
+        this.bulkChunkSize = bulkChunkSize;
     }
 
     /**
-     * Crea y persiste un nuevo producto en la base de datos.
+     * Crea y persiste un nuevo producto en la base de datos, junto con
+     * su evento {@link ProductEvent.Type#CREATED} en la misma transacción.
      *
      * @param product objeto producto a guardar
      * @return producto persistido con su ID generado
      */
+    @Transactional
     public Product createProduct(Product product) {
-        return repository.save(product);
+        Product saved = repository.save(product);
+        recordEvent(ProductEvent.Type.CREATED, saved);
+        return saved;
     }
 
     /**
-     * Obtiene un producto por su identificador.
+     * Crea varios productos en una única transacción (todo o nada).
+     *
+     * <p>
+     * Los productos se insertan en lotes JDBC ({@code hibernate.jdbc.batch_size}):
+     * los identificadores salen de la secuencia sin consultar la base de
+     * datos por cada fila. Cada {@code products.bulk.chunk-size} productos
+     * se vuelca el lote, se registran sus eventos con una sola sentencia y
+     * se vacía el contexto de persistencia, de modo que la memoria usada
+     * no depende del tamaño de la petición.
+     * </p>
+     *
+     * @param products productos a crear (se ignora el ID recibido)
+     * @return identificadores generados, en el mismo orden
+     */
+    @Transactional
+    public List<Long> createProducts(List<Product> products) {
+        List<Long> ids = new ArrayList<>(products.size());
+        List<Long> chunk = new ArrayList<>(bulkChunkSize);
+        for (Product product : products) {
+            product.setId(null);
+            entityManager.persist(product);
+            ids.add(product.getId());
+            chunk.add(product.getId());
+            if (chunk.size() == bulkChunkSize) {
+                flushChunk(chunk);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            flushChunk(chunk);
+        }
+        return ids;
+    }
+
+    private void flushChunk(List<Long> productIds) {
+        entityManager.flush();
+        eventRepository.insertEventsFor(productIds, ProductEvent.Type.CREATED, Instant.now());
+        entityManager.clear();
+        productIds.clear();
+    }
+
+    /**
+     * Obtiene un producto por su identificador. La consulta construye
+     * directamente la vista, sin cargar la entidad en el contexto de persistencia.
      *
      * @param id identificador del producto
      * @return producto encontrado o {@code null} si no existe
      */
-    public Product getForId(Long id) {
-        return repository.findById(id).orElse(null);
+    public ProductView getForId(Long id) {
+        return repository.findViewById(id).orElse(null);
     }
 
     /**
-     * Lista todos los productos registrados en la base de datos.
+     * Busca productos por nombre y descripción: prefijo, subcadena y texto
+     * completo, ordenados por relevancia. Los términos de menos de
+     * {@value #MIN_SUBSTRING_LENGTH} caracteres solo se buscan como prefijo
+     * del nombre, ya que los índices de trigramas no los cubren.
      *
-     * @return lista de productos
+     * @param query  texto buscado
+     * @param limit  tamaño de la página
+     * @param offset filas a saltar
+     * @return productos encontrados, de más a menos relevante
      */
-    public List<Product> showAll() {
-        return repository.findAll();
+    public List<Product> search(String query, int limit, int offset) {
+        String term = query.trim().toLowerCase(Locale.ROOT);
+        String escaped = escapeLike(term);
+        if (term.length() < MIN_SUBSTRING_LENGTH) {
+            return repository.searchByNamePrefix(escaped + "%", limit, offset);
+        }
+        return repository.search(term, escaped + "%", "%" + escaped + "%", limit, offset);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Obtiene solo la versión de un producto, sin cargar la entidad.
+     *
+     * @param id identificador del producto
+     * @return versión del producto, o vacío si no existe
+     */
+    public Optional<Long> getVersion(Long id) {
+        return repository.findVersionById(id);
+    }
+
+    /**
+     * Obtiene varios productos por sus identificadores en una única consulta.
+     * Los identificadores inexistentes se omiten del resultado.
+     *
+     * @param ids identificadores de los productos
+     * @return productos encontrados, ordenados por ID
+     */
+    public List<ProductView> getForIds(Collection<Long> ids) {
+        return repository.findViewsByIdIn(ids);
     }
-}
 
+    /**
+     * Lista una página de productos usando paginación por cursor.
+     *
+     * @param after último ID de la página anterior (0 para la primera)
+     * @param limit tamaño máximo de la página
+     * @return página de productos ordenada por ID
+     */
+    public List<ProductView> showPage(long after, int limit) {
+        return repository.findViewsAfter(after, Limit.of(limit));
+    }
+
+    /**
+     * Obtiene identificador y versión de los productos de una página,
+     * sin cargar las entidades.
+     *
+     * @param after último ID de la página anterior (0 para la primera)
+     * @param limit tamaño máximo de la página
+     * @return identificador y versión de cada producto de la página
+     */
+    public List<ProductVersion> showPageVersions(long after, int limit) {
+        return repository.findVersionsAfter(after, Limit.of(limit));
+    }
+
+    /**
+     * Recorre todos los productos con un cursor del servidor, entregándolos
+     * uno a uno al consumidor. Cada entidad se desacopla del contexto de
+     * persistencia después de procesarse, por lo que la memoria usada no
+     * depende del tamaño del catálogo.
+     *
+     * @param consumer receptor de cada producto
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<Product> consumer) {
+        try (Stream<Product> products = repository.streamAll()) {
+            products.forEach(product -> {
+                consumer.accept(product);
+                entityManager.detach(product);
+            });
+        }
+    }
+
+    /**
+     * Registra un cambio de producto en el outbox. Toda operación que
+     * modifique productos debe llamarlo dentro de su transacción.
+     *
+     * @param type    tipo de cambio
+     * @param product producto ya persistido
+     */
+    private void recordEvent(ProductEvent.Type type, Product product) {
+        eventRepository.save(ProductEvent.of(type, product));
+    }
+}
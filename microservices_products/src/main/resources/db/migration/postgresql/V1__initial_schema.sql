@@ -0,0 +1,59 @@
+-- Esquema inicial de products-service.
+--
+-- Todas las sentencias son idempotentes: en las bases creadas antes por
+-- Hibernate (ddl-auto=update), marcadas con la versión 0 por
+-- baseline-on-migrate, V1 solo añade lo que falte.
+
+CREATE SEQUENCE IF NOT EXISTS products_seq START WITH 1 INCREMENT BY 50;
+
+-- La paginación por clave (id > :after ORDER BY id) y la exportación usan la clave primaria
+CREATE TABLE IF NOT EXISTS products (
+    id          bigint         NOT NULL,
+    name        varchar(100)   NOT NULL,
+    price       numeric(38, 2) NOT NULL,
+    description varchar(255),
+    version     bigint         NOT NULL DEFAULT 0,
+    CONSTRAINT products_pkey PRIMARY KEY (id)
+);
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+
+-- En las bases creadas antes con ddl-auto=update los IDs los generaba una columna
+-- IDENTITY y la secuencia sigue en 1: sin este ajuste, el primer alta chocaría con un
+-- ID existente. Hibernate reserva bloques de 50 (optimizador pooled) y el valor de la
+-- secuencia es el último ID del bloque, así que se fija en MAX(id) (ya consumido) y el
+-- siguiente bloque empieza en MAX(id) + 1. Nunca retrocede una secuencia ya en uso.
+SELECT setval('products_seq', GREATEST(
+    (SELECT COALESCE(MAX(id), 0) FROM products),
+    (SELECT last_value FROM products_seq)));
+
+CREATE TABLE IF NOT EXISTS product_events (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY,
+    product_id  bigint                      NOT NULL,
+    type        varchar(10)                 NOT NULL,
+    name        varchar(100),
+    price       numeric(38, 2),
+    description varchar(255),
+    created_at  timestamp(6) with time zone NOT NULL,
+    CONSTRAINT product_events_pkey PRIMARY KEY (id)
+);
+
+-- Purga de eventos antiguos (created_at < :before)
+CREATE INDEX IF NOT EXISTS idx_product_events_created_at ON product_events (created_at);
+
+-- Búsqueda (GET /products/search).
+-- Trigramas: LIKE '%texto%' sobre nombre y descripción
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_products_name_trgm
+    ON products USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_products_description_trgm
+    ON products USING gin (lower(description) gin_trgm_ops);
+
+-- Prefijo de nombre (consultas de menos de 3 caracteres, sin trigramas)
+CREATE INDEX IF NOT EXISTS idx_products_name_prefix
+    ON products (lower(name) text_pattern_ops);
+
+-- Texto completo (español): la expresión debe coincidir con la de ProductRepository.search
+CREATE INDEX IF NOT EXISTS idx_products_search_tsv
+    ON products USING gin (to_tsvector('spanish', coalesce(name, '') || ' ' || coalesce(description, '')));
@@ -0,0 +1,90 @@
+package com.service.products.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.service.products.model.Product;
+import com.service.products.service.ProductImportService.Format;
+import com.service.products.service.ProductImportService.ImportSummary;
+import com.service.products.service.ProductImportService.RowError;
+import com.service.products.service.ProductImportService.Status;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Errores por fila de la importación CSV: una fila mal formada o inválida
+ * se rechaza con su número de línea y el resto del archivo se importa.
+ */
+class ProductImportServiceTest {
+
+    private ValidatorFactory validatorFactory;
+    private ProductService productService;
+    private ProductImportService importService;
+    private final List<String> importedNames = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        productService = mock(ProductService.class);
+        // El bloque se vacía tras cada llamada: se guardan los nombres al recibirlo
+        doAnswer(invocation -> {
+            List<Product> chunk = invocation.getArgument(0);
+            chunk.forEach(product -> importedNames.add(product.getName()));
+            return List.of();
+        }).when(productService).createProducts(anyList());
+        importService = new ProductImportService(productService, validatorFactory.getValidator(),
+                new ObjectMapper(), 1000, 100, 20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void malformedCsvRecordIsRejectedAndImportContinues() {
+        ImportSummary summary = importCsv("""
+                name,price,description
+                Mesa,10.5,"Con salto
+                de línea"
+                Silla,"4"x,mal cerrada
+                Lámpara,abc,precio inválido
+                Estante,7,ok
+                """);
+
+        assertThat(summary.status()).isEqualTo(Status.COMPLETED);
+        assertThat(summary.imported()).isEqualTo(2);
+        assertThat(summary.failed()).isEqualTo(2);
+        assertThat(summary.errors()).extracting(RowError::row).containsExactly(4L, 5L);
+        assertThat(summary.errors().get(0).message()).startsWith("Invalid CSV");
+        assertThat(importedNames).containsExactly("Mesa", "Estante");
+    }
+
+    @Test
+    void missingHeaderColumnsFailTheImport() {
+        ImportSummary summary = importCsv("""
+                title,cost
+                Mesa,10
+                """);
+
+        assertThat(summary.status()).isEqualTo(Status.FAILED);
+        assertThat(summary.imported()).isZero();
+    }
+
+    private ImportSummary importCsv(String csv) {
+        return importService.importProducts(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), Format.CSV);
+    }
+
+}